@@ -0,0 +1,74 @@
+// Bundling ana selida gia ta static HTML (trexei sto Maven build, profile "bundle").
+// Gia kathe <page>.html sto target/classes/static: ta <script src="/js/..."> ginontai ena
+// minified bundle me content hash sto onoma (js/bundles/<name>-<hash>.js) kai to HTML
+// ksanagrafetai na to fortwnei. Ta classic scripts (config.js) kai ta ES modules bundlarontai
+// ksexwrista, wste na krathsei h seira ektelesh (classic amesws, module deferred) pou perimenoun
+// ta inline scripts twn selidwn. Selides me tis idies scripts moirazontai to idio bundle.
+import { build } from "esbuild";
+import { mkdir, readdir, readFile, rm, writeFile } from "node:fs/promises";
+import path from "node:path";
+
+const STATIC_DIR = path.resolve(process.env.STATIC_DIR || "../target/classes/static");
+const OUT_DIR = path.join(STATIC_DIR, "js", "bundles");
+const SCRIPT = /<script\b([^>]*)\bsrc="(\/js\/[^"]+\.js)"([^>]*)><\/script>(\s*)/g;
+
+const isModule = (attrs) => /\btype="module"/.test(attrs);
+const bundles = new Map(); // "format:src1,src2" -> url
+
+async function bundle(srcs, format) {
+  const key = `${format}:${srcs.join(",")}`;
+  if (bundles.has(key)) return bundles.get(key);
+
+  const name = srcs.map((s) => path.basename(s, ".js")).join("-");
+  const entry = srcs.map((s) => `import ${JSON.stringify(path.join(STATIC_DIR, s))};`).join("\n");
+  const result = await build({
+    stdin: { contents: entry, resolveDir: STATIC_DIR, sourcefile: `${name}.entry.js` },
+    bundle: true,
+    minify: true,
+    format,
+    target: "es2020",
+    outdir: OUT_DIR,
+    entryNames: `${name}-[hash]`,
+    legalComments: "none",
+    metafile: true,
+    logLevel: "warning",
+  });
+  const out = Object.keys(result.metafile.outputs).find((f) => f.endsWith(".js"));
+  const url = "/" + path.relative(STATIC_DIR, path.resolve(out)).split(path.sep).join("/");
+  bundles.set(key, url);
+  return url;
+}
+
+await rm(OUT_DIR, { recursive: true, force: true });
+await mkdir(OUT_DIR, { recursive: true });
+
+const manifest = {};
+for (const page of (await readdir(STATIC_DIR)).filter((f) => f.endsWith(".html"))) {
+  const file = path.join(STATIC_DIR, page);
+  const html = await readFile(file, "utf8");
+
+  const groups = { iife: [], esm: [] };
+  for (const [, pre, src, post] of html.matchAll(SCRIPT)) {
+    groups[isModule(pre + post) ? "esm" : "iife"].push(src);
+  }
+  if (!groups.iife.length && !groups.esm.length) continue;
+
+  const urls = {};
+  for (const [format, srcs] of Object.entries(groups)) {
+    if (srcs.length) urls[format] = await bundle(srcs, format);
+  }
+
+  // To prwto script kathe eidous ginetai to bundle, ta ypoloipa afairountai
+  const written = new Set();
+  const rewritten = html.replace(SCRIPT, (tag, pre, src, post, ws) => {
+    const format = isModule(pre + post) ? "esm" : "iife";
+    if (written.has(format)) return "";
+    written.add(format);
+    return `<script${pre}src="${urls[format]}"${post}></script>${ws}`;
+  });
+  await writeFile(file, rewritten);
+  manifest[page] = urls;
+}
+
+await writeFile(path.join(OUT_DIR, "manifest.json"), JSON.stringify(manifest, null, 2));
+console.log(`[bundle] ${bundles.size} bundles for ${Object.keys(manifest).length} pages`);
@@ -0,0 +1,106 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Build-time vhma, oxi meros ths efarmoghs: to trexei to exec-maven-plugin (phase process-classes)
+// ws single-file source me to java tou JDK ("java StaticAssetPrecompressor.java <dir>"), ara mono JDK classes.
+// Grafei .gz (kai .br an yparxei to "brotli" CLI sto PATH) dipla se kathe css/js/svg tou target/classes/static.
+// Ta servirei o EncodedResourceResolver analoga me to Accept-Encoding.
+// Ta HTML den sympiezontai edw giati ta allazei o HtmlLinkResourceTransformer sto runtime.
+public final class StaticAssetPrecompressor {
+
+    private static final Set<String> EXTENSIONS = Set.of("css", "js", "svg", "json", "txt");
+    private static final int MIN_SIZE = 512;
+
+    private StaticAssetPrecompressor() {}
+
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(args.length > 0 ? args[0] : "target/classes/static");
+        if (!Files.isDirectory(root)) {
+            System.out.println("[precompress] nothing to do, missing " + root);
+            return;
+        }
+        boolean brotli = brotliAvailable();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).filter(StaticAssetPrecompressor::compressible).toList();
+        }
+        for (Path file : files) {
+            long size = Files.size(file);
+            long gz = gzip(file);
+            long br = brotli ? brotli(file) : -1;
+            System.out.printf("[precompress] %s %d -> gz %d%s%n", root.relativize(file), size, gz,
+                    br >= 0 ? ", br " + br : "");
+        }
+        if (!brotli) {
+            System.out.println("[precompress] brotli CLI not found, only gzip variants were written");
+        }
+    }
+
+    private static boolean compressible(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        try {
+            return dot > 0 && EXTENSIONS.contains(name.substring(dot + 1)) && Files.size(file) >= MIN_SIZE;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    private static long gzip(Path file) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target)) {
+            { def.setLevel(Deflater.BEST_COMPRESSION); }
+        }) {
+            Files.copy(file, out);
+        }
+        return keepIfSmaller(file, target);
+    }
+
+    private static long brotli(Path file) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + ".br");
+        Process p = new ProcessBuilder("brotli", "-q", "11", "-f", "-o", target.toString(), file.toString())
+                .inheritIO().start();
+        try {
+            if (!p.waitFor(60, TimeUnit.SECONDS) || p.exitValue() != 0) {
+                p.destroy();
+                Files.deleteIfExists(target);
+                return -1;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+        return keepIfSmaller(file, target);
+    }
+
+    // Ena variant pou den einai mikrotero apo to original den aksizei to Content-Encoding
+    private static long keepIfSmaller(Path original, Path variant) throws IOException {
+        long size = Files.size(variant);
+        if (size >= Files.size(original)) {
+            Files.delete(variant);
+            return -1;
+        }
+        return size;
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            Process p = new ProcessBuilder("brotli", "--version").redirectErrorStream(true).start();
+            p.getInputStream().readAllBytes();
+            return p.waitFor(10, TimeUnit.SECONDS) && p.exitValue() == 0;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.festival_management.config;
+
+import com.example.festival_management.service.impl.PoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.SQLExceptionOverride;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.sql.SQLException;
+
+// Rythmiseis tou Hikari pou den ginontai apo properties:
+// - metrics (PoolMetrics) panta
+// - megethos pool apo ton arithmo twn cores, an datasource.pool.connections-per-core > 0 (profile prod)
+// - to query timeout (SQLState 57014) den xalaei to connection (QueryTimeoutIsNotFatal)
+@Configuration
+public class DataSourcePoolConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+
+    @Bean
+    public static BeanPostProcessor hikariPoolCustomizer(ObjectProvider<PoolMetrics> poolMetrics, Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    hikari.setMetricsTrackerFactory(poolMetrics.getObject());
+                    if (hikari.getExceptionOverrideClassName() == null) {
+                        hikari.setExceptionOverrideClassName(QueryTimeoutIsNotFatal.class.getName());
+                    }
+
+                    int perCore = env.getProperty("datasource.pool.connections-per-core", Integer.class, 0);
+                    if (perCore > 0 && !env.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                        // (cores * N) + spindles, opws proteinei to Hikari
+                        int cores = Runtime.getRuntime().availableProcessors();
+                        int spindles = env.getProperty("datasource.pool.spindles", Integer.class, 1);
+                        int size = cores * perCore + spindles;
+                        hikari.setMaximumPoolSize(size);
+                        hikari.setMinimumIdle(size);
+                        log.info("Hikari pool '{}' sized to {} connections ({} cores)", beanName, size, cores);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    // To Hikari petaei to connection se 57014 (cancel apo to query timeout tou transaction): meta to
+    // rollback apotygxanei me "Connection is closed" kai krybei to timeout (500 anti gia 503).
+    // To statement akyrwthhke, to connection einai ygies.
+    public static class QueryTimeoutIsNotFatal implements SQLExceptionOverride {
+        @java.lang.Override // to Override mesa sto SQLExceptionOverride einai to enum tou
+        public Override adjudicate(SQLException ex) {
+            return "57014".equals(ex.getSQLState()) ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.festival_management.config;
+
+import com.example.festival_management.service.impl.GenreDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Migration apo thn palia sthlh performances.genre (varchar) sto performances.genre_id.
+// Kathe diaforetikh timh ginetai intern sto GenreDictionary ("jazz", "Jazz " -> ena genre),
+// ta rows pairnoun to id mono an den exoun hdh (asfales na ksanatreksei) kai meta to commit
+// svhnetai h palia sthlh mazi me to index ths.
+@Component
+public class GenreMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(GenreMigration.class);
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final GenreDictionary dictionary;
+
+    public GenreMigration(JdbcTemplate jdbc, PlatformTransactionManager transactionManager, GenreDictionary dictionary) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!legacyColumnExists()) return;
+        List<String> values = jdbc.queryForList(
+                "SELECT DISTINCT genre FROM performances WHERE genre IS NOT NULL AND genre_id IS NULL", String.class);
+        Integer copied = tx.execute(status -> {
+            int n = 0;
+            for (String value : values) {
+                if (value.isBlank()) continue;
+                Integer id = dictionary.idOf(dictionary.intern(value)).orElseThrow();
+                n += jdbc.update("UPDATE performances SET genre_id = ? WHERE genre = ? AND genre_id IS NULL", id, value);
+            }
+            return n;
+        });
+        jdbc.execute("DROP INDEX IF EXISTS idx_performances_genre");
+        jdbc.execute("ALTER TABLE performances DROP COLUMN genre");
+        log.info("Migrated {} performances from performances.genre to {} genres", copied, dictionary.all().size());
+    }
+
+    private boolean legacyColumnExists() {
+        Integer n = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE LOWER(TABLE_NAME) = 'performances'"
+                        + " AND LOWER(COLUMN_NAME) = 'genre' AND TABLE_SCHEMA = SCHEMA()",
+                Integer.class);
+        return n != null && n > 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.festival_management.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Allazei ta href/src twn static HTML pros ta content-hashed URLs (/css/styles-<md5>.css),
+// opws kanei o CssLinkResourceTransformer gia ta CSS. To apotelesma to kratei o CachingResourceTransformer.
+public class HtmlLinkResourceTransformer extends ResourceTransformerSupport {
+
+    private static final Pattern LINK = Pattern.compile("(href|src)=\"(/(?:css|js|assets)/[^\"?#]+)\"");
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource,
+                              ResourceTransformerChain transformerChain) throws IOException {
+        resource = transformerChain.transform(request, resource);
+        String filename = resource.getFilename();
+        if (filename == null || !filename.endsWith(".html")) {
+            return resource;
+        }
+
+        String html = new String(resource.getContentAsByteArray(), StandardCharsets.UTF_8);
+        Matcher m = LINK.matcher(html);
+        StringBuilder out = new StringBuilder(html.length() + 256);
+        while (m.find()) {
+            String versioned = resolveUrlPath(m.group(2), request, resource, transformerChain);
+            String link = m.group(1) + "=\"" + (versioned != null ? versioned : m.group(2)) + "\"";
+            m.appendReplacement(out, Matcher.quoteReplacement(link));
+        }
+        m.appendTail(out);
+        return new TransformedResource(resource, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.festival_management.config;
+
+import com.example.festival_management.util.JsonSetConverter;
+import com.example.festival_management.util.LocalDateTimeSetConverter;
+import com.example.festival_management.util.StringSetConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Migration apo tous palious pinakes @ElementCollection tou Performance stis JSON sthles.
+// Trexei sto startup: antigrafei ta rows mono se performances pou den exoun akoma timh sth
+// nea sthlh (ara einai asfales na ksanatreksei) kai meta to commit svhnei ton palio pinaka.
+@Component
+public class PerformanceCollectionsMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceCollectionsMigration.class);
+
+    private record Legacy(String table, String valueColumn, String targetColumn, boolean timestamps) {}
+
+    private static final List<Legacy> LEGACY = List.of(
+            new Legacy("performance_technical_requirements", "requirement", "technical_requirements", false),
+            new Legacy("performance_merchandise", "item", "merchandise_items", false),
+            new Legacy("performance_setlist", "song", "setlist", false),
+            new Legacy("performance_rehearsal_slots", "rehearsal_time", "rehearsal_times", true),
+            new Legacy("performance_time_slots", "performance_time", "performance_slots", true)
+    );
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public PerformanceCollectionsMigration(JdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Legacy legacy : LEGACY) {
+            if (!tableExists(legacy.table())) continue;
+            Integer copied = tx.execute(status -> legacy.timestamps()
+                    ? copy(legacy, new LocalDateTimeSetConverter(), LocalDateTime.class)
+                    : copy(legacy, new StringSetConverter(), String.class));
+            jdbc.execute("DROP TABLE " + legacy.table());
+            log.info("Migrated {} performances from {} to performances.{}", copied, legacy.table(), legacy.targetColumn());
+        }
+    }
+
+    private <T extends Comparable<? super T>> int copy(Legacy legacy, JsonSetConverter<T> converter, Class<T> type) {
+        Map<Long, Set<T>> byPerformance = new LinkedHashMap<>();
+        jdbc.query("SELECT performance_id, " + legacy.valueColumn() + " FROM " + legacy.table(), rs -> {
+            T value = rs.getObject(2, type);
+            if (value != null) {
+                byPerformance.computeIfAbsent(rs.getLong(1), k -> new LinkedHashSet<>()).add(value);
+            }
+        });
+
+        List<Object[]> updates = new ArrayList<>(byPerformance.size());
+        byPerformance.forEach((id, values) -> updates.add(new Object[]{converter.convertToDatabaseColumn(values), id}));
+        int[][] counts = jdbc.batchUpdate(
+                "UPDATE performances SET " + legacy.targetColumn() + " = ? WHERE id = ? AND " + legacy.targetColumn() + " IS NULL",
+                updates, 500, (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setLong(2, (Long) row[1]);
+                });
+        int copied = 0;
+        for (int[] batch : counts) for (int n : batch) copied += Math.max(n, 0);
+        return copied;
+    }
+
+    private boolean tableExists(String table) {
+        Integer n = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE LOWER(TABLE_NAME) = ? AND TABLE_SCHEMA = SCHEMA()",
+                Integer.class, table);
+        return n != null && n > 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.festival_management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Energopoiei ta @Scheduled jobs (outbox dispatcher klp).
+// To megethos tou pool: spring.task.scheduling.pool.size (o default scheduler exei ena mono thread).
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package com.example.festival_management.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -19,6 +20,7 @@ import com.example.festival_management.entity.User;
 import com.example.festival_management.repository.UserRepository;
 import com.example.festival_management.security.CustomUserDetailsService;
 import com.example.festival_management.security.JwtFilter;
+import com.example.festival_management.security.RateLimitFilter;
 
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 import java.util.Optional;
@@ -31,8 +33,10 @@ import java.util.stream.Collectors;
 public class SecurityConfig {
   
     private final JwtFilter jwtFilter;
-    public SecurityConfig(JwtFilter jwtFilter) {
+    private final RateLimitFilter rateLimitFilter;
+    public SecurityConfig(JwtFilter jwtFilter, RateLimitFilter rateLimitFilter) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
     @Bean
 public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -43,6 +47,8 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
       .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
       .authorizeHttpRequests(auth -> auth
+          // async dispatch (DeferredResult) / error: o elegxos egine hdh sto arxiko request
+          .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
           // Public endpoints
           .requestMatchers(toH2Console()).permitAll()
           .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
@@ -50,12 +56,16 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
                            "/login.html","/register.html",
                            "/performances.html","/organizer.html","/staff.html",
                            "/favicon.ico","/assets/**","/css/**","/js/**","/festivals.html").permitAll()
-          .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register").permitAll()
+          .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register",
+                  "/api/auth/refresh", "/api/auth/logout").permitAll()
           .requestMatchers(HttpMethod.GET,  "/api/festivals/**").permitAll()
 
           // Protected endpoints requiring authentication
+          .requestMatchers("/api/admin/**").hasRole("ADMIN")
           .requestMatchers("/api/auth/me").authenticated()
           .requestMatchers(HttpMethod.POST, "/api/performances/**").authenticated()
+          .requestMatchers(HttpMethod.PATCH, "/api/performances/**").authenticated()
+          .requestMatchers(HttpMethod.GET, "/api/performances/*/history/**").authenticated()
           .requestMatchers(HttpMethod.POST, "/api/festivals/*/performances").authenticated()
 
           // Allow all other requests; be explicit about security requirements
@@ -63,6 +73,8 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
       );
 
     http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+    // rate limit meta to JWT: ta authenticated requests metriountai ana user, ta ypoloipa ana IP
+    http.addFilterAfter(rateLimitFilter, JwtFilter.class);
     return http.build();
 }
 
@@ -78,5 +90,3 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
     }
 
 }
-
-}
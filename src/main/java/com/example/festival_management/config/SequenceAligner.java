@@ -0,0 +1,55 @@
+package com.example.festival_management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Ta entities pairnoun id apo sequences (pooled-lo, allocationSize 50· to genres_seq me 1).
+// Se vash pou prohlthe apo IDENTITY (h meta to data.sql me rhta ids) to sequence mporei na einai
+// pisw apo to max(id): edw, prin ginei opoiodhpote insert apo thn efarmogh, kathe sequence
+// metaferetai sto max(id) + 1. Me pooled-lo h timh tou sequence einai to prwto id tou block.
+@Component
+public class SequenceAligner implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceAligner.class);
+
+    // sequence -> table (ta onomata einai statheres, oxi input)
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "festivals_seq", "festivals",
+            "performances_seq", "performances",
+            "users_seq", "users",
+            "role_assignments_seq", "role_assignments",
+            "outbox_events_seq", "outbox_events",
+            "performance_events_seq", "performance_events",
+            "performance_snapshots_seq", "performance_snapshots",
+            "refresh_tokens_seq", "refresh_tokens",
+            "genres_seq", "genres"
+    );
+
+    private final JdbcTemplate jdbc;
+
+    public SequenceAligner(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    private void align(String sequence, String table) {
+        Long maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Long next = jdbc.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE LOWER(SEQUENCE_NAME) = ?",
+                Long.class, sequence);
+        long required = (maxId == null ? 0 : maxId) + 1;
+        if (next == null || next < required) {
+            jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + required);
+            log.info("Sequence {} moved to {} (max id of {} is {})", sequence, required, table, maxId);
+        }
+    }
+}
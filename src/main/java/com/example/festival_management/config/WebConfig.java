@@ -1,18 +1,65 @@
 // src/main/java/com/example/festival_management/config/WebConfig.java
 package com.example.festival_management.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.*;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
- // apla dhlwnoume ta static paths (an theleis kan to afineis keno,
-        // giati to Spring Boot ta servicearei idi apo /static, /public klp)
+
+    // Ta assets servirontai me content hash sto onoma (styles-<md5>.css) kai proepilegmena
+    // .br/.gz variants (ftiaxnontai sto build apo ton StaticAssetPrecompressor)
+    private static final String[] ASSET_DIRS = {"css", "js", "assets"};
+    private static final Pattern HASHED = Pattern.compile("-[0-9a-f]{32}\\.[^/.]+$");
+    // Ta bundles tou build (frontend/build.mjs) exoun hdh to hash tou esbuild sto onoma
+    private static final Pattern BUNDLE = Pattern.compile("^/js/bundles/[^/]+-[0-9A-Z]{8}\\.js$");
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-       registry.addResourceHandler("/**")
-        .addResourceLocations("classpath:/static/");
+        registry.addResourceHandler("/js/bundles/**")
+                .addResourceLocations("classpath:/static/js/bundles/")
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        for (String dir : ASSET_DIRS) {
+            registry.addResourceHandler("/" + dir + "/**")
+                    .addResourceLocations("classpath:/static/" + dir + "/")
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
 
+        // Ta HTML grafoun ta links pros ta hashed onomata (xwris precompression, ta sympiezei to server.compression)
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .resourceChain(true)
+                .addTransformer(new HtmlLinkResourceTransformer());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // hashed URL -> den allazei pote (immutable), ola ta alla -> revalidate (Last-Modified)
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                String path = request.getRequestURI();
+                CacheControl cache = HASHED.matcher(path).find() || BUNDLE.matcher(path).matches()
+                        ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                        : CacheControl.noCache();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, cache.getHeaderValue());
+                return true;
+            }
+        }).excludePathPatterns("/api/**", "/h2-console/**");
     }
 
     @Override
@@ -0,0 +1,144 @@
+package com.example.festival_management.controller;
+
+import com.example.festival_management.dto.AuditEntry;
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.service.impl.AuditService;
+import com.example.festival_management.service.impl.DatabaseBackupService;
+import com.example.festival_management.service.impl.DbExecutor;
+import com.example.festival_management.service.impl.OutboxDispatcher;
+import com.example.festival_management.service.impl.PoolMetrics;
+import com.example.festival_management.service.impl.RefreshTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final DatabaseBackupService backupService;
+    private final PoolMetrics poolMetrics;
+    private final AuditService auditService;
+    private final ObjectMapper objectMapper;
+    private final RefreshTokenService refreshTokenService;
+    private final DbExecutor dbExecutor;
+    private final OutboxDispatcher outboxDispatcher;
+
+    public AdminController(DatabaseBackupService backupService, PoolMetrics poolMetrics,
+                           AuditService auditService, ObjectMapper objectMapper,
+                           RefreshTokenService refreshTokenService, DbExecutor dbExecutor,
+                           OutboxDispatcher outboxDispatcher) {
+        this.backupService = backupService;
+        this.poolMetrics = poolMetrics;
+        this.auditService = auditService;
+        this.objectMapper = objectMapper;
+        this.refreshTokenService = refreshTokenService;
+        this.dbExecutor = dbExecutor;
+        this.outboxDispatcher = outboxDispatcher;
+    }
+
+    // POST /api/admin/users/{username}/revoke-sessions -> akyrwnei ola ta refresh/access tokens tou user
+    @PostMapping("/users/{username}/revoke-sessions")
+    public ResponseEntity<Map<String, Integer>> revokeSessions(@PathVariable String username) {
+        return ResponseEntity.ok(Map.of("revoked", refreshTokenService.revokeUser(username)));
+    }
+
+    // GET /api/admin/audit?festivalId=1 h ?performanceId=7 -> NDJSON, mia grammh ana audit entry
+    // (streaming apeutheias apo ta segments, xwris na mazeytoun ola sto heap)
+    @GetMapping(value = "/audit", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> audit(@RequestParam(required = false) Long festivalId,
+                                                       @RequestParam(required = false) Long performanceId) {
+        if (festivalId == null && performanceId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> {
+            try (Stream<AuditEntry> entries = auditService.entries(festivalId, performanceId)) {
+                entries.forEach(e -> writeLine(out, e));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, AuditEntry entry) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(entry));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // GET /api/admin/pool -> connections, anamonh gia connection (mean/p99/max), timeouts
+    @GetMapping("/pool")
+    public ResponseEntity<PoolMetrics.Snapshot> pool() {
+        return ResponseEntity.ok(poolMetrics.snapshot());
+    }
+
+    // GET /api/admin/db-executor -> threads/oura tou DbExecutor (async reads), rejected, cancelled
+    @GetMapping("/db-executor")
+    public ResponseEntity<DbExecutor.Stats> dbExecutor() {
+        return ResponseEntity.ok(dbExecutor.stats());
+    }
+
+    // GET /api/admin/outbox/failed -> events pou eksantlhsan ta outbox.max-attempts (to aggregate tous perimenei)
+    @GetMapping("/outbox/failed")
+    public ResponseEntity<List<OutboxEvent>> failedOutboxEvents(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(outboxDispatcher.exhausted(Math.min(limit, 1000)));
+    }
+
+    // POST /api/admin/outbox/{id}/retry -> ksanadokimazetai apo thn arxh
+    @PostMapping("/outbox/{id}/retry")
+    public ResponseEntity<Void> retryOutboxEvent(@PathVariable Long id) {
+        return outboxDispatcher.retry(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    // GET /api/admin/backup -> zip me consistent snapshot ths vashs (streaming, ektos request thread)
+    @GetMapping("/backup")
+    public ResponseEntity<StreamingResponseBody> backup(HttpServletRequest request) {
+        Optional<DatabaseBackupService.Backup> started = backupService.tryStart();
+        if (started.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        DatabaseBackupService.Backup backup = started.get();
+        // an to async request teleiwsei xwris na treksei to body (timeout, error, disconnect), to slot den menei piasmeno
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(backup, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest req, Callable<T> task) {
+                backup.release();
+            }
+        });
+        String filename = "festivaldb-" + LocalDateTime.now().format(STAMP) + ".zip";
+        StreamingResponseBody body = backup::streamTo;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
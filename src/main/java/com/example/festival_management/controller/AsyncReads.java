@@ -0,0 +1,91 @@
+package com.example.festival_management.controller;
+
+import com.example.festival_management.service.impl.DbExecutor;
+import com.example.festival_management.service.impl.ReadCoalescer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Async read endpoints: to handler trexei sto DbExecutor kai to Tomcat thread eleutherwnetai
+// oso perimenoume th vash. To body ginetai JSON mesa sto transaction tou executor (to open-in-view
+// den kalyptei ta threads tou, ta lazy pedia tha espagan sto serialization meta).
+// Timeout (db.executor.timeout-ms) -> 503 + Retry-After kai cancel tou future: an to task einai
+// akoma sthn oura den trexei pote, an trexei to kovei to query timeout tou transaction.
+// Ta exceptions pane ston GlobalExceptionHandler opws kai sta synchronous endpoints.
+@Component
+public class AsyncReads {
+
+    private final DbExecutor dbExecutor;
+    private final ReadCoalescer readCoalescer;
+    private final ObjectMapper objectMapper;
+
+    public AsyncReads(DbExecutor dbExecutor, ReadCoalescer readCoalescer, ObjectMapper objectMapper) {
+        this.dbExecutor = dbExecutor;
+        this.readCoalescer = readCoalescer;
+        this.objectMapper = objectMapper;
+    }
+
+    public DeferredResult<ResponseEntity<?>> call(Supplier<ResponseEntity<?>> handler) {
+        return defer(dbExecutor.<ResponseEntity<?>>submit(() -> materialize(handler.get())));
+    }
+
+    // Coalesced JSON (ReadCoalescer.jsonAsync)· null apo to loader -> 404
+    public DeferredResult<ResponseEntity<?>> coalesced(String key, Supplier<?> loader) {
+        return defer(readCoalescer.jsonAsync(key, loader).<ResponseEntity<?>>thenApply(json -> json == null
+                ? ResponseEntity.notFound().build()
+                : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json)));
+    }
+
+    // Apanthsh pou den xreiazetai th vash (p.x. 400 apo to validation twn params)
+    public static DeferredResult<ResponseEntity<?>> done(ResponseEntity<?> response) {
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>();
+        result.setResult(response);
+        return result;
+    }
+
+    private DeferredResult<ResponseEntity<?>> defer(CompletableFuture<ResponseEntity<?>> future) {
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(dbExecutor.timeoutMs(), () ->
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("error", "Request timed out")));
+        result.onTimeout(() -> future.cancel(false));
+        result.onError(ex -> future.cancel(false)); // p.x. o client ekleise th syndesh
+        future.whenComplete((response, ex) -> {
+            // to cancel to kanoume emeis apo to onTimeout/onError: h apanthsh einai to 503 tou timeout,
+            // oxi to CancellationException (pou tha to prolavaine, afou to cancel trexei prwto)
+            if (future.isCancelled()) return;
+            if (ex == null) result.setResult(response);
+            else result.setErrorResult(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+        });
+        return result;
+    }
+
+    // byte[]/String menoun opws einai, ola ta alla ginontai JSON bytes (idio ObjectMapper me to MVC)
+    private ResponseEntity<?> materialize(ResponseEntity<?> response) {
+        Object body = response.getBody();
+        if (body == null || body instanceof byte[] || body instanceof String) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        if (headers.getContentType() == null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        try {
+            return new ResponseEntity<>(objectMapper.writeValueAsBytes(body), headers, response.getStatusCode());
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -4,6 +4,8 @@ package com.example.festival_management.controller;
 import com.example.festival_management.entity.User;
 import com.example.festival_management.repository.UserRepository;
 import com.example.festival_management.security.JwtUtil;
+import com.example.festival_management.service.impl.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,16 +28,19 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
     // eksartiseis gia auth/JWT/users/passwords
 
     public AuthController(AuthenticationManager authenticationManager,
                           JwtUtil jwtUtil,
                           UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.refreshTokenService = refreshTokenService;
     }
         // If no auth found, return 401 Unauthorized
 
@@ -73,15 +78,17 @@ public class AuthController {
         try {
             Authentication auth = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(username, password));
-            String jwt = jwtUtil.generateToken(auth.getName());
+            RefreshTokenService.TokenPair tokens = refreshTokenService.issue(auth.getName());
             List<String> roles = auth.getAuthorities().stream()
                     .map(GrantedAuthority::getAuthority)
                     .toList();
 
             // Always return both accessToken and token fields
             return ResponseEntity.ok(Map.of(
-                    "accessToken", jwt,
-                    "token", jwt,
+                    "accessToken", tokens.accessToken(),
+                    "token", tokens.accessToken(),
+                    "refreshToken", tokens.refreshToken(),
+                    "expiresIn", tokens.expiresInSeconds(),
                     "roles", roles
             ));
         } catch (BadCredentialsException ex) {
@@ -90,6 +97,34 @@ public class AuthController {
         }
     }
 
+    // POST /api/auth/refresh { "refreshToken": "..." } -> neo zeugari tokens (to palio refresh token katanalwnetai)
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String,String> body) {
+        return refreshTokenService.refresh(body.get("refreshToken"))
+                .<ResponseEntity<?>>map(tokens -> ResponseEntity.ok(Map.of(
+                        "accessToken", tokens.accessToken(),
+                        "token", tokens.accessToken(),
+                        "refreshToken", tokens.refreshToken(),
+                        "expiresIn", tokens.expiresInSeconds())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("error","Invalid refresh token")));
+    }
+
+    // POST /api/auth/logout { "refreshToken": "..." } + Authorization -> akyrwsh session kai access token
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) Map<String,String> body,
+                                    @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String refreshToken = body == null ? null : body.get("refreshToken");
+        Claims claims = null;
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            claims = jwtUtil.claims(authorization.substring(7).trim()).orElse(null);
+        }
+        refreshTokenService.logout(refreshToken,
+                claims == null ? null : claims.getId(),
+                claims == null || claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(path="/register", consumes="application/json", produces="application/json")
     public ResponseEntity<?> register(@RequestBody RegisterRequest req) {
         if (req.getUsername()==null || req.getUsername().isBlank()
@@ -113,9 +148,10 @@ public class AuthController {
                 ? req.getRole().toUpperCase().replaceFirst("^ROLE_", "")
                 : "USER";
 
-        String token = jwtUtil.generateToken(req.getUsername());
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(new AuthResponse(token, new String[]{"ROLE_"+role}));
+        RefreshTokenService.TokenPair tokens = refreshTokenService.issue(req.getUsername());
+        AuthResponse response = new AuthResponse(tokens.accessToken(), new String[]{"ROLE_"+role});
+        response.setRefreshToken(tokens.refreshToken());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     // ---------- DTOs (without Lombok) ----------
     public static class LoginRequest {
@@ -151,6 +187,7 @@ public class AuthController {
         private String accessToken;
         private String token; // Same as accessToken
         private String[] roles;
+        private String refreshToken;
 
         public AuthResponse() {}
         public AuthResponse(String token, String[] roles) {
@@ -164,6 +201,8 @@ public class AuthController {
         public void setToken(String token) { this.token = token; this.accessToken = token; }
         public String[] getRoles() { return roles; }
         public void setRoles(String[] roles) { this.roles = roles; }
+        public String getRefreshToken() { return refreshToken; }
+        public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
     }
 
     // ---------- Helper methods ----------
@@ -1,23 +1,48 @@
 package com.example.festival_management.controller;
 
-import com.example.festival_management.entity.Enums.FestivalState;
+import com.example.festival_management.dto.CalendarEntry;
+import com.example.festival_management.entity.enums.FestivalState;
 import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.User;
 import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.FestivalService;
+import com.example.festival_management.service.impl.FestivalCalendarIndex;
+import com.example.festival_management.service.impl.FestivalNameIndex;
+import com.example.festival_management.service.impl.FestivalStateMachine;
+import com.example.festival_management.service.impl.LineupSnapshotService;
+import com.example.festival_management.service.impl.ReadCoalescer;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
 
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping(value = "/api/festivals", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -25,36 +50,55 @@ import org.springframework.web.bind.annotation.*;
 public class FestivalController {
 
     private final FestivalRepository repo;
+    private final FestivalNameIndex nameIndex;
+    private final FestivalService festivalService;
+    private final FestivalStateMachine stateMachine;
+    private final UserRepository userRepo;
+    private final FestivalCalendarIndex calendarIndex;
+    private final LineupSnapshotService lineupSnapshots;
+    private final AsyncReads asyncReads;
 
-    public FestivalController(FestivalRepository repo) {
+    public FestivalController(FestivalRepository repo,
+                              FestivalNameIndex nameIndex,
+                              FestivalService festivalService,
+                              FestivalStateMachine stateMachine,
+                              UserRepository userRepo,
+                              FestivalCalendarIndex calendarIndex,
+                              LineupSnapshotService lineupSnapshots,
+                              AsyncReads asyncReads) {
         this.repo = repo;
+        this.nameIndex = nameIndex;
+        this.festivalService = festivalService;
+        this.stateMachine = stateMachine;
+        this.userRepo = userRepo;
+        this.calendarIndex = calendarIndex;
+        this.lineupSnapshots = lineupSnapshots;
+        this.asyncReads = asyncReads;
     }
-    // Request as sent by client (enum in state field)
+    // Request as sent by client (to state to orizei to createFestival, oxi o client)
   public static record CreateFestivalRequest(
     @NotBlank(message = "Festival name is required") String name,
     @NotBlank(message = "Venue is required") String venue,
     @NotNull(message = "Start date is required") LocalDate startDate,
     @NotNull(message = "End date is required") LocalDate endDate,
-    FestivalState state,
     String description
 ) {}
-    // Helper to handle state as String (for symmetry)
-    // Converts to enum value if provided
-
-public FestivalState toStateOrDefault(String s){
-  if (s == null || s.isBlank()) return FestivalState.SCHEDULING;
-  try { return FestivalState.valueOf(s.trim().toUpperCase()); }
-  catch (IllegalArgumentException ex){ return FestivalState.SCHEDULING; }
-}
   // Could return DTO, but returning entity for simplicity
  @PostMapping
-  public ResponseEntity<Festival> create(@Valid @RequestBody CreateFestivalRequest req) {
+  public ResponseEntity<?> create(@Valid @RequestBody CreateFestivalRequest req, Authentication authentication) {
     if (req.name() == null || req.name().isBlank() ||
         req.venue() == null || req.venue().isBlank() ||
         req.startDate() == null || req.endDate() == null ||
         req.startDate().isAfter(req.endDate())) {
       return ResponseEntity.badRequest().build();
     }
+    if (authentication == null || authentication.getName() == null) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "No auth"));
+    }
+    User creator = userRepo.findByUsername(authentication.getName()).orElse(null);
+    if (creator == null) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not found"));
+    }
 
     Festival f = new Festival();
     f.setName(req.name());
@@ -62,48 +106,206 @@ public FestivalState toStateOrDefault(String s){
     f.setStartDate(req.startDate());
     f.setEndDate(req.endDate());
     f.setDescription(req.description());
-    f.setState(toStateOrDefault(req.state())); // Always use entity.enums.FestivalState
 
-    f = repo.save(f);
+    // CREATED state, ORGANIZER role kai indexes (AfterCommit) ta kanei to service
+    try {
+      f = festivalService.createFestival(f, creator);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+    }
     return ResponseEntity.created(URI.create("/api/festivals/" + f.getId())).body(f);
   }
   
     // List with pagination and optional search query
+    // (ta GET trexoun sto DbExecutor mesw AsyncReads, to Tomcat thread den perimenei th vash)
 
 @GetMapping
-public ResponseEntity<?> list(
+public DeferredResult<ResponseEntity<?>> list(
         @RequestParam(required = false) String q,
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "10") int size
 ) {
-    try {
-        if (page < 0) page = 0;
-        if (size < 1) size = 10;
-        if (size > 100) size = 100;
+    Pageable pageable = PageRequest.of(Math.max(0, page), size < 1 ? 10 : Math.min(size, 100),
+            Sort.by(Sort.Direction.ASC, "id"));
+    String query = (q == null) ? null : q.trim();
+    return asyncReads.call(() -> {
+        try {
+            Page<Festival> result = (query == null || query.isEmpty())
+                    ? repo.findAll(pageable)
+                    : repo.search(query, pageable);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (QueryTimeoutException | TransactionTimedOutException ex) {
+            throw ex; // -> 503 apo ton GlobalExceptionHandler
+        } catch (Exception ex) {
+            return ResponseEntity.internalServerError().body("Failed to fetch festivals.");
+        }
+    });
+}
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"));
-        String query = (q == null) ? null : q.trim();
-        Page<Festival> result = (query == null || query.isEmpty())
-                ? repo.findAll(pageable)
-                : repo.search(query, pageable);
+    // GET /api/festivals/search?name=&description=&venue=&dates=2025-06-01..2025-06-30&state=SCHEDULING&page=0&size=10
+    // Mono ta filtra pou dothikan mpainoun sto WHERE (state/dates me index)
+    @GetMapping("/search")
+    public DeferredResult<ResponseEntity<?>> search(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String venue,
+            @RequestParam(required = false) String dates,
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        FestivalState st;
+        try {
+            st = (state == null || state.isBlank())
+                    ? null
+                    : FestivalState.valueOf(state.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return AsyncReads.done(ResponseEntity.badRequest().body(Map.of("error", ex.getMessage())));
+        }
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), 100),
+                Sort.by(Sort.Direction.ASC, "id"));
+        return asyncReads.call(() -> {
+            try {
+                return ResponseEntity.ok(festivalService.searchFestivals(name, description, venue, dates, st, pageable, null));
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+            }
+        });
+    }
 
-        return ResponseEntity.ok(result);
-    } catch (IllegalArgumentException ex) {
-        return ResponseEntity.badRequest().body(ex.getMessage());
-    } catch (Exception ex) {
-        return ResponseEntity.internalServerError().body("Failed to fetch festivals.");
+    // GET /api/festivals/calendar?from=2025-06-01&to=2025-06-30&venue=SNFCC -> festivals pou trexoun
+    // mesa sto diasthma (kata startDate), apo to in-memory interval index xwris query sth vash
+    @GetMapping("/calendar")
+    public ResponseEntity<?> calendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String venue
+    ) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from is after to"));
+        }
+        return ResponseEntity.ok(calendarIndex.between(from, to, venue));
+    }
+
+    // GET /api/festivals/{id}/overlaps -> alla festivals sto idio venue me koines meres
+    @GetMapping("/{id}/overlaps")
+    public ResponseEntity<List<CalendarEntry>> overlaps(@PathVariable Long id) {
+        return ResponseEntity.ok(calendarIndex.overlapsWith(id));
     }
-}
 
+    // GET /api/festivals/{id}/lineup -> to dhmosio line-up enos ANNOUNCED festival.
+    // Ta gzip bytes tou snapshot grafontai opws einai (Content-Encoding: gzip)· me If-None-Match -> 304.
+    // Client xwris gzip (spanio) pairnei to JSON apo decompress.
+    @GetMapping("/{id}/lineup")
+    public ResponseEntity<?> lineup(@PathVariable Long id,
+                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LineupSnapshotService.Snapshot snapshot = lineupSnapshots.get(id).orElse(null);
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Line-up is published when the festival is ANNOUNCED"));
+        }
+        if (etagMatches(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache().cachePublic()).build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(snapshot.gzip().length)
+                    .body(snapshot.gzip());
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            return ok.contentType(MediaType.APPLICATION_JSON).body(in.readAllBytes());
+        } catch (IOException ex) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to read line-up"));
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) value = value.substring(2); // weak (p.x. meta apo compression) = idio periexomeno
+            if (value.equals("*") || value.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    // Typeahead για τα comboboxes: top-N (id, name) από το in-memory index, χωρίς query στη ΒΔ
+    @GetMapping("/suggest")
+    public ResponseEntity<List<FestivalRepository.Option>> suggest(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(nameIndex.suggest(q, limit));
+    }
  
+    // Ta tautoxrona GET tou idiou festival moirazontai ena query (ReadCoalescer), async sto DbExecutor
     @GetMapping("/{id}")
-    public ResponseEntity<?> getOne(@PathVariable Long id) {
+    public DeferredResult<ResponseEntity<?>> getOne(@PathVariable Long id) {
+        return asyncReads.coalesced(ReadCoalescer.festivalKey(id), () -> repo.findById(id).orElse(null));
+    }
+
+    // POST /api/festivals/{id}/state  { "state": "SUBMISSION" }  -> μόνο τα δηλωμένα transitions του state machine
+    @PostMapping("/{id}/state")
+    public ResponseEntity<?> changeState(@PathVariable Long id,
+                                         @RequestBody Map<String, String> body,
+                                         Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "No auth"));
+        }
+        User organizer = userRepo.findByUsername(authentication.getName()).orElse(null);
+        if (organizer == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not found"));
+        }
+        String raw = body.get("state");
+        FestivalState newState;
         try {
-            return repo.findById(id)
-                    .map(ResponseEntity::ok)
-                    .orElseGet(() -> ResponseEntity.notFound().build());
-        } catch (Exception ex) {
-            return ResponseEntity.internalServerError().body("Failed to fetch festival.");
+            newState = FestivalState.valueOf(String.valueOf(raw).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown state: " + raw));
+        }
+        festivalService.changeFestivalState(id, newState, organizer);
+        return ResponseEntity.accepted().body(Map.of("id", id, "state", newState));
+    }
+
+    // PUT /api/festivals/{id}/deadlines  { "SUBMISSION": "2025-05-01T00:00:00", ... }
+    // -> o FestivalDeadlineScheduler allazei phase automata sto deadline
+    @PutMapping("/{id}/deadlines")
+    public ResponseEntity<?> updateDeadlines(@PathVariable Long id,
+                                             @RequestBody Map<FestivalState, LocalDateTime> deadlines,
+                                             Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "No auth"));
         }
+        User organizer = userRepo.findByUsername(authentication.getName()).orElse(null);
+        if (organizer == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not found"));
+        }
+        Festival saved = festivalService.updatePhaseDeadlines(id, deadlines, organizer);
+        return ResponseEntity.ok(new TreeMap<>(saved.getPhaseDeadlines()));
+    }
+
+    // GET /api/festivals/{id}/deadlines -> ta phase deadlines (den einai sto JSON tou festival)
+    @GetMapping("/{id}/deadlines")
+    public DeferredResult<ResponseEntity<?>> deadlines(@PathVariable Long id) {
+        return asyncReads.call(() -> festivalService.getPhaseDeadlines(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    // GET /api/festivals/{id}/transition-progress -> πρόοδος των bulk hooks του τελευταίου transition
+    @GetMapping("/{id}/transition-progress")
+    public ResponseEntity<?> transitionProgress(@PathVariable Long id) {
+        return stateMachine.progress(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 }
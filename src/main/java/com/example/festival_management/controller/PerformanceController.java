@@ -1,6 +1,11 @@
 // src/main/java/com/example/festival_management/controller/PerformanceController.java
 package com.example.festival_management.controller;
 
+import com.example.festival_management.dto.GenreCount;
+import com.example.festival_management.dto.PerformanceFacets;
+import com.example.festival_management.dto.PerformanceHistoryEntry;
+import com.example.festival_management.dto.PerformancePatch;
+import com.example.festival_management.dto.PerformanceView;
 import com.example.festival_management.entity.Festival;
 import com.example.festival_management.entity.Performance;
 import com.example.festival_management.entity.User;
@@ -9,17 +14,25 @@ import com.example.festival_management.repository.FestivalRepository;
 import com.example.festival_management.repository.PerformanceRepository;
 import com.example.festival_management.repository.UserRepository;
 import com.example.festival_management.service.PerformanceService;
+import com.example.festival_management.service.impl.DomainEventPublisher;
+import com.example.festival_management.service.impl.GenreDictionary;
+import com.example.festival_management.service.impl.PerformanceFacetCounter;
+import com.example.festival_management.service.impl.PerformanceHistoryService;
+import com.example.festival_management.service.impl.ReadCoalescer;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import java.net.URI;
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -34,15 +47,33 @@ public class PerformanceController {
     private final FestivalRepository festivalRepo;
     private final UserRepository userRepo;
     private final PerformanceService performanceService;
+    private final PerformanceFacetCounter facetCounter;
+    private final PerformanceHistoryService historyService;
+    private final DomainEventPublisher eventPublisher;
+    private final GenreDictionary genreDictionary;
+    private final AsyncReads asyncReads;
+    private final ReadCoalescer readCoalescer;
 
     public PerformanceController(PerformanceRepository performanceRepo,
                                  FestivalRepository festivalRepo,
                                  UserRepository userRepo,
-                                 PerformanceService performanceService) {
+                                 PerformanceService performanceService,
+                                 PerformanceFacetCounter facetCounter,
+                                 PerformanceHistoryService historyService,
+                                 DomainEventPublisher eventPublisher,
+                                 GenreDictionary genreDictionary,
+                                 AsyncReads asyncReads,
+                                 ReadCoalescer readCoalescer) {
         this.performanceRepo = performanceRepo;
         this.festivalRepo = festivalRepo;
         this.userRepo = userRepo;
         this.performanceService = performanceService;
+        this.facetCounter = facetCounter;
+        this.historyService = historyService;
+        this.eventPublisher = eventPublisher;
+        this.genreDictionary = genreDictionary;
+        this.asyncReads = asyncReads;
+        this.readCoalescer = readCoalescer;
     }
 
     // ========= HELPERS =========
@@ -105,6 +136,11 @@ public class PerformanceController {
         String genre = str(body.get("genre"));
         if (isBlank(name))  return bad("Field 'name' is required");
         if (isBlank(genre)) return bad("Field 'genre' is required");
+        try {
+            genre = genreDictionary.intern(genre);
+        } catch (IllegalArgumentException ex) {
+            return bad(ex.getMessage());
+        }
 
         Duration dur = parseDuration(body);
         if (dur == null || dur.isZero() || dur.isNegative()){
@@ -127,7 +163,7 @@ public class PerformanceController {
         try{
             Performance p = new Performance();
             p.setName(name.trim());
-            p.setGenre(genre.trim());
+            p.setGenre(genre);
             p.setDescription(Optional.ofNullable(str(body.get("description"))).map(String::trim).filter(s->!s.isEmpty()).orElse(null));
             p.setDuration(dur);
             p.setFestival(festival);
@@ -138,6 +174,14 @@ public class PerformanceController {
             p.setCreatedAt(LocalDateTime.now());
 
             Performance saved = performanceRepo.save(p);
+            facetCounter.created(saved);
+            readCoalescer.performancesChanged();
+            // arxh tou istorikou (PerformanceHistoryService)
+            eventPublisher.publish(DomainEventPublisher.PERFORMANCE, saved.getId(), "PERFORMANCE_CREATED", Map.of(
+                    "performanceId", saved.getId(),
+                    "festivalId", festivalId,
+                    "status", saved.getStatus(),
+                    "fields", PerformanceHistoryService.fieldsOf(saved)));
             return ResponseEntity.created(URI.create("/api/performances/"+saved.getId())).body(saved);
 
         }catch (DataIntegrityViolationException dive){
@@ -161,33 +205,135 @@ public class PerformanceController {
         if (festivalId == null) return bad("Field 'festivalId' is required");
         return createForFestival(festivalId, body, authentication);
     }
+
+    // GET /api/performances/{id}/details -> provolh analoga me to rolo (visitor/artist/staff/organizer),
+    // anonymous = ena query me ta dhmosia pedia
+    // (ta GET trexoun sto DbExecutor mesw AsyncReads, to Tomcat thread den perimenei th vash)
+    @GetMapping("/{id}/details")
+    public DeferredResult<ResponseEntity<?>> details(@PathVariable Long id, Authentication authentication){
+        String username = username(authentication);
+        return asyncReads.call(() -> {
+            try {
+                return ResponseEntity.<PerformanceView>ok(performanceService.getPerformanceById(id, username));
+            } catch (NoSuchElementException ex) {
+                return ResponseEntity.notFound().build();
+            }
+        });
+    }
+
+    // GET /api/performances/{id}/history -> ola ta events tou performance me th seira.
+    // To istoriko exei review, staff kai ola ta pedia: mono organizer/staff tou festival (h admin)
+    @GetMapping("/{id}/history")
+    public DeferredResult<ResponseEntity<?>> history(@PathVariable Long id, Authentication authentication){
+        String username = username(authentication);
+        if (username == null) return AsyncReads.done(unauthorized());
+        return asyncReads.call(() -> historyAccess(id, username)
+                .orElseGet(() -> ResponseEntity.<List<PerformanceHistoryEntry>>ok(historyService.timeline(id))));
+    }
+
+    // GET /api/performances/{id}/history/as-of?at=2025-06-01T12:00:00 -> to state opws htan tote
+    @GetMapping("/{id}/history/as-of")
+    public DeferredResult<ResponseEntity<?>> historyAsOf(@PathVariable Long id,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+                                                        Authentication authentication){
+        String username = username(authentication);
+        if (username == null) return AsyncReads.done(unauthorized());
+        return asyncReads.call(() -> historyAccess(id, username)
+                .orElseGet(() -> historyService.stateAsOf(id, at)
+                        .<ResponseEntity<?>>map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build())));
+    }
+
+    // 404/403 an o user den vlepei to istoriko, empty = epitrepetai
+    private Optional<ResponseEntity<?>> historyAccess(Long id, String username) {
+        String role = performanceRepo.findViewerRole(id, username).orElse(null);
+        if (role == null) return Optional.of(ResponseEntity.notFound().build());
+        if (role.equals("ORGANIZER") || role.equals("STAFF")) return Optional.empty();
+        return Optional.of(ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", "Only the festival's organizers and staff can see the history")));
+    }
+
+    private static String username(Authentication authentication) {
+        return (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) ? null : authentication.getName();
+    }
+
+    private static ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "No auth"));
+    }
+
+    // PATCH /api/performances/{id}  { "setlist": { "add": ["So What"], "remove": ["Freddie"] }, "genre": "Jazz" }
+    // -> mono ta pedia pou stelnontai kai diaferoun grafontai (autosave tou artist UI)
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patch(@PathVariable Long id,
+                                   @RequestBody PerformancePatch patch,
+                                   Authentication authentication){
+        if (authentication == null || authentication.getName() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error","No auth"));
+        }
+        User artist = userRepo.findByUsername(authentication.getName()).orElse(null);
+        if (artist == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error","User not found"));
+        }
+        try {
+            return ResponseEntity.ok(performanceService.patchPerformance(id, patch, artist));
+        } catch (NoSuchElementException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
+        } catch (SecurityException ex) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ex.getMessage()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+            return bad(ex.getMessage());
+        }
+    }
+// GET /api/performances/search?name=&genre=Jazz&artist=artist1&festivalId=1&status=APPROVED&page=0&size=20
+// Dynamic query me mono ta filtra pou dothikan (festival+status, genre, artist me index)
+@GetMapping("/search")
+public DeferredResult<ResponseEntity<?>> search(
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) String genre,
+        @RequestParam(required = false) String artist,
+        @RequestParam(required = false) Long festivalId,
+        @RequestParam(required = false) String status,
+        @PageableDefault(size = 20, sort = "id") Pageable pageable
+){
+    PerformanceStatus st;
+    try {
+        st = isBlank(status) ? null : PerformanceStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+        return AsyncReads.done(bad("Unknown status: " + status));
+    }
+    return asyncReads.call(() -> ResponseEntity.ok(
+            performanceService.searchPerformances(name, genre, artist, festivalId, st, pageable, null)));
+}
+
+// GET /api/performances/facets?q=term  -> counts ana status/genre/festival (gia ta tabs, χωρίς COUNT(*) ανά tab)
+@GetMapping("/facets")
+public ResponseEntity<PerformanceFacets> facets(@RequestParam(required = false) String q) {
+    return ResponseEntity.ok(performanceService.getFacets(q));
+}
+
+// GET /api/performances/genres  -> to lexiko twn genres me counts (gia to dropdown tou search, xwris query)
+@GetMapping("/genres")
+public ResponseEntity<List<GenreCount>> genres() {
+    Map<String, Long> counts = facetCounter.snapshot().genre();
+    List<GenreCount> genres = genreDictionary.all().stream()
+            .map(g -> new GenreCount(g.id(), g.name(), counts.getOrDefault(g.name(), 0L)))
+            .toList();
+    return ResponseEntity.ok(genres);
+}
+
 // GET /api/performances  ?status=PENDING|SUBMITTED|APPROVED|ALL  &q=term  &page=0&size=20
 
 @GetMapping("/{status}")
-public ResponseEntity<Page<Performance>> listByPath(
+public DeferredResult<ResponseEntity<?>> listByPath(
         @PathVariable String status,
         @RequestParam(required = false) String q,
         @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
 ) {
     // ίδιο implementation με το list(...)
-    if ("ALL".equalsIgnoreCase(status)) {
-        Page<Performance> page = (q != null && !q.isBlank())
-                ? performanceRepo.searchByStatuses(Arrays.asList(PerformanceStatus.values()), q, pageable)
-                : performanceRepo.findAll(pageable);
-        return ResponseEntity.ok(page);
-    }
-    try {
-        PerformanceStatus st = PerformanceStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
-        Page<Performance> page = (q != null && !q.isBlank())
-                ? performanceRepo.searchByStatus(st, q, pageable)
-                : performanceRepo.findByStatusIn(List.of(st), pageable);
-        return ResponseEntity.ok(page);
-    } catch (IllegalArgumentException ex) {
-        Page<Performance> page = (q != null && !q.isBlank())
-                ? performanceRepo.searchByStatuses(Arrays.asList(PerformanceStatus.values()), q, pageable)
-                : performanceRepo.findAll(pageable);
-        return ResponseEntity.ok(page);
-    }
+    return coalescedPage(status, q, pageable);
 }
 
 @PostMapping(
@@ -231,35 +377,49 @@ public ResponseEntity<?> review(
     ));
 }
 @GetMapping
-public ResponseEntity<?> list(
+public DeferredResult<ResponseEntity<?>> list(
         @RequestParam(required = false, defaultValue = "ALL") String status,
         @RequestParam(required = false) String q,
         Pageable pageable
 ){
-    if ("ALL".equalsIgnoreCase(status)) {
-        Page<Performance> page = (q != null && !q.isBlank())
-                ? performanceRepo.searchByStatuses(Arrays.asList(PerformanceStatus.values()), q, pageable)
-                : performanceRepo.findAll(pageable);
-        return ResponseEntity.ok(page);
-    }
+    return coalescedPage(status, q, pageable);
+}
+
+// Ta dhmosia lists ta zhtane polloi mazi (p.x. molis anakoinwthei ena festival): idia requests
+// (status, q xwris kefalaia, selida, sort) moirazontai ena query kai ena serialization (ReadCoalescer)
+private DeferredResult<ResponseEntity<?>> coalescedPage(String status, String q, Pageable pageable) {
+    PerformanceStatus st = statusFilter(status);
+    String term = q == null ? "" : q.trim();
+    String key = ReadCoalescer.PERFORMANCES + (st == null ? "ALL" : st.name()) + ":" + term.toLowerCase(Locale.ROOT)
+            + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    return asyncReads.coalesced(key, () -> findPage(st, term, pageable));
+}
+
+// null = ola ta statuses ("ALL" h agnwsto status)
+private static PerformanceStatus statusFilter(String status) {
+    if (status == null || "ALL".equalsIgnoreCase(status.trim())) return null;
     try {
-        PerformanceStatus st = PerformanceStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
-        Page<Performance> page = (q != null && !q.isBlank())
-                ? performanceRepo.searchByStatus(st, q, pageable)
-                : performanceRepo.findByStatusIn(List.of(st), pageable);
-        return ResponseEntity.ok(page);
+        return PerformanceStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
     } catch (IllegalArgumentException ex) {
-        Page<Performance> page = (q != null && !q.isBlank())
-                ? performanceRepo.searchByStatuses(Arrays.asList(PerformanceStatus.values()), q, pageable)
-                : performanceRepo.findAll(pageable);
-        return ResponseEntity.ok(page);
+        return null;
+    }
+}
+
+private Page<Performance> findPage(PerformanceStatus status, String term, Pageable pageable) {
+    if (status == null) {
+        return term.isEmpty()
+                ? performanceRepo.findAll(pageable)
+                : performanceRepo.searchByStatuses(Arrays.asList(PerformanceStatus.values()), term, pageable);
     }
+    return term.isEmpty()
+            ? performanceRepo.findByStatusIn(List.of(status), pageable)
+            : performanceRepo.searchByStatus(status, term, pageable);
 }
 
 
     // ======= Παράδειγμα existing read endpoint =======
     @GetMapping("/approved")
-    public List<Performance> getApproved() {
-        return performanceService.getApprovedPerformances();
+    public DeferredResult<ResponseEntity<?>> getApproved() {
+        return asyncReads.coalesced(ReadCoalescer.PERFORMANCES + "approved", performanceService::getApprovedPerformances);
     }
 }
@@ -5,17 +5,18 @@ import com.example.festival_management.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserService userService;
+    private final AsyncReads asyncReads;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AsyncReads asyncReads) {
         this.userService = userService;
+        this.asyncReads = asyncReads;
     }
 
     // POST /api/users/register
@@ -25,29 +26,31 @@ public class UserController {
         return ResponseEntity.ok(createdUser);
     }
 
+    // Ta GET trexoun sto DbExecutor (AsyncReads), to Tomcat thread den perimenei th vash
+
     // GET /api/users/{username}
     @GetMapping("/{username}")
-    public ResponseEntity<User> getByUsername(@PathVariable String username) {
-        return userService.findByUsername(username)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public DeferredResult<ResponseEntity<?>> getByUsername(@PathVariable String username) {
+        return asyncReads.call(() -> userService.findByUsername(username)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build()));
     }
 
     // GET /api/users
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public DeferredResult<ResponseEntity<?>> getAllUsers() {
+        return asyncReads.call(() -> ResponseEntity.ok(userService.getAllUsers()));
     }
 
     // GET /api/users/exists/username/{username}
     @GetMapping("/exists/username/{username}")
-    public ResponseEntity<Boolean> usernameExists(@PathVariable String username) {
-        return ResponseEntity.ok(userService.usernameExists(username));
+    public DeferredResult<ResponseEntity<?>> usernameExists(@PathVariable String username) {
+        return asyncReads.call(() -> ResponseEntity.ok(userService.usernameExists(username)));
     }
 
     // GET /api/users/exists/email/{email}
     @GetMapping("/exists/email/{email}")
-    public ResponseEntity<Boolean> emailExists(@PathVariable String email) {
-        return ResponseEntity.ok(userService.emailExists(email));
+    public DeferredResult<ResponseEntity<?>> emailExists(@PathVariable String email) {
+        return asyncReads.call(() -> ResponseEntity.ok(userService.emailExists(email)));
     }
 }
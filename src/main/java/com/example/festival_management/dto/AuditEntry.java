@@ -0,0 +1,14 @@
+package com.example.festival_management.dto;
+
+import java.time.Instant;
+
+// Mia eggrafh tou audit log: poios (actor) ekane ti (action) se poio entity, me poio reason
+public record AuditEntry(
+        Instant at,
+        String actor,
+        String entityType,
+        Long entityId,
+        Long festivalId,
+        String action,
+        String reason
+) {}
@@ -0,0 +1,6 @@
+package com.example.festival_management.dto;
+
+import java.time.LocalDate;
+
+// Ena festival sto calendar (apo to in-memory FestivalCalendarIndex)
+public record CalendarEntry(Long id, String name, String venue, LocalDate startDate, LocalDate endDate) {}
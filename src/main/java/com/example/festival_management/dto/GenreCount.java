@@ -0,0 +1,4 @@
+package com.example.festival_management.dto;
+
+// Ena genre tou lexikou me to plhthos twn performances tou (apo tous in-memory facet counters)
+public record GenreCount(Integer id, String name, long performances) {}
@@ -0,0 +1,21 @@
+package com.example.festival_management.dto;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+// To dhmosio line-up enos ANNOUNCED festival (to periexomeno tou LineupSnapshotService)
+public record Lineup(
+        Long festivalId,
+        String name,
+        String venue,
+        LocalDate startDate,
+        LocalDate endDate,
+        List<Act> performances
+) {
+    // Mia ACCEPTED performance, mono ta dhmosia pedia
+    public record Act(Long id, String name, String genre, Duration duration, String mainArtist,
+                      Set<LocalDateTime> performanceSlots) {}
+}
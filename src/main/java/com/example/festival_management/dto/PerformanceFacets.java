@@ -0,0 +1,36 @@
+package com.example.festival_management.dto;
+
+import com.example.festival_management.entity.enums.PerformanceStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Facet counts gia tis performances: ana status, genre kai festival (ola apo ena pass)
+public record PerformanceFacets(
+        long total,
+        Map<PerformanceStatus, Long> status,
+        Map<String, Long> genre,
+        Map<Long, Long> festival
+) {
+    // Ena "cell" tou grouped count: (status, genre, festivalId) -> count
+    public record Cell(PerformanceStatus status, String genre, Long festivalId) {}
+
+    public static PerformanceFacets from(Map<Cell, Long> counts) {
+        long total = 0;
+        Map<PerformanceStatus, Long> byStatus = new EnumMap<>(PerformanceStatus.class);
+        Map<String, Long> byGenre = new TreeMap<>();
+        Map<Long, Long> byFestival = new TreeMap<>();
+
+        for (Map.Entry<Cell, Long> e : counts.entrySet()) {
+            long n = e.getValue() == null ? 0 : e.getValue();
+            if (n <= 0) continue;
+            Cell c = e.getKey();
+            total += n;
+            if (c.status() != null) byStatus.merge(c.status(), n, Long::sum);
+            if (c.genre() != null) byGenre.merge(c.genre(), n, Long::sum);
+            if (c.festivalId() != null) byFestival.merge(c.festivalId(), n, Long::sum);
+        }
+        return new PerformanceFacets(total, byStatus, byGenre, byFestival);
+    }
+}
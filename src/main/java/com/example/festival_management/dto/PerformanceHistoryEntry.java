@@ -0,0 +1,11 @@
+package com.example.festival_management.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Ena vhma sto timeline enos performance: ti event egine kai ti allakse
+public record PerformanceHistoryEntry(
+        LocalDateTime at,
+        String type,
+        Map<String, Object> changes
+) {}
@@ -0,0 +1,26 @@
+package com.example.festival_management.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// PATCH body gia performance: null = to pedio den allazei.
+// Ta sets dexontai eite plhrh antikatastash (replace) eite delta (add/remove).
+public record PerformancePatch(
+        String name,
+        String description,
+        String genre,
+        Duration duration,
+        SetPatch<String> technicalRequirements,
+        SetPatch<String> merchandiseItems,
+        SetPatch<String> setlist,
+        SetPatch<LocalDateTime> preferredRehearsalTimes,
+        SetPatch<LocalDateTime> preferredPerformanceSlots
+) {
+    public record SetPatch<T>(Set<T> replace, Set<T> add, Set<T> remove) {
+
+        public static <T> SetPatch<T> replaceWith(Set<T> values) {
+            return new SetPatch<>(values, null, null);
+        }
+    }
+}
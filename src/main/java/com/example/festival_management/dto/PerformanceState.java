@@ -0,0 +1,14 @@
+package com.example.festival_management.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// To state enos performance opws htan se mia stigmh (fold tou istorikou).
+// version = plithos events mexri tote, replayedEvents = posa efarmostikan panw sto snapshot.
+public record PerformanceState(
+        Long performanceId,
+        LocalDateTime asOf,
+        long version,
+        int replayedEvents,
+        Map<String, Object> state
+) {}
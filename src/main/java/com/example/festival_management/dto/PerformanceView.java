@@ -0,0 +1,53 @@
+package com.example.festival_management.dto;
+
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Ti vlepei kathe rolos apo ena performance. Kathe record gemizei apo ena query
+// (select new ...) me mono tis sthles tou rolou, xwris na fortwthei to entity.
+// Sto JSON to pedio "view" leei poia provolh epistrafike.
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "view")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = PerformanceView.Visitor.class, name = "VISITOR"),
+        @JsonSubTypes.Type(value = PerformanceView.Artist.class, name = "ARTIST"),
+        @JsonSubTypes.Type(value = PerformanceView.Staff.class, name = "STAFF"),
+        @JsonSubTypes.Type(value = PerformanceView.Organizer.class, name = "ORGANIZER")
+})
+public sealed interface PerformanceView {
+
+    Long id();
+
+    // Dhmosia stoixeia (anonymous kinhsh)
+    record Visitor(Long id, String name, String description, String genre, Duration duration,
+                   PerformanceStatus status, Long festivalId, String festivalName,
+                   String mainArtist) implements PerformanceView {}
+
+    // O main artist h band member: h dikh tou aithsh, xwris to review
+    record Artist(Long id, String name, String description, String genre, Duration duration,
+                  PerformanceStatus status, Long festivalId, String festivalName,
+                  String mainArtist, LocalDateTime createdAt,
+                  Set<String> technicalRequirements, Set<String> merchandiseItems, Set<String> setlist,
+                  Set<LocalDateTime> preferredRehearsalTimes, Set<LocalDateTime> preferredPerformanceSlots,
+                  String assignedStaff) implements PerformanceView {}
+
+    // Staff tou festival: ta texnika + to review pou grafei, oxi to merchandise
+    record Staff(Long id, String name, String description, String genre, Duration duration,
+                 PerformanceStatus status, Long festivalId, String festivalName,
+                 String mainArtist, Set<String> technicalRequirements, Set<String> setlist,
+                 Set<LocalDateTime> preferredRehearsalTimes, Set<LocalDateTime> preferredPerformanceSlots,
+                 String assignedStaff, Integer reviewScore, String reviewComments) implements PerformanceView {}
+
+    // Organizer tou festival (h admin): ola
+    record Organizer(Long id, String name, String description, String genre, Duration duration,
+                     PerformanceStatus status, Long festivalId, String festivalName,
+                     String mainArtist, LocalDateTime createdAt,
+                     Set<String> technicalRequirements, Set<String> merchandiseItems, Set<String> setlist,
+                     Set<LocalDateTime> preferredRehearsalTimes, Set<LocalDateTime> preferredPerformanceSlots,
+                     String assignedStaff, Integer reviewScore, String reviewComments, String reviewer,
+                     long version) implements PerformanceView {}
+}
@@ -1,16 +1,25 @@
 package com.example.festival_management.entity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.example.festival_management.entity.enums.FestivalState;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 // Entity mapping for Festival table with all properties
 @Entity
-@Table(name = "festivals")
+@Table(name = "festivals",
+        indexes = {
+                @Index(name = "idx_festivals_state_start", columnList = "state, start_date"),
+                @Index(name = "idx_festivals_dates", columnList = "start_date, end_date")
+        })
 public class Festival {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "festivalSeq")
+    @SequenceGenerator(name = "festivalSeq", sequenceName = "festivals_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -35,6 +44,16 @@ public class Festival {
     @Column
     private LocalDate endDate;
 
+    // Deadline gia kathe phase: pote to festival fevgei automata apo auto to state.
+    // LAZY kai ektos JSON: fortwnetai rhta (findWithDeadlinesById) mono ekei pou xreiazetai.
+    @JsonIgnore
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "festival_phase_deadlines", joinColumns = @JoinColumn(name = "festival_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "state")
+    @Column(name = "deadline", nullable = false)
+    private Map<FestivalState, LocalDateTime> phaseDeadlines = new HashMap<>();
+
     public Festival() {}
 
     // ---------- Getters / Setters ----------
@@ -61,4 +80,7 @@ public class Festival {
 
     public LocalDate getEndDate() { return endDate; }
     public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Map<FestivalState, LocalDateTime> getPhaseDeadlines() { return phaseDeadlines; }
+    public void setPhaseDeadlines(Map<FestivalState, LocalDateTime> phaseDeadlines) { this.phaseDeadlines = phaseDeadlines; }
 }
@@ -0,0 +1,34 @@
+package com.example.festival_management.entity;
+
+import jakarta.persistence.*;
+
+// Lexiko genres: kathe genre apothikeuetai mia fora kai ta performances kratane mono to id tou.
+// normalizedName = to kleidi ths anazhthshs ("Hip-Hop", "hip hop " -> "hip hop").
+@Entity
+@Table(name = "genres")
+public class Genre {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "genreSeq")
+    @SequenceGenerator(name = "genreSeq", sequenceName = "genres_seq", allocationSize = 1)
+    private Integer id;
+
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false, unique = true, length = 64)
+    private String normalizedName;
+
+    public Genre() {}
+
+    public Genre(String name, String normalizedName) {
+        this.name = name;
+        this.normalizedName = normalizedName;
+    }
+
+    public Integer getId() { return id; }
+
+    public String getName() { return name; }
+
+    public String getNormalizedName() { return normalizedName; }
+}
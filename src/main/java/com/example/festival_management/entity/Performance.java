@@ -7,14 +7,27 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.util.GenreIdConverter;
+import com.example.festival_management.util.LocalDateTimeSetConverter;
+import com.example.festival_management.util.SetMutabilityPlan;
+import com.example.festival_management.util.StringSetConverter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Mutability;
 // Entity mapping for Performance table with all fields
 @Entity
+@DynamicUpdate // ta autosaves allazoun 1-2 pedia: to UPDATE grafei mono autes tis sthles
 @Table(name = "performances",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "festival_id"})})
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "festival_id"})},
+        indexes = {
+                @Index(name = "idx_performances_festival_status", columnList = "festival_id, status"),
+                @Index(name = "idx_performances_genre_id", columnList = "genre_id"),
+                @Index(name = "idx_performances_main_artist", columnList = "main_artist_id")
+        })
 public class Performance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performanceSeq")
+    @SequenceGenerator(name = "performanceSeq", sequenceName = "performances_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -22,9 +35,15 @@ public class Performance {
 
     private String description;
 
-    @Column(nullable = false)
+    // Sth vash mono to id tou genre (pinakas genres)· sto API paramenei to onoma tou genre
+    @Convert(converter = GenreIdConverter.class)
+    @Column(name = "genre_id")
     private String genre;
 
+    // Idia sthlh, read-only: gia filtra/joins panw sto id xwris metatroph
+    @Column(name = "genre_id", insertable = false, updatable = false)
+    private Integer genreId;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -40,29 +59,30 @@ public class Performance {
 
     
     // Collections for performance requirements
-    @ElementCollection
-    @CollectionTable(name = "performance_technical_requirements", joinColumns = @JoinColumn(name = "performance_id"))
-    @Column(name = "requirement")
+    // Apothikeuontai se mia sthlh kathe set (JSON array) anti gia ksexwristous pinakes
+    @Convert(converter = StringSetConverter.class)
+    @Mutability(SetMutabilityPlan.class)
+    @Column(name = "technical_requirements", length = 8000)
     private Set<String> technicalRequirements = new HashSet<>();
 
-    @ElementCollection
-    @CollectionTable(name = "performance_merchandise", joinColumns = @JoinColumn(name = "performance_id"))
-    @Column(name = "item")
+    @Convert(converter = StringSetConverter.class)
+    @Mutability(SetMutabilityPlan.class)
+    @Column(name = "merchandise_items", length = 8000)
     private Set<String> merchandiseItems = new HashSet<>();
 
-    @ElementCollection
-    @CollectionTable(name = "performance_setlist", joinColumns = @JoinColumn(name = "performance_id"))
-    @Column(name = "song")
+    @Convert(converter = StringSetConverter.class)
+    @Mutability(SetMutabilityPlan.class)
+    @Column(name = "setlist", length = 8000)
     private Set<String> setlist = new HashSet<>();
 
-    @ElementCollection
-    @CollectionTable(name = "performance_rehearsal_slots", joinColumns = @JoinColumn(name = "performance_id"))
-    @Column(name = "rehearsal_time")
+    @Convert(converter = LocalDateTimeSetConverter.class)
+    @Mutability(SetMutabilityPlan.class)
+    @Column(name = "rehearsal_times", length = 2000)
     private Set<LocalDateTime> preferredRehearsalTimes = new HashSet<>();
 
-    @ElementCollection
-    @CollectionTable(name = "performance_time_slots", joinColumns = @JoinColumn(name = "performance_id"))
-    @Column(name = "performance_time")
+    @Convert(converter = LocalDateTimeSetConverter.class)
+    @Mutability(SetMutabilityPlan.class)
+    @Column(name = "performance_slots", length = 2000)
     private Set<LocalDateTime> preferredPerformanceSlots = new HashSet<>();
 
     @ManyToOne
@@ -88,6 +108,11 @@ public class Performance {
     @JoinColumn(name = "assigned_staff_id")
     private User assignedStaff;
 
+    // Optimistic locking: ταυτόχρονα transitions στο ίδιο performance -> 409 αντί για lost update
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     public Performance() {}
 
     // -------- Getters / Setters --------
@@ -141,4 +166,6 @@ public class Performance {
 
     public User getAssignedStaff() { return assignedStaff; }
     public void setAssignedStaff(User assignedStaff) { this.assignedStaff = assignedStaff; }
+
+    public long getVersion() { return version; }
 }
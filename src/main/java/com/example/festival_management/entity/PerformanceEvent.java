@@ -0,0 +1,63 @@
+package com.example.festival_management.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Event-sourced istoriko enos performance: kathe grammh einai oi allages pou eferan ena domain event
+// (JSON map pedio -> nea timh). To state se mia stigmh = fold twn allagwn mexri tote.
+// Grafetai apo ton PerformanceHistoryService (outbox handler), ektos tou request.
+@Entity
+@Table(name = "performance_events",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"outbox_event_id", "performance_id"})},
+        indexes = {@Index(name = "idx_performance_events_timeline", columnList = "performance_id, occurred_at, id")})
+public class PerformanceEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performanceEventSeq")
+    @SequenceGenerator(name = "performanceEventSeq", sequenceName = "performance_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "performance_id", nullable = false)
+    private Long performanceId;
+
+    // To outbox event apo to opoio prohlthe (idempotency: to outbox einai at-least-once)
+    @Column(name = "outbox_event_id", nullable = false)
+    private Long outboxEventId;
+
+    @Column(name = "event_type", nullable = false, length = 80)
+    private String eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String changes;
+
+    public PerformanceEvent() {}
+
+    public PerformanceEvent(Long performanceId, Long outboxEventId, String eventType, LocalDateTime occurredAt, String changes) {
+        this.performanceId = performanceId;
+        this.outboxEventId = outboxEventId;
+        this.eventType = eventType;
+        this.occurredAt = occurredAt;
+        this.changes = changes;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPerformanceId() { return performanceId; }
+    public void setPerformanceId(Long performanceId) { this.performanceId = performanceId; }
+
+    public Long getOutboxEventId() { return outboxEventId; }
+    public void setOutboxEventId(Long outboxEventId) { this.outboxEventId = outboxEventId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public String getChanges() { return changes; }
+    public void setChanges(String changes) { this.changes = changes; }
+}
@@ -0,0 +1,62 @@
+package com.example.festival_management.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Periodiko snapshot tou fold twn PerformanceEvent: h anakataskevh enos palioterou state
+// ksekinaei apo to teleutaio snapshot prin apo th zhtoumenh stigmh kai kanei replay
+// to poly performance.history.snapshot-every events.
+@Entity
+@Table(name = "performance_snapshots",
+        indexes = {@Index(name = "idx_performance_snapshots_lookup", columnList = "performance_id, occurred_at")})
+public class PerformanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performanceSnapshotSeq")
+    @SequenceGenerator(name = "performanceSnapshotSeq", sequenceName = "performance_snapshots_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "performance_id", nullable = false)
+    private Long performanceId;
+
+    // To teleutaio event pou periexetai (occurred_at, id)
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String state;
+
+    public PerformanceSnapshot() {}
+
+    public PerformanceSnapshot(Long performanceId, Long lastEventId, LocalDateTime occurredAt, long eventCount, String state) {
+        this.performanceId = performanceId;
+        this.lastEventId = lastEventId;
+        this.occurredAt = occurredAt;
+        this.eventCount = eventCount;
+        this.state = state;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPerformanceId() { return performanceId; }
+    public void setPerformanceId(Long performanceId) { this.performanceId = performanceId; }
+
+    public Long getLastEventId() { return lastEventId; }
+    public void setLastEventId(Long lastEventId) { this.lastEventId = lastEventId; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public long getEventCount() { return eventCount; }
+    public void setEventCount(long eventCount) { this.eventCount = eventCount; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+}
@@ -0,0 +1,74 @@
+package com.example.festival_management.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Refresh token (apothikeuetai mono to SHA-256 hash). Kathe refresh to "katanalwnei" (usedAt)
+// kai vgazei neo sthn idia family. Ksanaxrhsh enos hdh used token = klopi: akyrwnetai olh h family.
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_username", columnList = "username")
+        })
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refreshTokenSeq")
+    @SequenceGenerator(name = "refreshTokenSeq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    // To access token pou vghke mazi (gia na akyrwthei an akyrwthei h family)
+    @Column(name = "access_jti", length = 64)
+    private String accessJti;
+
+    @Column(name = "access_expires_at")
+    private Instant accessExpiresAt;
+
+    public RefreshToken() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Instant getUsedAt() { return usedAt; }
+    public void setUsedAt(Instant usedAt) { this.usedAt = usedAt; }
+
+    public boolean isRevoked() { return revoked; }
+    public void setRevoked(boolean revoked) { this.revoked = revoked; }
+
+    public String getAccessJti() { return accessJti; }
+    public void setAccessJti(String accessJti) { this.accessJti = accessJti; }
+
+    public Instant getAccessExpiresAt() { return accessExpiresAt; }
+    public void setAccessExpiresAt(Instant accessExpiresAt) { this.accessExpiresAt = accessExpiresAt; }
+}
@@ -3,9 +3,14 @@ package com.example.festival_management.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "reviews")
+// Onomasmeno unique: to reviewPerformance ksanadokimazei mono se paraviasi autou tou constraint
+@Table(name = "reviews",
+       uniqueConstraints = @UniqueConstraint(name = Review.UNIQUE_PERFORMANCE, columnNames = "performance_id"))
 public class Review {
 
+    public static final String UNIQUE_PERFORMANCE = "uk_reviews_performance";
+
+    // Menei IDENTITY: to upsert (MERGE) tou ReviewRepository kanei insert xwris id
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,7 +26,7 @@ public class Review {
     private User reviewer;
 
     @OneToOne
-    @JoinColumn(name = "performance_id", unique = true)
+    @JoinColumn(name = "performance_id")
     private Performance performance;
 
     public Review() {}
@@ -0,0 +1,40 @@
+package com.example.festival_management.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// Access token (jti) pou akyrwthike prin th lhksh tou (logout, reuse refresh token, revoke sessions).
+// Meta to expiresAt to token aporriptetai etsi kai alliws, ara h grammh svinetai.
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = {@Index(name = "idx_revoked_tokens_expires", columnList = "expires_at"),
+                @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")})
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.revokedAt = Instant.now();
+    }
+
+    public String getJti() { return jti; }
+    public void setJti(String jti) { this.jti = jti; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Instant getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(Instant revokedAt) { this.revokedAt = revokedAt; }
+}
@@ -17,7 +17,8 @@ import java.util.Objects;
 public class RoleAssignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roleAssignmentSeq")
+    @SequenceGenerator(name = "roleAssignmentSeq", sequenceName = "role_assignments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
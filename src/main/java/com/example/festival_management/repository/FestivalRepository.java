@@ -1,17 +1,21 @@
 package com.example.festival_management.repository;
 
+import com.example.festival_management.dto.CalendarEntry;
 import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.enums.FestivalState;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 // Repository gia Festival entities (CRUD + custom queries)
 
-public interface FestivalRepository extends JpaRepository<Festival, Long> {
+public interface FestivalRepository extends JpaRepository<Festival, Long>, JpaSpecificationExecutor<Festival> {
 
     @Query(
         value = """
@@ -50,4 +54,35 @@ public interface FestivalRepository extends JpaRepository<Festival, Long> {
 
     @Query("SELECT f.id AS id, f.name AS name FROM Festival f ORDER BY f.name ASC")
     List<Option> options();
+
+    // Festivals me hmeromhnies gia to FestivalCalendarIndex, kata start_date (idx_festivals_dates)
+    @Query("""
+            SELECT new com.example.festival_management.dto.CalendarEntry(f.id, f.name, f.venue, f.startDate, f.endDate)
+            FROM Festival f
+            WHERE f.startDate IS NOT NULL AND f.endDate IS NOT NULL
+            ORDER BY f.startDate, f.id
+            """)
+    List<CalendarEntry> calendarEntries();
+
+    // Μόνο το state (για το cache του FestivalCommandProcessor)
+    @Query("SELECT f.state FROM Festival f WHERE f.id = :id")
+    Optional<FestivalState> findStateById(@Param("id") Long id);
+
+    // Festival mazi me ta phase deadlines (LAZY collection) se ena query
+    @Query("SELECT f FROM Festival f LEFT JOIN FETCH f.phaseDeadlines WHERE f.id = :id")
+    Optional<Festival> findWithDeadlinesById(@Param("id") Long id);
+
+    // Deadline tou trexontos state ana festival (gia to rebuild tou FestivalDeadlineScheduler)
+    interface PendingDeadline {
+        Long getFestivalId();
+        FestivalState getState();
+        LocalDateTime getDeadline();
+    }
+
+    @Query("""
+            SELECT f.id AS festivalId, f.state AS state, VALUE(d) AS deadline
+            FROM Festival f JOIN f.phaseDeadlines d
+            WHERE KEY(d) = f.state
+            """)
+    List<PendingDeadline> pendingDeadlines();
 }
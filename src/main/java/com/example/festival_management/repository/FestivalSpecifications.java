@@ -0,0 +1,53 @@
+package com.example.festival_management.repository;
+
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.enums.FestivalState;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Filtra gia to search twn festivals. Kathe methodos epistrefei null an to filtro den dothike,
+// opote to Specification.where(..).and(..) ta syndyazei xwris if/else ston caller.
+// state kai hmeromhnies xtypane sta idx_festivals_state_start / idx_festivals_dates.
+public final class FestivalSpecifications {
+
+    private FestivalSpecifications() {}
+
+    public static Specification<Festival> nameContains(String name) {
+        return contains("name", name);
+    }
+
+    public static Specification<Festival> descriptionContains(String description) {
+        return contains("description", description);
+    }
+
+    public static Specification<Festival> venueContains(String venue) {
+        return contains("venue", venue);
+    }
+
+    public static Specification<Festival> inState(FestivalState state) {
+        return state == null ? null : (root, query, cb) -> cb.equal(root.get("state"), state);
+    }
+
+    // Festivals pou trexoun estw kai mia mera mesa sto [from, to]
+    public static Specification<Festival> overlaps(LocalDate from, LocalDate to) {
+        if (from == null && to == null) return null;
+        return (root, query, cb) -> {
+            if (from == null) return cb.lessThanOrEqualTo(root.get("startDate"), to);
+            if (to == null) return cb.greaterThanOrEqualTo(root.get("endDate"), from);
+            return cb.and(cb.lessThanOrEqualTo(root.get("startDate"), to),
+                          cb.greaterThanOrEqualTo(root.get("endDate"), from));
+        };
+    }
+
+    static <T> Specification<T> contains(String attribute, String value) {
+        if (value == null || value.isBlank()) return null;
+        String pattern = "%" + escapeLike(value.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, '\\');
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.festival_management.repository;
+
+import com.example.festival_management.entity.Genre;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+// Repository gia to lexiko genres (oi anazhthseis ginontai apo to in-memory GenreDictionary)
+
+@Repository
+public interface GenreRepository extends JpaRepository<Genre, Integer> {
+
+    Optional<Genre> findByNormalizedName(String normalizedName);
+}
@@ -0,0 +1,102 @@
+package com.example.festival_management.repository;
+
+import com.example.festival_management.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+// Repository gia to outbox (poll se batches + mark processed/failed)
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Diathesima events, me th seira. Ena event den epistrefetai oso ena palaiotero event tou idiou
+    // aggregate den einai diathesimo (perimenei retry, exei eksantlhsei tis prospatheies h to exei allos komvos).
+    @Query("""
+        select e from OutboxEvent e
+        where e.processedAt is null
+          and e.attempts < :maxAttempts
+          and (e.nextAttemptAt is null or e.nextAttemptAt <= :now)
+          and (e.claimedUntil is null or e.claimedUntil < :now)
+          and not exists (
+              select o.id from OutboxEvent o
+              where o.aggregateType = e.aggregateType and o.aggregateId = e.aggregateId
+                and o.id < e.id and o.processedAt is null
+                and (o.attempts >= :maxAttempts or o.nextAttemptAt > :now or o.claimedUntil >= :now))
+        order by e.id
+    """)
+    List<OutboxEvent> findPending(@Param("now") LocalDateTime now,
+                                  @Param("maxAttempts") int maxAttempts,
+                                  Pageable pageable);
+
+    // Claim mono osa den exei parei allos komvos sto metaksy
+    @Transactional
+    @Modifying
+    @Query("""
+        update OutboxEvent e set e.claimedBy = :token, e.claimedUntil = :until
+        where e.id in :ids and e.processedAt is null
+          and (e.claimedUntil is null or e.claimedUntil < :now)
+    """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    // Ta events tou claim, ektos osa exoun palaiotero event tou aggregate pou den anhkei sto claim
+    @Query("""
+        select e from OutboxEvent e
+        where e.claimedBy = :token and e.processedAt is null
+          and not exists (
+              select o.id from OutboxEvent o
+              where o.aggregateType = e.aggregateType and o.aggregateId = e.aggregateId
+                and o.id < e.id and o.processedAt is null
+                and (o.claimedBy is null or o.claimedBy <> :token))
+        order by e.id
+    """)
+    List<OutboxEvent> findClaimed(@Param("token") String token);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedBy = null, e.claimedUntil = null where e.id in :ids and e.claimedBy = :token")
+    int release(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.processedAt = :now, e.claimedBy = null, e.claimedUntil = null where e.id in :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update OutboxEvent e
+        set e.attempts = e.attempts + 1, e.nextAttemptAt = :next, e.lastError = :error,
+            e.claimedBy = null, e.claimedUntil = null
+        where e.id = :id
+    """)
+    int markFailed(@Param("id") Long id, @Param("next") LocalDateTime next, @Param("error") String error);
+
+    // Events pou perimenoun ena prohgoumeno (apotyxhmeno) event tou idiou aggregate
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.nextAttemptAt = :next, e.claimedBy = null, e.claimedUntil = null where e.id in :ids")
+    int deferUntil(@Param("ids") Collection<Long> ids, @Param("next") LocalDateTime next);
+
+    // Events pou eksantlhsan tis prospatheies: krataun piso to aggregate tous mexri retry
+    @Query("select e from OutboxEvent e where e.processedAt is null and e.attempts >= :maxAttempts order by e.id")
+    List<OutboxEvent> findExhausted(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = 0, e.nextAttemptAt = null where e.id = :id and e.processedAt is null")
+    int resetAttempts(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.processedAt is not null and e.processedAt < :before")
+    int purgeProcessed(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,39 @@
+package com.example.festival_management.repository;
+
+import com.example.festival_management.entity.PerformanceEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+// Repository gia to istoriko twn performances (timeline kai replay meta apo snapshot)
+
+@Repository
+public interface PerformanceEventRepository extends JpaRepository<PerformanceEvent, Long> {
+
+    boolean existsByOutboxEventIdAndPerformanceId(Long outboxEventId, Long performanceId);
+
+    List<PerformanceEvent> findByPerformanceIdOrderByOccurredAtAscIdAsc(Long performanceId);
+
+    @Query("""
+        select e from PerformanceEvent e
+        where e.performanceId = :performanceId and e.occurredAt <= :at
+        order by e.occurredAt, e.id
+    """)
+    List<PerformanceEvent> findUpTo(@Param("performanceId") Long performanceId,
+                                    @Param("at") LocalDateTime at);
+
+    // Ta events meta apo ena snapshot (occurredAt, lastEventId) kai mexri th stigmh at
+    @Query("""
+        select e from PerformanceEvent e
+        where e.performanceId = :performanceId and e.occurredAt <= :at
+          and (e.occurredAt > :from or (e.occurredAt = :from and e.id > :afterId))
+        order by e.occurredAt, e.id
+    """)
+    List<PerformanceEvent> findBetween(@Param("performanceId") Long performanceId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("afterId") Long afterId,
+                                       @Param("at") LocalDateTime at);
+}
@@ -1,12 +1,16 @@
 // src/main/java/com/example/festival_management/repository/PerformanceRepository.java
 package com.example.festival_management.repository;
 
+import com.example.festival_management.dto.Lineup;
+import com.example.festival_management.dto.PerformanceView;
 import com.example.festival_management.entity.Festival;
 import com.example.festival_management.entity.Performance;
 import com.example.festival_management.entity.enums.PerformanceStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import java.util.Collection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,7 +26,7 @@ import java.util.Optional;
 import java.util.List;
 import java.util.Optional;
 // Repository gia Festival entities (CRUD + custom queries)
-public interface PerformanceRepository extends JpaRepository<Performance, Long> {
+public interface PerformanceRepository extends JpaRepository<Performance, Long>, JpaSpecificationExecutor<Performance> {
 
     // ΥΠΑΡΧΟΝΤΑ πεδία στο entity: name, festival, status
     boolean existsByNameAndFestival(String name, Festival festival);
@@ -30,12 +34,45 @@ public interface PerformanceRepository extends JpaRepository<Performance, Long>
     // Για λίστα ανά festivalId (χρησιμοποιείται από controller)
     Page<Performance> findByFestivalId(Long festivalId, Pageable pageable);
 
-    // (προαιρετικό) αναζήτηση στο genre – υπάρχει στο schema
-    Page<Performance> findByGenreContainingIgnoreCase(String q, Pageable pageable);
+    // Αναζήτηση ανά genre: τα ids έρχονται από το GenreDictionary (in-memory), το filter πάει στο idx_performances_genre_id
+    Page<Performance> findByGenreIdIn(Collection<Integer> genreIds, Pageable pageable);
 
     // Για autoRejectUnsubmittedPerformances(...)
     List<Performance> findByFestivalAndStatus(Festival festival, PerformanceStatus status);
 
+    // Μόνο το festival id (για δρομολόγηση στο shard του festival, χωρίς φόρτωμα του entity)
+    @Query("select p.festival.id from Performance p where p.id = :id")
+    Optional<Long> findFestivalIdById(@Param("id") Long id);
+
+    // Bulk transitions σε chunks (keyset στο id) για τα phase hooks του FestivalStateMachine
+    long countByFestivalIdAndStatus(Long festivalId, PerformanceStatus status);
+
+    interface IdGenre {
+        Long getId();
+        String getGenre();
+        String getArtist();
+    }
+
+    @Query("""
+      select p.id as id, p.genre as genre, a.username as artist from Performance p
+      left join p.mainArtist a
+      where p.festival.id = :festivalId and p.status = :status and p.id > :afterId
+      order by p.id
+    """)
+    List<IdGenre> findTransitionChunk(@Param("festivalId") Long festivalId,
+                                      @Param("status") PerformanceStatus status,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+      update Performance p set p.status = :to, p.version = p.version + 1
+      where p.id in :ids and p.status = :from
+    """)
+    int bulkTransition(@Param("ids") Collection<Long> ids,
+                       @Param("from") PerformanceStatus from,
+                       @Param("to") PerformanceStatus to);
+
     // Για getApprovedPerformances()
     List<Performance> findByStatus(PerformanceStatus status);
 
@@ -58,7 +95,7 @@ Page<Performance> findByStatusIn(@Param("statuses") Collection<PerformanceStatus
         and (
           :term is null or :term = '' or
           lower(p.name) like lower(concat('%', :term, '%')) or
-          lower(coalesce(p.genre,'')) like lower(concat('%', :term, '%')) or
+          p.genreId in (select g.id from Genre g where g.normalizedName like lower(concat('%', :term, '%'))) or
           lower(coalesce(f.name,'')) like lower(concat('%', :term, '%')) or
           lower(coalesce(a.username,'')) like lower(concat('%', :term, '%'))
         )
@@ -80,7 +117,7 @@ Page<Performance> searchByStatuses(@Param("statuses") Collection<PerformanceStat
         and (
           :term is null or :term = '' or
           lower(p.name) like lower(concat('%', :term, '%')) or
-          lower(coalesce(p.genre,'')) like lower(concat('%', :term, '%')) or
+          p.genreId in (select g.id from Genre g where g.normalizedName like lower(concat('%', :term, '%'))) or
           lower(coalesce(f.name,'')) like lower(concat('%', :term, '%')) or
           lower(coalesce(a.username,'')) like lower(concat('%', :term, '%'))
         )
@@ -91,6 +128,115 @@ Page<Performance> searchByStatuses(@Param("statuses") Collection<PerformanceStat
         Pageable pageable
     );
 
+    // 5) Facets: counts ana (status, genre, festival) σε ένα grouped query
+    interface FacetRow {
+        PerformanceStatus getStatus();
+        String getGenre();
+        Long getFestivalId();
+        Long getCnt();
+    }
+
+    @Query("""
+      select p.status as status, p.genre as genre, f.id as festivalId, count(p) as cnt
+      from Performance p
+      left join p.festival f
+      left join p.mainArtist a
+      where (
+          :term is null or :term = '' or
+          lower(p.name) like lower(concat('%', :term, '%')) or
+          p.genreId in (select g.id from Genre g where g.normalizedName like lower(concat('%', :term, '%'))) or
+          lower(coalesce(f.name,'')) like lower(concat('%', :term, '%')) or
+          lower(coalesce(a.username,'')) like lower(concat('%', :term, '%'))
+        )
+      group by p.status, p.genre, f.id
+    """)
+    List<FacetRow> facetCounts(@Param("term") String term);
+
+    // Line-up snapshot: oi ACCEPTED performances enos festival, mono oi dhmosies sthles
+    @Query("""
+      select new com.example.festival_management.dto.Lineup$Act(
+        p.id, p.name, p.genre, p.duration, a.username, p.preferredPerformanceSlots)
+      from Performance p
+      left join p.mainArtist a
+      where p.festival.id = :festivalId and p.status = :status
+    """)
+    List<Lineup.Act> findLineup(@Param("festivalId") Long festivalId, @Param("status") PerformanceStatus status);
+
+    // 6) Role-based provoles gia to details: prwta poios rolos vlepei (ena query, mono gia authenticated),
+    // meta ena query ana rolo me mono tis sthles tou (ta sets einai JSON sthles, xwris collection joins)
+    @Query("""
+      select case
+        when exists (select 1 from RoleAssignment ra where ra.user.username = :username
+               and (ra.role = com.example.festival_management.entity.enums.RoleType.ADMIN
+                    or (ra.role = com.example.festival_management.entity.enums.RoleType.ORGANIZER
+                        and ra.festival = p.festival))) then 'ORGANIZER'
+        when s.username = :username
+          or exists (select 1 from RoleAssignment ra where ra.user.username = :username
+               and ra.role = com.example.festival_management.entity.enums.RoleType.STAFF
+               and ra.festival = p.festival) then 'STAFF'
+        when a.username = :username
+          or exists (select 1 from p.bandMembers b where b.username = :username) then 'ARTIST'
+        else 'VISITOR' end
+      from Performance p
+      join p.mainArtist a
+      left join p.assignedStaff s
+      where p.id = :id
+    """)
+    Optional<String> findViewerRole(@Param("id") Long id, @Param("username") String username);
+
+    @Query("""
+      select new com.example.festival_management.dto.PerformanceView$Visitor(
+        p.id, p.name, p.description, p.genre, p.duration, p.status, f.id, f.name, a.username)
+      from Performance p
+      join p.festival f
+      join p.mainArtist a
+      where p.id = :id
+    """)
+    Optional<PerformanceView.Visitor> findVisitorView(@Param("id") Long id);
+
+    @Query("""
+      select new com.example.festival_management.dto.PerformanceView$Artist(
+        p.id, p.name, p.description, p.genre, p.duration, p.status, f.id, f.name, a.username, p.createdAt,
+        p.technicalRequirements, p.merchandiseItems, p.setlist,
+        p.preferredRehearsalTimes, p.preferredPerformanceSlots, s.username)
+      from Performance p
+      join p.festival f
+      join p.mainArtist a
+      left join p.assignedStaff s
+      where p.id = :id
+    """)
+    Optional<PerformanceView.Artist> findArtistView(@Param("id") Long id);
+
+    @Query("""
+      select new com.example.festival_management.dto.PerformanceView$Staff(
+        p.id, p.name, p.description, p.genre, p.duration, p.status, f.id, f.name, a.username,
+        p.technicalRequirements, p.setlist, p.preferredRehearsalTimes, p.preferredPerformanceSlots,
+        s.username, r.score, r.comments)
+      from Performance p
+      join p.festival f
+      join p.mainArtist a
+      left join p.assignedStaff s
+      left join p.review r
+      where p.id = :id
+    """)
+    Optional<PerformanceView.Staff> findStaffView(@Param("id") Long id);
+
+    @Query("""
+      select new com.example.festival_management.dto.PerformanceView$Organizer(
+        p.id, p.name, p.description, p.genre, p.duration, p.status, f.id, f.name, a.username, p.createdAt,
+        p.technicalRequirements, p.merchandiseItems, p.setlist,
+        p.preferredRehearsalTimes, p.preferredPerformanceSlots,
+        s.username, r.score, r.comments, rv.username, p.version)
+      from Performance p
+      join p.festival f
+      join p.mainArtist a
+      left join p.assignedStaff s
+      left join p.review r
+      left join r.reviewer rv
+      where p.id = :id
+    """)
+    Optional<PerformanceView.Organizer> findOrganizerView(@Param("id") Long id);
+
 
     
 }
@@ -0,0 +1,26 @@
+package com.example.festival_management.repository;
+
+import com.example.festival_management.entity.PerformanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+// Repository gia ta snapshots tou istorikou twn performances
+
+@Repository
+public interface PerformanceSnapshotRepository extends JpaRepository<PerformanceSnapshot, Long> {
+
+    Optional<PerformanceSnapshot> findFirstByPerformanceIdAndOccurredAtLessThanEqualOrderByOccurredAtDescIdDesc(
+            Long performanceId, LocalDateTime at);
+
+    Optional<PerformanceSnapshot> findFirstByPerformanceIdOrderByOccurredAtDescIdDesc(Long performanceId);
+
+    // Ena event pou eftase argotera apo ena snapshot (allo outbox lane) to kanei akyro
+    @Modifying
+    @Query("delete from PerformanceSnapshot s where s.performanceId = :performanceId and s.occurredAt >= :from")
+    int deleteFrom(@Param("performanceId") Long performanceId, @Param("from") LocalDateTime from);
+}
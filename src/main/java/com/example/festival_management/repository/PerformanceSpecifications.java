@@ -0,0 +1,60 @@
+package com.example.festival_management.repository;
+
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.User;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+// Filtra gia to search twn performances (null = to filtro den dothike).
+// festival + status -> idx_performances_festival_status, genre -> idx_performances_genre_id,
+// artist -> idx_performances_main_artist.
+public final class PerformanceSpecifications {
+
+    private PerformanceSpecifications() {}
+
+    public static Specification<Performance> nameContains(String name) {
+        return FestivalSpecifications.contains("name", name);
+    }
+
+    // To genre lynetai se id apo to GenreDictionary prin to query (sygkrish integer, oxi string)
+    public static Specification<Performance> hasGenre(Integer genreId) {
+        return genreId == null ? null : (root, query, cb) -> cb.equal(root.get("genreId"), genreId);
+    }
+
+    // To username lynetai se id me subquery (unique index tou users), to performance filtrarei sto FK
+    public static Specification<Performance> hasMainArtist(String username) {
+        if (username == null || username.isBlank()) return null;
+        String value = username.trim();
+        return (root, query, cb) -> {
+            Subquery<Long> artistId = query.subquery(Long.class);
+            Root<User> user = artistId.from(User.class);
+            artistId.select(user.get("id")).where(cb.equal(user.get("username"), value));
+            return root.get("mainArtist").get("id").in(artistId);
+        };
+    }
+
+    public static Specification<Performance> inFestival(Long festivalId) {
+        return festivalId == null ? null : (root, query, cb) -> cb.equal(root.get("festival").get("id"), festivalId);
+    }
+
+    public static Specification<Performance> hasStatus(PerformanceStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Oi eager sysxetiseis sto idio select me th selida (oxi sto count query), anti gia ena select ana grammh
+    public static Specification<Performance> fetchListing() {
+        return (root, query, cb) -> {
+            Class<?> type = query.getResultType();
+            if (type != Long.class && type != long.class) {
+                root.fetch("festival", JoinType.LEFT);
+                root.fetch("mainArtist", JoinType.LEFT);
+                root.fetch("assignedStaff", JoinType.LEFT);
+                root.fetch("review", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
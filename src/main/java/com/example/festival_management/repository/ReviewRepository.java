@@ -4,6 +4,9 @@ import com.example.festival_management.entity.Performance;
 import com.example.festival_management.entity.Review;
 import com.example.festival_management.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +19,18 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Optional<Review> findByReviewerAndPerformance(User reviewer, Performance performance);
 
     boolean existsByPerformance(Performance performance);
+
+    // Upsert (H2 MERGE ... KEY) σε ένα statement. Δεν είναι ατομικό: δύο ταυτόχρονα πρώτα MERGE κάνουν
+    // και τα δύο insert και το δεύτερο σκοντάφτει στο unique performance_id (retry στο reviewPerformance).
+    // Καθαρίζει το persistence context ώστε το επόμενο read να δει το νέο review.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        MERGE INTO reviews (performance_id, reviewer_id, score, comments)
+        KEY (performance_id)
+        VALUES (:performanceId, :reviewerId, :score, :comments)
+        """, nativeQuery = true)
+    int upsert(@Param("performanceId") Long performanceId,
+               @Param("reviewerId") Long reviewerId,
+               @Param("score") int score,
+               @Param("comments") String comments);
 }
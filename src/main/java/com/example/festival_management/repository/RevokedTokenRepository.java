@@ -0,0 +1,29 @@
+package com.example.festival_management.repository;
+
+import com.example.festival_management.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+// Repository gia ta revoked access tokens (elegxos mono otan to Bloom filter leei "isws")
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") Instant now);
+
+    // Akyrwseis (kai apo allous komvous) meta apo to since, gia to periodiko refresh tou filter
+    @Query("select r.jti from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
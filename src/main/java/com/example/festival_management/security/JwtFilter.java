@@ -19,6 +19,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 // ★★ ---------------- ★★
 
+import com.example.festival_management.service.impl.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+
 import java.io.IOException;
 
 @Component
@@ -26,10 +29,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
    private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService revocationService;
 
-    public JwtFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                     TokenRevocationService revocationService) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -46,8 +52,9 @@ public class JwtFilter extends OncePerRequestFilter {
             path.startsWith("/js/") || path.startsWith("/images/") ||
             path.startsWith("/static/") || path.startsWith("/webjars/")) return true;
 
-        // αφήνω login/register χωρίς φίλτρο (public)
-        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) return true;
+        // αφήνω login/register/refresh χωρίς φίλτρο (public)
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")
+                || path.equals("/api/auth/refresh")) return true;
 
         // Όλα τα υπόλοιπα θα περνάνε από το φίλτρο και αν υπάρχει JWT θα γίνει auth
         return false;
@@ -61,8 +68,12 @@ public class JwtFilter extends OncePerRequestFilter {
             String header = request.getHeader(HttpHeaders.AUTHORIZATION);
             if (header != null && header.startsWith("Bearer ")) {
                 String token = header.substring(7).trim();
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.extractUsername(token);
+                // ena parse (ypografh + lhksh), meta o elegxos revocation (Bloom filter, DB mono sto "isws")
+                Claims claims = jwtUtil.claims(token)
+                        .filter(c -> !revocationService.isRevoked(c.getId()))
+                        .orElse(null);
+                if (claims != null) {
+                    String username = claims.getSubject();
                     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                         var ud = userDetailsService.loadUserByUsername(username);
 
@@ -1,6 +1,7 @@
 package com.example.festival_management.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,7 +9,10 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -36,17 +40,40 @@ public class JwtUtil {
         }
     }
 
+    // Claims enos egkyrou (ypografh + lhksh) token, h empty
+    public Optional<Claims> claims(String token) {
+        try {
+            return Optional.of(allClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String generateToken(String username) {
+        return issue(username).token();
+    }
+
+    // Access token me monadiko jti, wste na mporei na akyrwthei prin th lhksh tou
+    public IssuedToken issue(String username) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + jwtExpirationMs);
-        return Jwts.builder()
+        String jti = UUID.randomUUID().toString();
+        String token = Jwts.builder()
+                .setId(jti)
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(exp)
                 .signWith(key())
                 .compact();
+        return new IssuedToken(token, jti, exp.toInstant());
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
     }
 
+    public record IssuedToken(String token, String jti, Instant expiresAt) {}
+
     private Claims allClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(key())
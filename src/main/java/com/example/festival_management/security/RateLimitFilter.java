@@ -0,0 +1,183 @@
+package com.example.festival_management.security;
+
+import com.example.festival_management.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Rate limiting gia ta /api endpoints, meta to JwtFilter (wste na kseroume ton user).
+// Token bucket ana (klash endpoint, user h IP): login/register/refresh/exists exoun mikro budget ana IP,
+// ta GET (search) kai ta writes ksexwrista budgets ana user. Ta gemata (idle) buckets
+// afairountai mono apo to evictIdle(), se diko tou thread (oxi sto request path oute sto koino scheduler pool).
+// Panw apo max-buckets oi kainourgioi clients metriountai ana diktyo (/24 IPv4, /64 IPv6): opoios
+// kanei IP spraying gemizei to bucket tou diktyou tou, oxi ena koino bucket gia olous tous neous.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    enum Budget { AUTH, SEARCH, WRITE }
+
+    private record Limit(int capacity, double perSecond) {}
+
+    private final boolean enabled;
+    private final int maxBuckets;
+    private final Map<Budget, Limit> limits = new EnumMap<>(Budget.class);
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-buckets:100000}") int maxBuckets,
+                           @Value("${rate-limit.evict-interval-ms:60000}") long evictIntervalMs,
+                           @Value("${rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${rate-limit.auth.per-minute:20}") int authPerMinute,
+                           @Value("${rate-limit.search.capacity:40}") int searchCapacity,
+                           @Value("${rate-limit.search.per-minute:300}") int searchPerMinute,
+                           @Value("${rate-limit.write.capacity:20}") int writeCapacity,
+                           @Value("${rate-limit.write.per-minute:120}") int writePerMinute) {
+        this.enabled = enabled;
+        this.maxBuckets = Math.max(1, maxBuckets);
+        limits.put(Budget.AUTH, new Limit(authCapacity, authPerMinute / 60.0));
+        limits.put(Budget.SEARCH, new Limit(searchCapacity, searchPerMinute / 60.0));
+        limits.put(Budget.WRITE, new Limit(writeCapacity, writePerMinute / 60.0));
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-limit-evict");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1, evictIntervalMs);
+        evictor.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || budgetOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        Budget budget = budgetOf(request);
+        long now = System.nanoTime();
+        long waitNanos = bucketFor(budget, request, now).tryConsume(now);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded, retry in "
+                + retryAfter + "s\"}");
+    }
+
+    // null = den metrietai (static, h2-console, OPTIONS)
+    static Budget budgetOf(HttpServletRequest request) {
+        String path = request.getServletPath();
+        String method = request.getMethod();
+        if (!path.startsWith("/api/") || HttpMethod.OPTIONS.matches(method)) return null;
+
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")
+                || path.equals("/api/auth/refresh") || path.startsWith("/api/users/exists/")) {
+            return Budget.AUTH;
+        }
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) return Budget.SEARCH;
+        return Budget.WRITE;
+    }
+
+    // Ta auth endpoints metriountai panta ana IP (o user den exei kanei akoma login).
+    // Piso apo proxy: server.forward-headers-strategy=native wste to remoteAddr na einai o client.
+    private static String clientKey(HttpServletRequest request, Budget budget) {
+        if (budget != Budget.AUTH) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return "u:" + auth.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket bucketFor(Budget budget, HttpServletRequest request, long now) {
+        String key = budget + "|" + clientKey(request, budget);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+
+        if (buckets.size() >= maxBuckets) {
+            // poly polla clients: oi kainourgioi moirazontai bucket ana diktyo mexri to epomeno
+            // evictIdle() na eleytherwsei theseis (o pinakas megalwnei to poly kata ena bucket ana diktyo)
+            key = budget + "|net:" + networkOf(request.getRemoteAddr());
+        }
+        Limit limit = limits.get(budget);
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.perSecond(), now));
+    }
+
+    // 203.0.113.77 -> 203.0.113.0/24, 2001:db8:1:2:3:4:5:6 -> 2001:db8:1:2::/64
+    static String networkOf(String remoteAddr) {
+        try {
+            InetAddress address = InetAddress.getByName(remoteAddr); // to remoteAddr einai panta literal, xwris DNS
+            byte[] bytes = address.getAddress();
+            if (address instanceof Inet4Address) {
+                return (bytes[0] & 0xff) + "." + (bytes[1] & 0xff) + "." + (bytes[2] & 0xff) + ".0/24";
+            }
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < 8; i += 2) {
+                prefix.append(Integer.toHexString(((bytes[i] & 0xff) << 8) | (bytes[i + 1] & 0xff))).append(':');
+            }
+            return prefix.append(":/64").toString();
+        } catch (UnknownHostException ex) {
+            return String.valueOf(remoteAddr);
+        }
+    }
+
+    public void evictIdle() {
+        try {
+            long now = System.nanoTime();
+            int before = buckets.size();
+            buckets.values().removeIf(b -> b.isIdle(now));
+            int removed = before - buckets.size();
+            if (removed > 0) log.debug("Evicted {} idle rate limit buckets", removed);
+        } catch (RuntimeException ex) {
+            // ena exception tha stamatouse ola ta epomena runs tou scheduleWithFixedDelay
+            log.warn("Rate limit bucket eviction failed", ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
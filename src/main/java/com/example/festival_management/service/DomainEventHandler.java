@@ -0,0 +1,12 @@
+package com.example.festival_management.service;
+
+import com.example.festival_management.entity.OutboxEvent;
+
+// In-process handler gia ta events tou outbox.
+// H paradosh einai at-least-once: o handler prepei na einai idempotent.
+public interface DomainEventHandler {
+
+    boolean supports(String eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -4,8 +4,12 @@ import com.example.festival_management.entity.Festival;
 import com.example.festival_management.entity.User;
 import com.example.festival_management.entity.enums.FestivalState;
 import com.example.festival_management.repository.FestivalRepository; // <-- για το nested Option
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface FestivalService {
@@ -13,8 +17,19 @@ public interface FestivalService {
     Festival updateFestival(Long id, Festival festival, User user);
     void deleteFestival(Long id, User user);
     Optional<Festival> getFestivalById(Long id);
-    List<Festival> searchFestivals(String name, String description, String venue, String dates, User user);
+    /** Filtra (ola proairetika): dates = "2025-06-01" h "2025-06-01..2025-06-30" (festivals pou epikalyptontai) */
+    Page<Festival> searchFestivals(String name, String description, String venue, String dates,
+                                   FestivalState state, Pageable pageable, User user);
     void changeFestivalState(Long id, FestivalState newState, User user);
+
+    /** Orizei ta phase deadlines (state -> pote to festival fevgei automata apo auto) */
+    Festival updatePhaseDeadlines(Long id, Map<FestivalState, LocalDateTime> deadlines, User user);
+
+    /** Ta phase deadlines tou festival (empty an den yparxei to festival) */
+    Optional<Map<FestivalState, LocalDateTime>> getPhaseDeadlines(Long id);
+
+    /** Kaleitai apo ton FestivalDeadlineScheduler: proxwraei sthn epomenh phase an to festival einai akoma sto expectedState */
+    boolean applyScheduledTransition(Long id, FestivalState expectedState);
     void addOrganizers(Long id, List<User> users, User user);
     void addStaff(Long id, List<User> users, User user);
 
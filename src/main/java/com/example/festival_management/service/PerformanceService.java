@@ -1,8 +1,12 @@
 package com.example.festival_management.service;
 
+import com.example.festival_management.dto.PerformanceFacets;
+import com.example.festival_management.dto.PerformancePatch;
+import com.example.festival_management.dto.PerformanceView;
 import com.example.festival_management.entity.Performance;
 import com.example.festival_management.entity.User;
 import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.enums.PerformanceStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
@@ -14,6 +18,9 @@ public interface PerformanceService {
 
     Performance updatePerformance(Long performanceId, Performance updatedPerformance, User artist);
 
+    // Merikh enhmerwsh: mono ta pedia tou patch pou diaferoun grafontai sth vash
+    Performance patchPerformance(Long performanceId, PerformancePatch patch, User artist);
+
     void deletePerformance(Long performanceId, User artist);
 
     Performance submitPerformance(Long performanceId, User artist);
@@ -31,13 +38,21 @@ public interface PerformanceService {
     Performance reviewPerformance(Long performanceId, User staffReviewer, int score, String comments);
     Performance acceptPerformance(Long performanceId, User organizer);
 
-    Performance getPerformanceById(Long performanceId, User requestingUser);
+    // Provolh analoga me to rolo tou user sto festival (username null = anonymous visitor)
+    PerformanceView getPerformanceById(Long performanceId, String username);
 
-    List<Performance> searchPerformances(String name, String genre, String artistName, User requestingUser);
+    // Filtra (ola proairetika): name = meros tou onomatos, artistName = akribhs timh,
+    // genre = to idio genre meta to normalize ("hip-hop" = "Hip Hop").
+    // Dhmosio endpoint: epistrefei mono ta dhmosia pedia (visitor provolh), ta ypoloipa apo to details
+    Page<PerformanceView.Visitor> searchPerformances(String name, String genre, String artistName, Long festivalId,
+                                         PerformanceStatus status, Pageable pageable, User requestingUser);
 
 Page<Performance> getApproved(String status, String q, Pageable pageable);
 
 List<Performance> getApprovedPerformances();
 
+    // Counts ana status/genre/festival (in-memory counters, h grouped query an yparxei term)
+    PerformanceFacets getFacets(String q);
+
 
 }
@@ -0,0 +1,192 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.dto.AuditEntry;
+import com.example.festival_management.util.AfterCommit;
+import com.example.festival_management.util.MappedSegmentLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Audit log (poios enekrine/aperripse/aksiologhse/anethese ti) ektos ths vashs:
+// compact binary records se memory-mapped segments (MappedSegmentLog), grammena meta to commit.
+// Group commit: ena thread kanei force() to poly ana audit.flush-interval-ms gia ola ta records
+// pou mazeuthkan, anti gia fsync ana record.
+@Service
+public class AuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+
+    private static final byte FORMAT = 1;
+    private static final int MAX_TEXT_BYTES = 1024;
+    private static final int NULL_TEXT = 0xFFFF;
+    private static final String[] ENTITY_TYPES = {DomainEventPublisher.FESTIVAL, DomainEventPublisher.PERFORMANCE};
+
+    private final MappedSegmentLog auditLog;
+    private final long flushIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appendedSignal = lock.newCondition();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public AuditService(@Value("${audit.dir:${java.io.tmpdir}/festival-audit}") String dir,
+                        @Value("${audit.segment-size-kb:16384}") int segmentSizeKb,
+                        @Value("${audit.flush-interval-ms:20}") long flushIntervalMs) throws IOException {
+        this.auditLog = new MappedSegmentLog(Path.of(dir), segmentSizeKb * 1024);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.flusher = new Thread(this::flushLoop, "audit-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        log.info("Audit log at {}", Path.of(dir).toAbsolutePath());
+    }
+
+    // Grafetai mono an to transaction kanei commit (h amesws an den yparxei transaction)
+    public void record(String actor, String entityType, Long entityId, Long festivalId, String action, String reason) {
+        AuditEntry entry = new AuditEntry(Instant.now(), actor == null ? "system" : actor,
+                entityType, entityId, festivalId, action, reason);
+        AfterCommit.run(() -> append(entry));
+    }
+
+    public long append(AuditEntry entry) {
+        try {
+            long seq = auditLog.append(encode(entry));
+            lock.lock();
+            try {
+                appendedSignal.signal();
+            } finally {
+                lock.unlock();
+            }
+            return seq;
+        } catch (IOException | RuntimeException ex) {
+            // to audit den prepei na xalasei to (hdh committed) business operation
+            log.error("Could not append audit entry {}", entry, ex);
+            return -1;
+        }
+    }
+
+    // Stream (xwris na fortwnei ta segments sto heap) twn entries enos festival h performance.
+    // O caller prepei na to kleisei.
+    public Stream<AuditEntry> entries(Long festivalId, Long performanceId) throws IOException {
+        return auditLog.read(AuditService::decode, e ->
+                (festivalId == null || Objects.equals(festivalId, e.festivalId()))
+                        && (performanceId == null
+                        || (DomainEventPublisher.PERFORMANCE.equals(e.entityType()) && Objects.equals(performanceId, e.entityId()))));
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        auditLog.close();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                lock.lock();
+                try {
+                    if (auditLog.forcedCount() == auditLog.appendedCount()) {
+                        appendedSignal.await();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                // mazeuei ta appends tou diasthmatos se ena fsync
+                TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+                auditLog.force();
+            } catch (InterruptedException ex) {
+                if (!running) return;
+            } catch (RuntimeException ex) {
+                log.error("Audit log fsync failed", ex);
+            }
+        }
+    }
+
+    // ---------- Binary format ----------
+    // [format][epochMillis][entityType][entityId][festivalId][actor][action][reason]
+    // ids: -1 = null, keimena: unsigned short mhkos (0xFFFF = null) + UTF-8
+
+    static byte[] encode(AuditEntry e) {
+        byte[] actor = text(e.actor());
+        byte[] action = text(e.action());
+        byte[] reason = text(e.reason());
+        ByteBuffer buf = ByteBuffer.allocate(1 + 8 + 1 + 8 + 8 + 6 + len(actor) + len(action) + len(reason));
+        buf.put(FORMAT);
+        buf.putLong(e.at().toEpochMilli());
+        buf.put(entityTypeCode(e.entityType()));
+        buf.putLong(e.entityId() == null ? -1 : e.entityId());
+        buf.putLong(e.festivalId() == null ? -1 : e.festivalId());
+        putText(buf, actor);
+        putText(buf, action);
+        putText(buf, reason);
+        return buf.array();
+    }
+
+    static AuditEntry decode(ByteBuffer buf) {
+        byte format = buf.get();
+        if (format != FORMAT) throw new IllegalStateException("Unknown audit record format " + format);
+        Instant at = Instant.ofEpochMilli(buf.getLong());
+        byte type = buf.get();
+        long entityId = buf.getLong();
+        long festivalId = buf.getLong();
+        return new AuditEntry(at, getText(buf), ENTITY_TYPES[type],
+                entityId < 0 ? null : entityId, festivalId < 0 ? null : festivalId,
+                getText(buf), getText(buf));
+    }
+
+    private static byte entityTypeCode(String entityType) {
+        for (byte i = 0; i < ENTITY_TYPES.length; i++) {
+            if (ENTITY_TYPES[i].equals(entityType)) return i;
+        }
+        throw new IllegalArgumentException("Unknown audit entity type " + entityType);
+    }
+
+    private static byte[] text(String s) {
+        if (s == null) return null;
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_TEXT_BYTES) return bytes;
+        // kovoume se oria xarakthra wste na meinei egkyro UTF-8
+        int end = MAX_TEXT_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) end--;
+        return Arrays.copyOf(bytes, end);
+    }
+
+    private static int len(byte[] text) {
+        return text == null ? 0 : text.length;
+    }
+
+    private static void putText(ByteBuffer buf, byte[] text) {
+        if (text == null) {
+            buf.putShort((short) NULL_TEXT);
+        } else {
+            buf.putShort((short) text.length);
+            buf.put(text);
+        }
+    }
+
+    private static String getText(ByteBuffer buf) {
+        int length = Short.toUnsignedInt(buf.getShort());
+        if (length == NULL_TEXT) return null;
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
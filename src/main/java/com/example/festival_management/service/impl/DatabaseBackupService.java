@@ -0,0 +1,96 @@
+package com.example.festival_management.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Online backup ths H2 xwris na stamatisei h efarmogh.
+// File mode: "BACKUP TO" (antigrafei to MVStore file, consistent xwris locks afou to MVStore einai append-only).
+// In-memory: "SCRIPT TO ... COMPRESSION ZIP" (SQL dump se ena snapshot).
+// To zip grafetai proswrina sto disk kai meta streamaretai ston client. Mono ena backup th fora.
+@Service
+public class DatabaseBackupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseBackupService.class);
+
+    private final DataSource dataSource;
+    private final Path tempDir;
+    private final Semaphore running = new Semaphore(1);
+
+    public DatabaseBackupService(DataSource dataSource,
+                                 @Value("${backup.temp-dir:${java.io.tmpdir}}") String tempDir) {
+        this.dataSource = dataSource;
+        this.tempDir = Path.of(tempDir);
+    }
+
+    // To slot to kratei to Backup pou epistrefetai. Apeleutherwnetai mia fora: sto telos tou streamTo,
+    // h me release() an to body den trexei pote (timeout/error/client efyge prin ksekinhsei to streaming)
+    public Optional<Backup> tryStart() {
+        return running.tryAcquire() ? Optional.of(new Backup()) : Optional.empty();
+    }
+
+    public final class Backup {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void streamTo(OutputStream out) throws IOException {
+            try {
+                write(out);
+            } finally {
+                release();
+            }
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) running.release();
+        }
+    }
+
+    private void write(OutputStream out) throws IOException {
+        Path zip = null;
+        try {
+            Files.createDirectories(tempDir);
+            zip = Files.createTempFile(tempDir, "festivaldb-", ".zip");
+            Files.delete(zip); // to BACKUP/SCRIPT den grafei panw se yparxon arxeio
+            long started = System.nanoTime();
+            snapshot(zip);
+            try (InputStream in = Files.newInputStream(zip)) {
+                long bytes = in.transferTo(out);
+                log.info("Database backup streamed: {} bytes in {} ms", bytes, (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (SQLException ex) {
+            throw new IOException("Backup failed: " + ex.getMessage(), ex);
+        } finally {
+            if (zip != null) Files.deleteIfExists(zip);
+        }
+    }
+
+    private void snapshot(Path zip) throws SQLException {
+        String target = zip.toAbsolutePath().toString().replace("'", "''");
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            if (isFileDatabase(c)) {
+                st.execute("BACKUP TO '" + target + "'");
+            } else {
+                st.execute("SCRIPT TO '" + target + "' COMPRESSION ZIP");
+            }
+        }
+    }
+
+    private static boolean isFileDatabase(Connection c) throws SQLException {
+        return c.getMetaData().getURL().startsWith("jdbc:h2:file:");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.festival_management.service.impl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Bounded executor gia th douleia JPA twn async read endpoints: to servlet thread epistrefei
+// amesws kai ta queries trexoun edw. Osa threads exei to Hikari pool (perissotera apla tha
+// perimenan connection) kai mikrh oura· gemath oura -> RejectedExecutionException (503), wste ena
+// argo query na mhn kratsei olous tous Tomcat workers.
+// Kathe task trexei se read-only transaction me timeout oso o xronos pou apomenei ws to deadline
+// tou request (to Hibernate to kanei JDBC query timeout). Cancel prin ksekinhsei -> den trexei kan.
+// To Hibernate metraei to timeout se oloklira seconds: me ligotero apo 1 s pou apomenei kathe query
+// tha apetygxane amesws ("transaction timeout expired", 500), ara to task aporriptetai san timeout (503).
+// Den kanoume interrupt se task pou trexei: to H2 kleinei to arxeio tou an ginei interrupt se I/O.
+@Component
+public class DbExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(DbExecutor.class);
+
+    public record Stats(int threads, int active, int queued, int queueCapacity,
+                        long completed, long rejected, long cancelled, long timeoutMs) {}
+
+    private final ThreadPoolExecutor executor;
+    private final PlatformTransactionManager transactionManager;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    public DbExecutor(DataSource dataSource,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${db.executor.threads:0}") int threads,
+                      @Value("${db.executor.queue-capacity:100}") int queueCapacity,
+                      @Value("${db.executor.timeout-ms:10000}") long timeoutMs) {
+        this.transactionManager = transactionManager;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.timeoutMs = Math.max(2000, timeoutMs);
+
+        // 0 = oso to connection pool
+        int size = threads > 0 ? threads
+                : dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), r -> {
+                    Thread t = new Thread(r, "db-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        log.info("DB executor: {} threads, queue {}, timeout {} ms", size, this.queueCapacity, this.timeoutMs);
+    }
+
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    // To future olokrhrwnetai me to apotelesma (h to exception) tou work. cancel() sto future
+    // afairei to task an den exei ksekinhsei akoma.
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            if (result.isDone()) { // timeout h o client efyge oso htan sthn oura
+                cancelled.increment();
+                return;
+            }
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs < 1000) {
+                result.completeExceptionally(new RejectedExecutionException("Timed out in the DB queue"));
+                return;
+            }
+            try {
+                TransactionTemplate tx = new TransactionTemplate(transactionManager);
+                tx.setReadOnly(true);
+                tx.setTimeout((int) Math.max(1, (remainingMs + 999) / 1000));
+                result.complete(tx.execute(status -> work.get()));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            result.completeExceptionally(ex);
+            return result;
+        }
+        // cancel oso perimenei: eleutherwnei amesws th thesh sthn oura
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled() && executor.remove(task)) cancelled.increment();
+        });
+        return result;
+    }
+
+    public Stats stats() {
+        return new Stats(executor.getMaximumPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                queueCapacity, executor.getCompletedTaskCount(), rejected.sum(), cancelled.sum(), timeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Grafei domain events sto outbox, mesa sto transaction tou caller:
+// an ginei rollback h allagh state, den menei kai to event.
+@Component
+public class DomainEventPublisher {
+
+    public static final String FESTIVAL = "FESTIVAL";
+    public static final String PERFORMANCE = "PERFORMANCE";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public DomainEventPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void publish(String aggregateType, Long aggregateId, String eventType, Map<String, ?> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Event payload is not serializable: " + eventType, ex);
+        }
+        outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, eventType, json));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.dto.CalendarEntry;
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.util.IntervalIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// In-memory calendar twn festivals: interval tree panw sta [startDate, endDate] (epoch days),
+// ena gia ola kai ena ana venue. "Ti ginetai apo X ews Y" kai "poia festivals epikalyptontai
+// sto venue V" apantiountai apo to snapshot xwris query sth vash.
+// Opws sto FestivalNameIndex: oi readers pairnoun ena immutable snapshot, kathe create/update/delete
+// ftiaxnei neo (copy-on-write).
+@Component
+public class FestivalCalendarIndex {
+
+    private final FestivalRepository festivalRepository;
+
+    private final Object writeLock = new Object();
+    private final Map<Long, CalendarEntry> byId = new HashMap<>(); // mono mesa sto writeLock
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public FestivalCalendarIndex(FestivalRepository festivalRepository) {
+        this.festivalRepository = festivalRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<CalendarEntry> entries = festivalRepository.calendarEntries();
+        synchronized (writeLock) {
+            byId.clear();
+            entries.forEach(e -> byId.put(e.id(), e));
+            snapshot = Snapshot.of(byId.values());
+        }
+    }
+
+    // Create h update: festival xwris hmeromhnies vgainei apo to calendar
+    public void put(Festival festival) {
+        if (festival == null || festival.getId() == null) return;
+        if (festival.getStartDate() == null || festival.getEndDate() == null
+                || festival.getEndDate().isBefore(festival.getStartDate())) {
+            remove(festival.getId());
+            return;
+        }
+        CalendarEntry entry = new CalendarEntry(festival.getId(), festival.getName(), festival.getVenue(),
+                festival.getStartDate(), festival.getEndDate());
+        synchronized (writeLock) {
+            if (entry.equals(byId.put(entry.id(), entry))) return;
+            snapshot = Snapshot.of(byId.values());
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) return;
+        synchronized (writeLock) {
+            if (byId.remove(id) != null) {
+                snapshot = Snapshot.of(byId.values());
+            }
+        }
+    }
+
+    // Festivals pou trexoun estw mia mera sto [from, to], kata startDate (venue null = ola)
+    public List<CalendarEntry> between(LocalDate from, LocalDate to, String venue) {
+        Snapshot current = snapshot;
+        IntervalIndex<CalendarEntry> index = venue == null || venue.isBlank()
+                ? current.all
+                : current.byVenue.get(FestivalNameIndex.normalize(venue));
+        if (index == null) return List.of();
+        return index.overlapping(from.toEpochDay(), to.toEpochDay());
+    }
+
+    // Ta alla festivals sto idio venue pou epikalyptontai me to festival id
+    public List<CalendarEntry> overlapsWith(Long id) {
+        Snapshot current = snapshot;
+        CalendarEntry self = current.byId.get(id);
+        if (self == null || self.venue() == null) return List.of();
+        List<CalendarEntry> result = new ArrayList<>(between(self.startDate(), self.endDate(), self.venue()));
+        result.removeIf(e -> Objects.equals(e.id(), id));
+        return result;
+    }
+
+    public int size() {
+        return snapshot.all.size();
+    }
+
+    private record Snapshot(IntervalIndex<CalendarEntry> all,
+                            Map<String, IntervalIndex<CalendarEntry>> byVenue,
+                            Map<Long, CalendarEntry> byId) {
+
+        static Snapshot of(Collection<CalendarEntry> entries) {
+            Map<String, List<CalendarEntry>> grouped = new HashMap<>();
+            Map<Long, CalendarEntry> ids = new HashMap<>();
+            for (CalendarEntry e : entries) {
+                ids.put(e.id(), e);
+                if (e.venue() != null && !e.venue().isBlank()) {
+                    grouped.computeIfAbsent(FestivalNameIndex.normalize(e.venue()), k -> new ArrayList<>()).add(e);
+                }
+            }
+            Map<String, IntervalIndex<CalendarEntry>> byVenue = new HashMap<>();
+            grouped.forEach((venue, list) -> byVenue.put(venue, index(list)));
+            return new Snapshot(index(entries), Map.copyOf(byVenue), Map.copyOf(ids));
+        }
+
+        private static IntervalIndex<CalendarEntry> index(Collection<CalendarEntry> entries) {
+            return new IntervalIndex<>(entries, e -> e.startDate().toEpochDay(), e -> e.endDate().toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.repository.FestivalRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Single-writer oura ana festival gia ta performance transitions.
+// Kathe festival exei to diko tou "shard": oi entoles tou ekteleountai seiriaka, se batches
+// mesa se ena transaction, elegxontas to cached FestivalState (xwris re-read tou festival row).
+// Oi allages phase tou festival (changeState) pernane apo to idio shard, se diko tous batch, kai o worker
+// allazei to cached state meta to commit tous kai prin thn epomenh entolh: kamia entolh den vlepei palio phase.
+// Diaforetika festivals trexoun parallhla se diaforetikous workers.
+// Timeout: mia entolh pou den exei mpei akoma se batch afaireitai (den tha treksei pote) kai o caller
+// pairnei "busy, retry". An exei hdh mpei se batch, perimenoume to apotelesma ths (to transaction exei
+// timeout), giati mporei na ginei commit kai ena "busy" tha elege pseumata oti den egine tipota.
+@Component
+public class FestivalCommandProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(FestivalCommandProcessor.class);
+
+    // Mia entolh: elegxei prwta (xwris na allazei tipota) kai meta kanei tis allages,
+    // wste ena validation error na mhn afhnei misa writes mesa sto koino batch.
+    @FunctionalInterface
+    public interface Command<T> {
+        T apply(FestivalState currentState);
+    }
+
+    private final FestivalRepository festivalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final long timeoutMs;
+    private final ConcurrentHashMap<Long, Shard> shards = new ConcurrentHashMap<>();
+
+    public FestivalCommandProcessor(FestivalRepository festivalRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${festival.commands.workers:4}") int workerCount,
+                                    @Value("${festival.commands.batch-size:64}") int batchSize,
+                                    @Value("${festival.commands.timeout-ms:10000}") long timeoutMs) {
+        this.festivalRepository = festivalRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.timeoutMs = Math.max(1, timeoutMs);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, (this.timeoutMs + 999) / 1000));
+        AtomicInteger seq = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), r -> {
+            Thread t = new Thread(r, "festival-cmd-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Vazei thn entolh sthn oura tou festival kai perimenei to apotelesma (me timeout).
+    // Ta exceptions ths entolhs (SecurityException, IllegalStateException, ...) ksanapetagontai ws exoun.
+    public <T> T execute(Long festivalId, Command<T> command) {
+        return await(enqueue(festivalId, command, false));
+    }
+
+    // Allagh phase: h entolh epistrefei to neo state (null = den egine allagh)
+    public FestivalState changeState(Long festivalId, Command<FestivalState> transition) {
+        return await(enqueue(festivalId, transition, true));
+    }
+
+    private <T> T await(Pending<T> pending) {
+        try {
+            try {
+                return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                if (pending.abandon()) {
+                    throw new IllegalStateException("Festival is busy, please retry");
+                }
+                // hdh se batch: to apotelesma (commit h oxi) erxetai, to fragma einai to timeout tou transaction
+                return pending.future.get();
+            }
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for festival command");
+        }
+    }
+
+    // Asynchronh ekdosh. To cancel tou future pou epistrefetai den aposyrei thn entolh.
+    public <T> CompletableFuture<T> submit(Long festivalId, Command<T> command) {
+        return enqueue(festivalId, command, false).future.copy();
+    }
+
+    private <T> Pending<T> enqueue(Long festivalId, Command<T> command, boolean stateChange) {
+        Pending<T> pending = new Pending<>(command, stateChange);
+        shards.computeIfAbsent(festivalId, Shard::new).enqueue(pending);
+        return pending;
+    }
+
+    public void evict(Long festivalId) {
+        shards.remove(festivalId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private static final class Pending<T> {
+        private static final int QUEUED = 0, CLAIMED = 1, ABANDONED = 2;
+
+        final Command<T> command;
+        final boolean stateChange;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final AtomicInteger stage = new AtomicInteger(QUEUED);
+        T result;
+        RuntimeException error;
+
+        Pending(Command<T> command, boolean stateChange) {
+            this.command = command;
+            this.stateChange = stateChange;
+        }
+
+        // o worker to pairnei sto batch: apo edw kai pera den akyrwnetai
+        boolean claim() { return stage.compareAndSet(QUEUED, CLAIMED); }
+
+        // o caller den perimenei allo: mono an den to exei parei akoma o worker
+        boolean abandon() { return stage.compareAndSet(QUEUED, ABANDONED); }
+
+        void run(FestivalState state) {
+            result = null;
+            error = null;
+            try {
+                result = command.apply(state);
+            } catch (RuntimeException ex) {
+                error = ex;
+            }
+        }
+
+        void complete() {
+            if (error != null) future.completeExceptionally(error);
+            else future.complete(result);
+        }
+    }
+
+    private final class Shard implements Runnable {
+        final Long festivalId;
+        final ConcurrentLinkedQueue<Pending<?>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile FestivalState state; // null = den exei fortwthei akoma
+
+        Shard(Long festivalId) { this.festivalId = festivalId; }
+
+        void enqueue(Pending<?> pending) {
+            queue.add(pending);
+            schedule();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                workers.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<Pending<?>> batch = new ArrayList<>(batchSize);
+                Pending<?> next;
+                // ena state change trexei monos tou: oi prohgoumenes entoles sto trexon batch, oi epomenes sto epomeno
+                while (batch.size() < batchSize && (next = queue.peek()) != null) {
+                    if (next.stateChange && !batch.isEmpty()) break;
+                    queue.poll();
+                    if (!next.claim()) continue;
+                    batch.add(next);
+                    if (next.stateChange) break;
+                }
+                if (!batch.isEmpty()) process(batch);
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty()) schedule();
+            }
+        }
+
+        private void process(List<Pending<?>> batch) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    FestivalState current = currentState();
+                    for (Pending<?> p : batch) p.run(current);
+                });
+                for (Pending<?> p : batch) {
+                    if (p.stateChange && p.error == null && p.result instanceof FestivalState changed) state = changed;
+                }
+            } catch (RuntimeException batchFailure) {
+                // To commit tou batch apetuxe (p.x. optimistic lock): kathe entolh ksana, sto diko ths transaction
+                log.debug("Batch commit failed for festival {}, retrying {} commands one by one",
+                        festivalId, batch.size(), batchFailure);
+                state = null; // kai meta apo ena state change pou eginetai edw: ksanadiavazetai
+                for (Pending<?> p : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(tx -> {
+                            p.run(currentState());
+                            if (p.error != null) tx.setRollbackOnly();
+                        });
+                    } catch (RuntimeException single) {
+                        p.error = single;
+                    }
+                }
+            }
+            batch.forEach(Pending::complete);
+        }
+
+        private FestivalState currentState() {
+            FestivalState s = state;
+            if (s == null) {
+                s = festivalRepository.findStateById(festivalId)
+                        .orElseThrow(() -> new NoSuchElementException("Festival not found"));
+                state = s;
+            }
+            return s;
+        }
+    }
+}
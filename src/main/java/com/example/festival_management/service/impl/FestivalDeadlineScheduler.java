@@ -0,0 +1,219 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.service.FestivalService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Scheduler gia ta phase deadlines twn festivals.
+// Krataei mia priority queue taksinomhmenh me to deadline kai ena thread pou koimatai
+// akrivws mexri to epomeno deadline (Condition.awaitNanos) - xwris polling tou pinaka.
+// Kathe festival exei to poly ena energo entry: ena neo schedule() akyrwnei to palio
+// (ta palia entries agnoountai otan vgoun apo thn oura).
+// Transition pou apotygxanei ksanadokimazetai me exponential backoff (retry-initial-ms, x2 kathe fora)
+// kai meta apo max-attempts prospatheies egkataleipetai (to festival menei sto state tou).
+@Component
+public class FestivalDeadlineScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(FestivalDeadlineScheduler.class);
+
+    private record Entry(Long festivalId, FestivalState state, LocalDateTime deadline, int attempt) {
+        Entry(Long festivalId, FestivalState state, LocalDateTime deadline) {
+            this(festivalId, state, deadline, 0);
+        }
+    }
+
+    private final FestivalRepository festivalRepository;
+    private final ObjectProvider<FestivalService> festivalService; // lazy: o FestivalServiceImpl mas kalei ki autos
+    private final long retryInitialMs;
+    private final int maxAttempts;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(
+            Comparator.comparing(Entry::deadline).thenComparing(Entry::festivalId));
+    private final Map<Long, Entry> active = new HashMap<>();
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public FestivalDeadlineScheduler(FestivalRepository festivalRepository,
+                                     ObjectProvider<FestivalService> festivalService,
+                                     @Value("${festival.deadlines.retry-initial-ms:60000}") long retryInitialMs,
+                                     @Value("${festival.deadlines.max-attempts:6}") int maxAttempts) {
+        this.festivalRepository = festivalRepository;
+        this.festivalService = festivalService;
+        this.retryInitialMs = Math.max(1, retryInitialMs);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    // Meta apo restart: h oura ksanaxtizetai apo th vash. Deadlines pou perasan oso
+    // htan katw h efarmogh ektelountai amesws.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<FestivalRepository.PendingDeadline> pending = festivalRepository.pendingDeadlines();
+        lock.lock();
+        try {
+            queue.clear();
+            active.clear();
+            for (FestivalRepository.PendingDeadline d : pending) {
+                enqueue(new Entry(d.getFestivalId(), d.getState(), d.getDeadline()));
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (worker == null) {
+            running = true;
+            worker = new Thread(this::loop, "festival-deadlines");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        log.info("Festival deadline scheduler started with {} pending deadlines", pending.size());
+    }
+
+    public void schedule(Long festivalId, FestivalState state, LocalDateTime deadline) {
+        lock.lock();
+        try {
+            if (deadline == null) {
+                active.remove(festivalId);
+                return;
+            }
+            Entry entry = new Entry(festivalId, state, deadline);
+            enqueue(entry);
+            if (queue.peek() == entry) changed.signalAll(); // neo prwto deadline -> ksypnaei to thread
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancel(Long festivalId) {
+        lock.lock();
+        try {
+            active.remove(festivalId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pending() {
+        lock.lock();
+        try {
+            return active.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Prepei na kaleitai me to lock
+    private void enqueue(Entry entry) {
+        active.put(entry.festivalId(), entry);
+        queue.add(entry);
+    }
+
+    private void loop() {
+        while (running) {
+            List<Entry> due;
+            try {
+                due = awaitDue();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (Entry entry : due) {
+                fire(entry);
+            }
+        }
+    }
+
+    // Perimenei mexri to prwto deadline kai epistrefei ola osa exoun lhksei
+    private List<Entry> awaitDue() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                Entry head = queue.peek();
+                if (head == null) {
+                    changed.await();
+                    continue;
+                }
+                if (active.get(head.festivalId()) != head) { // akyrwmeno h antikatastathike
+                    queue.poll();
+                    continue;
+                }
+                long waitNanos = Duration.between(LocalDateTime.now(), head.deadline()).toNanos();
+                if (waitNanos > 0) {
+                    changed.awaitNanos(waitNanos);
+                    continue;
+                }
+                List<Entry> due = new ArrayList<>();
+                LocalDateTime now = LocalDateTime.now();
+                while ((head = queue.peek()) != null && !head.deadline().isAfter(now)) {
+                    queue.poll();
+                    if (active.get(head.festivalId()) == head) {
+                        active.remove(head.festivalId());
+                        due.add(head);
+                    }
+                }
+                return due;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fire(Entry entry) {
+        try {
+            // To FestivalService ksanaelegxei to state kai programmatizei to deadline ths epomenhs phase
+            festivalService.getObject().applyScheduledTransition(entry.festivalId(), entry.state());
+        } catch (RuntimeException ex) {
+            int attempt = entry.attempt() + 1;
+            if (attempt >= maxAttempts) {
+                log.error("Scheduled transition of festival {} from {} failed {} times, giving up: {}",
+                        entry.festivalId(), entry.state(), attempt, ex.getMessage());
+                return;
+            }
+            long delayMs = retryInitialMs << Math.min(attempt - 1, 20);
+            log.warn("Scheduled transition of festival {} from {} failed (attempt {}), retrying in {} ms: {}",
+                    entry.festivalId(), entry.state(), attempt, delayMs, ex.getMessage());
+            // ksanadokimh, ektos an to deadline allakse sto metaksy
+            lock.lock();
+            try {
+                if (!active.containsKey(entry.festivalId())) {
+                    enqueue(new Entry(entry.festivalId(), entry.state(),
+                            LocalDateTime.now().plus(Duration.ofMillis(delayMs)), attempt));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        Thread t = worker;
+        if (t != null) {
+            t.interrupt();
+            t.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
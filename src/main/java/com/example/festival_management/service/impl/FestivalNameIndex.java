@@ -0,0 +1,144 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.repository.FestivalRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// In-memory typeahead index gia ta onomata twn festivals (sorted array + binary search).
+// Oi readers diavazoun ena immutable snapshot xwris locks· create/rename/delete ftiaxnoun
+// neo snapshot (copy-on-write), opote to /suggest den agizei pote th vash.
+@Component
+public class FestivalNameIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparing((Entry e) -> e.key).thenComparing(e -> e.id);
+
+    private final FestivalRepository festivalRepository;
+
+    private final Object writeLock = new Object();
+    private final Map<Long, Entry> byId = new HashMap<>(); // mono mesa sto writeLock
+    private volatile Entry[] entries = new Entry[0];
+
+    public FestivalNameIndex(FestivalRepository festivalRepository) {
+        this.festivalRepository = festivalRepository;
+    }
+
+    // Gemizei to index otan anevei h efarmogh (meta to data.sql)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<FestivalRepository.Option> options = festivalRepository.options();
+        synchronized (writeLock) {
+            byId.clear();
+            Entry[] fresh = new Entry[options.size()];
+            int i = 0;
+            for (FestivalRepository.Option o : options) {
+                Entry e = new Entry(o.getId(), o.getName());
+                byId.put(e.id, e);
+                fresh[i++] = e;
+            }
+            Arrays.sort(fresh, ORDER);
+            entries = fresh;
+        }
+    }
+
+    // Create h rename: antikathista to palio entry tou festival (an yparxei)
+    public void put(Long id, String name) {
+        if (id == null || name == null) return;
+        synchronized (writeLock) {
+            Entry previous = byId.get(id);
+            if (previous != null && previous.name.equals(name)) return;
+
+            Entry[] current = entries;
+            Entry[] base = previous == null ? current : without(current, previous);
+            Entry added = new Entry(id, name);
+            int pos = -(Arrays.binarySearch(base, added, ORDER) + 1);
+
+            Entry[] next = new Entry[base.length + 1];
+            System.arraycopy(base, 0, next, 0, pos);
+            next[pos] = added;
+            System.arraycopy(base, pos, next, pos + 1, base.length - pos);
+
+            byId.put(id, added);
+            entries = next;
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) return;
+        synchronized (writeLock) {
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                entries = without(entries, previous);
+            }
+        }
+    }
+
+    // Top-N festivals twn opoiwn to onoma ksekinaei me to prefix (case/tonos-insensitive)
+    public List<FestivalRepository.Option> suggest(String prefix, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String key = normalize(prefix);
+        Entry[] snapshot = entries;
+
+        int lo = 0, hi = snapshot.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (snapshot[mid].key.compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+
+        List<FestivalRepository.Option> result = new ArrayList<>(Math.min(max, snapshot.length - lo));
+        for (int i = lo; i < snapshot.length && result.size() < max; i++) {
+            if (!snapshot[i].key.startsWith(key)) break;
+            result.add(snapshot[i]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    static String normalize(String s) {
+        if (s == null) return "";
+        String stripped = Normalizer.normalize(s.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+
+    private static Entry[] without(Entry[] current, Entry victim) {
+        int pos = Arrays.binarySearch(current, victim, ORDER);
+        if (pos < 0) return current;
+        Entry[] next = new Entry[current.length - 1];
+        System.arraycopy(current, 0, next, 0, pos);
+        System.arraycopy(current, pos + 1, next, pos, current.length - pos - 1);
+        return next;
+    }
+
+    // Immutable entry· to key (normalized onoma) den vgainei sto JSON
+    static final class Entry implements FestivalRepository.Option {
+        private final Long id;
+        private final String name;
+        private final String key;
+
+        Entry(Long id, String name) {
+            this.id = id;
+            this.name = name;
+            this.key = normalize(name);
+        }
+
+        @Override public Long getId() { return id; }
+        @Override public String getName() { return name; }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.service.DomainEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+// Trexei ta phase hooks tou FestivalStateMachine otan allazei to state enos festival
+// (asygxrona, apo to outbox – to request tou organizer den perimenei ta bulk updates).
+@Component
+public class FestivalPhaseHandler implements DomainEventHandler {
+
+    private final FestivalStateMachine stateMachine;
+    private final ObjectMapper objectMapper;
+
+    public FestivalPhaseHandler(FestivalStateMachine stateMachine, ObjectMapper objectMapper) {
+        this.stateMachine = stateMachine;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return "FESTIVAL_STATE_CHANGED".equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        FestivalState from = FestivalState.valueOf(payload.path("from").asText());
+        FestivalState to = FestivalState.valueOf(payload.path("to").asText());
+        stateMachine.runHooks(event.getAggregateId(), from, to);
+    }
+}
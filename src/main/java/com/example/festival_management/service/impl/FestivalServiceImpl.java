@@ -6,16 +6,26 @@ import com.example.festival_management.entity.User;
 import com.example.festival_management.entity.enums.FestivalState;
 import com.example.festival_management.entity.enums.RoleType;
 import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.FestivalSpecifications;
 import com.example.festival_management.repository.RoleAssignmentRepository;
 import com.example.festival_management.service.FestivalService;
+import com.example.festival_management.util.AfterCommit;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.TreeMap;
  // Ylopoiisi FestivalService me kanones asfaleias/epixirisiakis logikis
 
 @Service
@@ -25,11 +35,35 @@ public class FestivalServiceImpl implements FestivalService {
 
     private final FestivalRepository festivalRepository;
     private final RoleAssignmentRepository roleAssignmentRepository;
+    private final FestivalNameIndex festivalNameIndex;
+    private final FestivalCommandProcessor commandProcessor;
+    private final DomainEventPublisher eventPublisher;
+    private final FestivalStateMachine stateMachine;
+    private final FestivalDeadlineScheduler deadlineScheduler;
+    private final AuditService auditService;
+    private final FestivalCalendarIndex calendarIndex;
+    private final ReadCoalescer readCoalescer;
 
     public FestivalServiceImpl(FestivalRepository festivalRepository,
-                               RoleAssignmentRepository roleAssignmentRepository) {
+                               RoleAssignmentRepository roleAssignmentRepository,
+                               FestivalNameIndex festivalNameIndex,
+                               FestivalCommandProcessor commandProcessor,
+                               DomainEventPublisher eventPublisher,
+                               FestivalStateMachine stateMachine,
+                               FestivalDeadlineScheduler deadlineScheduler,
+                               AuditService auditService,
+                               FestivalCalendarIndex calendarIndex,
+                               ReadCoalescer readCoalescer) {
         this.festivalRepository = festivalRepository;
         this.roleAssignmentRepository = roleAssignmentRepository;
+        this.festivalNameIndex = festivalNameIndex;
+        this.commandProcessor = commandProcessor;
+        this.eventPublisher = eventPublisher;
+        this.stateMachine = stateMachine;
+        this.deadlineScheduler = deadlineScheduler;
+        this.auditService = auditService;
+        this.calendarIndex = calendarIndex;
+        this.readCoalescer = readCoalescer;
     }
     // repositories pou xreiazontai
 //methodoi kai energeies pou aforoun festival
@@ -51,6 +85,11 @@ public class FestivalServiceImpl implements FestivalService {
         role.setRole(RoleType.ORGANIZER);
         roleAssignmentRepository.save(role);
 
+        AfterCommit.run(() -> {
+            festivalNameIndex.put(saved.getId(), saved.getName());
+            calendarIndex.put(saved);
+        });
+        readCoalescer.festivalChanged(saved.getId());
         return saved;
     }
 
@@ -73,7 +112,13 @@ public class FestivalServiceImpl implements FestivalService {
         existing.setEndDate(updatedFestival.getEndDate());
         existing.setVenue(updatedFestival.getVenue());
 
-        return festivalRepository.save(existing);
+        Festival saved = festivalRepository.save(existing);
+        AfterCommit.run(() -> {
+            festivalNameIndex.put(saved.getId(), saved.getName());
+            calendarIndex.put(saved);
+        });
+        readCoalescer.festivalChanged(saved.getId());
+        return saved;
     }
 
     @Override
@@ -90,6 +135,13 @@ public class FestivalServiceImpl implements FestivalService {
         }
 
         festivalRepository.delete(festival);
+        AfterCommit.run(() -> {
+            festivalNameIndex.remove(id);
+            calendarIndex.remove(id);
+            commandProcessor.evict(id);
+            deadlineScheduler.cancel(id);
+        });
+        readCoalescer.festivalChanged(id);
     }
 
     @Override
@@ -98,8 +150,36 @@ public class FestivalServiceImpl implements FestivalService {
     }
 
     @Override
-    public List<Festival> searchFestivals(String name, String description, String venue, String dates, User requester) {
-        return festivalRepository.findAll();
+    public Page<Festival> searchFestivals(String name, String description, String venue, String dates,
+                                          FestivalState state, Pageable pageable, User requester) {
+        LocalDate[] range = parseDates(dates);
+        Specification<Festival> spec = Specification.where(FestivalSpecifications.inState(state))
+                .and(FestivalSpecifications.overlaps(range[0], range[1]))
+                .and(FestivalSpecifications.nameContains(name))
+                .and(FestivalSpecifications.descriptionContains(description))
+                .and(FestivalSpecifications.venueContains(venue));
+        return festivalRepository.findAll(spec, pageable);
+    }
+
+    // "2025-06-01" -> [d, d], "2025-06-01..2025-06-30" -> [from, to], kena akra = anoixto diasthma
+    private static LocalDate[] parseDates(String dates) {
+        if (dates == null || dates.isBlank()) return new LocalDate[2];
+        try {
+            int sep = dates.indexOf("..");
+            if (sep < 0) {
+                LocalDate day = LocalDate.parse(dates.trim());
+                return new LocalDate[]{day, day};
+            }
+            String from = dates.substring(0, sep).trim();
+            String to = dates.substring(sep + 2).trim();
+            LocalDate[] range = {from.isEmpty() ? null : LocalDate.parse(from), to.isEmpty() ? null : LocalDate.parse(to)};
+            if (range[0] != null && range[1] != null && range[0].isAfter(range[1])) {
+                throw new IllegalArgumentException("dates: start is after end");
+            }
+            return range;
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("dates must be yyyy-MM-dd or yyyy-MM-dd..yyyy-MM-dd");
+        }
     }
 
     /** Προαιρετική βοήθεια για UI – δεν είναι απαραίτητα στο interface. */
@@ -163,18 +243,113 @@ public class FestivalServiceImpl implements FestivalService {
         }
     }
 
+    // H allagh phase pernaei apo to shard tou festival (opws ta performance transitions), wste
+    // kamia entolh tou shard na mh vlepei to palio phase meta to commit ths
     @Override
-    @Transactional
     public void changeFestivalState(Long festivalId, FestivalState newState, User requestingOrganizer) {
-        Festival festival = festivalRepository.findById(festivalId)
+        commandProcessor.changeState(festivalId, current -> {
+            Festival festival = festivalRepository.findWithDeadlinesById(festivalId)
+                    .orElseThrow(() -> new NoSuchElementException(FESTIVAL_NOT_FOUND_MSG));
+
+            if (!userIsOrganizer(requestingOrganizer, festival)) {
+                throw new SecurityException("Only organizers can change festival state.");
+            }
+
+            applyTransition(festival, newState, requestingOrganizer.getUsername());
+            return newState;
+        });
+    }
+
+    @Override
+    @Transactional
+    public Festival updatePhaseDeadlines(Long festivalId, Map<FestivalState, LocalDateTime> deadlines, User organizer) {
+        Festival festival = festivalRepository.findWithDeadlinesById(festivalId)
                 .orElseThrow(() -> new NoSuchElementException(FESTIVAL_NOT_FOUND_MSG));
 
-        if (!userIsOrganizer(requestingOrganizer, festival)) {
-            throw new SecurityException("Only organizers can change festival state.");
+        if (!userIsOrganizer(organizer, festival)) {
+            throw new SecurityException("Only organizers can set phase deadlines.");
+        }
+        if (festival.getState() == FestivalState.ANNOUNCED) {
+            throw new IllegalStateException("Cannot set deadlines of an announced festival.");
+        }
+
+        // Ta deadlines prepei na akolouthoun th seira twn phases
+        LocalDateTime previous = null;
+        for (FestivalState state : FestivalState.values()) {
+            LocalDateTime deadline = deadlines.get(state);
+            if (deadline == null) continue;
+            if (state == FestivalState.ANNOUNCED) {
+                throw new IllegalArgumentException("ANNOUNCED is the final phase and has no deadline.");
+            }
+            if (previous != null && !deadline.isAfter(previous)) {
+                throw new IllegalArgumentException("Deadline of " + state + " must be after the previous phase deadline.");
+            }
+            previous = deadline;
         }
 
+        festival.getPhaseDeadlines().clear();
+        festival.getPhaseDeadlines().putAll(deadlines);
+        Festival saved = festivalRepository.save(festival);
+
+        FestivalState state = saved.getState();
+        LocalDateTime current = deadlines.get(state);
+        AfterCommit.run(() -> deadlineScheduler.schedule(festivalId, state, current));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Optional<Map<FestivalState, LocalDateTime>> getPhaseDeadlines(Long festivalId) {
+        return festivalRepository.findWithDeadlinesById(festivalId)
+                .map(f -> new TreeMap<>(f.getPhaseDeadlines())); // me th seira twn phases
+    }
+
+    @Override
+    public boolean applyScheduledTransition(Long festivalId, FestivalState expectedState) {
+        return commandProcessor.changeState(festivalId, current -> {
+            Festival festival = festivalRepository.findWithDeadlinesById(festivalId).orElse(null);
+            if (festival == null || festival.getState() != expectedState) {
+                return null; // allakse xeirokinhta sto metaksy
+            }
+            LocalDateTime deadline = festival.getPhaseDeadlines().get(expectedState);
+            if (deadline == null) {
+                return null;
+            }
+            if (deadline.isAfter(LocalDateTime.now())) {
+                // to deadline metakinhthke argotera
+                AfterCommit.run(() -> deadlineScheduler.schedule(festivalId, expectedState, deadline));
+                return null;
+            }
+            FestivalState next = stateMachine.next(expectedState).orElse(null);
+            if (next == null) {
+                return null;
+            }
+            applyTransition(festival, next, "scheduler");
+            return next;
+        }) != null;
+    }
+
+    private void applyTransition(Festival festival, FestivalState newState, String by) {
+        Long festivalId = festival.getId();
+        FestivalState previous = festival.getState();
+        stateMachine.validate(previous, newState);
         festival.setState(newState);
         festivalRepository.save(festival);
+
+        // Τα side effects (auto-rejects, notifications, caches) τρέχουν ασύγχρονα από το outbox
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("festivalId", festivalId);
+        payload.put("from", previous);
+        payload.put("to", newState);
+        payload.put("by", by);
+        eventPublisher.publish(DomainEventPublisher.FESTIVAL, festivalId, "FESTIVAL_STATE_CHANGED", payload);
+        auditService.record(by, DomainEventPublisher.FESTIVAL, festivalId, festivalId,
+                "STATE " + previous + " -> " + newState, null);
+
+        // to cached state tou shard to allazei o worker meta to commit
+        LocalDateTime nextDeadline = festival.getPhaseDeadlines().get(newState);
+        AfterCommit.run(() -> deadlineScheduler.schedule(festivalId, newState, nextDeadline));
+        readCoalescer.festivalChanged(festivalId);
     }
 
     // --------- ΝΕΕΣ ΥΛΟΠΟΙΗΣΕΙΣ για τα GET endpoints ---------
@@ -0,0 +1,127 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// State machine gia to FestivalState: dhlwmena transitions + hooks ana transition.
+// Ta hooks einai set-based allages sta performances tou festival (mass reject klp) kai
+// trexoun ektos tou request, apo to FESTIVAL_STATE_CHANGED event tou outbox, se chunks.
+@Component
+public class FestivalStateMachine {
+
+    private static final Logger log = LoggerFactory.getLogger(FestivalStateMachine.class);
+
+    public record Transition(FestivalState from, FestivalState to) {
+        @Override
+        public String toString() { return from + " -> " + to; }
+    }
+
+    // Ena hook: ola ta performances tou festival me status "from" pernane se "to"
+    public record PhaseHook(String name, PerformanceStatus from, PerformanceStatus to) {}
+
+    // Proodos tou teleutaiou transition ana festival (gia to UI / monitoring)
+    public record Progress(String transition, String hook, long processed, long total,
+                           boolean done, String error, LocalDateTime updatedAt) {}
+
+    private static final Map<FestivalState, Set<FestivalState>> TRANSITIONS = new EnumMap<>(FestivalState.class);
+    private static final Map<Transition, List<PhaseHook>> HOOKS = new ConcurrentHashMap<>();
+
+    static {
+        declare(FestivalState.CREATED, FestivalState.SUBMISSION);
+        declare(FestivalState.SUBMISSION, FestivalState.ASSIGNMENT);
+        declare(FestivalState.ASSIGNMENT, FestivalState.REVIEW);
+        declare(FestivalState.REVIEW, FestivalState.SCHEDULING);
+        declare(FestivalState.SCHEDULING, FestivalState.FINAL_SUBMISSION);
+        declare(FestivalState.FINAL_SUBMISSION, FestivalState.DECISION);
+        declare(FestivalState.DECISION, FestivalState.ANNOUNCED);
+
+        // Φεύγοντας από FINAL_SUBMISSION: όσα APPROVED δεν έκαναν final submit απορρίπτονται
+        hook(FestivalState.FINAL_SUBMISSION, FestivalState.DECISION,
+                new PhaseHook("auto-reject-unsubmitted", PerformanceStatus.APPROVED, PerformanceStatus.REJECTED));
+    }
+
+    private final PerformanceBulkTransitions bulkTransitions;
+    private final ConcurrentHashMap<Long, Progress> progress = new ConcurrentHashMap<>();
+
+    public FestivalStateMachine(PerformanceBulkTransitions bulkTransitions) {
+        this.bulkTransitions = bulkTransitions;
+    }
+
+    private static void declare(FestivalState from, FestivalState to) {
+        TRANSITIONS.computeIfAbsent(from, k -> EnumSet.noneOf(FestivalState.class)).add(to);
+    }
+
+    private static void hook(FestivalState from, FestivalState to, PhaseHook hook) {
+        HOOKS.merge(new Transition(from, to), List.of(hook), (a, b) -> {
+            List<PhaseHook> merged = new ArrayList<>(a);
+            merged.addAll(b);
+            return List.copyOf(merged);
+        });
+    }
+
+    public boolean canTransition(FestivalState from, FestivalState to) {
+        return TRANSITIONS.getOrDefault(from, Collections.emptySet()).contains(to);
+    }
+
+    public void validate(FestivalState from, FestivalState to) {
+        if (to == null || !canTransition(from, to)) {
+            throw new IllegalStateException("Invalid festival state transition: " + from + " -> " + to
+                    + " (allowed: " + allowedFrom(from) + ")");
+        }
+    }
+
+    public Set<FestivalState> allowedFrom(FestivalState state) {
+        return Collections.unmodifiableSet(TRANSITIONS.getOrDefault(state, EnumSet.noneOf(FestivalState.class)));
+    }
+
+    // To epomeno state sth grammikh roh (gia ta deadlines)
+    public Optional<FestivalState> next(FestivalState state) {
+        return allowedFrom(state).stream().findFirst();
+    }
+
+    public List<PhaseHook> hooksFor(FestivalState from, FestivalState to) {
+        return HOOKS.getOrDefault(new Transition(from, to), List.of());
+    }
+
+    // Trexei ta hooks tou transition. Idempotent (ta bulk updates filtrarontai me to "from" status),
+    // ara asfales gia to at-least-once tou outbox.
+    public void runHooks(Long festivalId, FestivalState from, FestivalState to) {
+        Transition transition = new Transition(from, to);
+        for (PhaseHook hook : hooksFor(from, to)) {
+            try {
+                long changed = bulkTransitions.run(festivalId, hook.from(), hook.to(), (processed, total) ->
+                        progress.put(festivalId, new Progress(transition.toString(), hook.name(),
+                                processed, total, false, null, LocalDateTime.now())));
+                Progress last = progress.get(festivalId);
+                progress.put(festivalId, new Progress(transition.toString(), hook.name(), changed,
+                        last == null ? changed : last.total(), true, null, LocalDateTime.now()));
+                log.info("Festival {} {}: hook {} moved {} performances {} -> {}",
+                        festivalId, transition, hook.name(), changed, hook.from(), hook.to());
+            } catch (RuntimeException ex) {
+                Progress last = progress.get(festivalId);
+                progress.put(festivalId, new Progress(transition.toString(), hook.name(),
+                        last == null ? 0 : last.processed(), last == null ? 0 : last.total(),
+                        false, ex.getMessage(), LocalDateTime.now()));
+                throw ex;
+            }
+        }
+    }
+
+    public Optional<Progress> progress(Long festivalId) {
+        return Optional.ofNullable(progress.get(festivalId));
+    }
+}
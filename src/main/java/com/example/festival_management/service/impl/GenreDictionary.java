@@ -0,0 +1,130 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.Genre;
+import com.example.festival_management.repository.GenreRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory lexiko genres: normalized onoma -> (id, onoma) kai id -> onoma.
+// Ta genres einai liga kai allazoun spania, opote oles oi anazhthseis (converter, filtra)
+// ginontai edw. Neo genre grafetai se diko tou transaction (REQUIRES_NEW): mpainei sto lexiko
+// mono afou ginei commit, akoma kai an to transaction tou performance kanei meta rollback.
+@Component
+public class GenreDictionary implements SmartInitializingSingleton {
+
+    public static final int MAX_NAME_LENGTH = 64;
+
+    public record Entry(Integer id, String name) {}
+
+    private final GenreRepository genreRepository;
+    private final TransactionTemplate requiresNew;
+    private final ConcurrentHashMap<String, Entry> byKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Entry> byId = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public GenreDictionary(GenreRepository genreRepository, PlatformTransactionManager transactionManager) {
+        this.genreRepository = genreRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureLoaded();
+    }
+
+    // To kanoniko onoma tou genre, to dhmiourgei an den yparxei ("  hip-hop" -> "Hip-Hop" an yparxei hdh)
+    public String intern(String name) {
+        String display = displayName(name);
+        if (display.isEmpty()) throw new IllegalArgumentException("Genre is required");
+        if (display.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Genre must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        String key = normalize(display);
+        Entry known = lookup(key);
+        if (known != null) return known.name();
+
+        synchronized (this) {
+            known = lookup(key);
+            if (known != null) return known.name();
+            Genre saved;
+            try {
+                saved = requiresNew.execute(status -> genreRepository.findByNormalizedName(key)
+                        .orElseGet(() -> genreRepository.saveAndFlush(new Genre(display, key))));
+            } catch (DataIntegrityViolationException ex) {
+                // to egrapse allos komvos metaksy select kai insert
+                saved = requiresNew.execute(status -> genreRepository.findByNormalizedName(key)).orElseThrow(() -> ex);
+            }
+            return put(saved).name();
+        }
+    }
+
+    public Optional<String> canonicalName(String name) {
+        return Optional.ofNullable(lookup(normalize(name))).map(Entry::name);
+    }
+
+    public Optional<Integer> idOf(String name) {
+        return Optional.ofNullable(lookup(normalize(name))).map(Entry::id);
+    }
+
+    public String nameOf(Integer id) {
+        ensureLoaded();
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            // genre apo allo komvo
+            entry = requiresNew.execute(status -> genreRepository.findById(id)).map(this::put)
+                    .orElseThrow(() -> new IllegalStateException("Unknown genre id " + id));
+        }
+        return entry.name();
+    }
+
+    public List<Entry> all() {
+        ensureLoaded();
+        List<Entry> entries = new ArrayList<>(byId.values());
+        entries.sort(Comparator.comparing(Entry::name, String.CASE_INSENSITIVE_ORDER));
+        return entries;
+    }
+
+    // Kleidi anazhthshs: xwris tonous, peza, '-'/'_'/'/' kai polla kena ginontai ena keno
+    public static String normalize(String name) {
+        return FestivalNameIndex.normalize(name).replaceAll("[\\s\\-_/]+", " ").trim();
+    }
+
+    static String displayName(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ");
+    }
+
+    // Mono sth mnhmh: ta filtra me agnwsto genre den kostizoun query
+    private Entry lookup(String key) {
+        if (key.isEmpty()) return null;
+        ensureLoaded();
+        return byKey.get(key);
+    }
+
+    private Entry put(Genre genre) {
+        Entry entry = new Entry(genre.getId(), genre.getName());
+        byKey.put(genre.getNormalizedName(), entry);
+        byId.put(entry.id(), entry);
+        return entry;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            List<Genre> genres = requiresNew.execute(status -> genreRepository.findAll());
+            genres.forEach(this::put);
+            loaded = true;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.dto.Lineup;
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.service.DomainEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Proypologismena dhmosia line-ups: otan ena festival ginei ANNOUNCED to line-up tou den allazei,
+// opote to JSON ftiaxnetai mia fora, sympiezetai (gzip) kai krataei sth mnhmh. To request
+// grafei ta idia bytes xwris query kai xwris serialization.
+// To ETag einai hash tou JSON: idio periexomeno -> idio ETag (kai meta apo restart h se allo komvo).
+// Ksanaftiaxnetai mono apo events tou outbox pou aforoun to festival (h lazy meta apo restart).
+@Component
+public class LineupSnapshotService implements DomainEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(LineupSnapshotService.class);
+
+    // Ta bytes den allazoun meta to build· o caller den prepei na ta peiraksei
+    public record Snapshot(byte[] gzip, int jsonLength, String etag, int performances) {}
+
+    private final FestivalRepository festivalRepository;
+    private final PerformanceRepository performanceRepository;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public LineupSnapshotService(FestivalRepository festivalRepository,
+                                 PerformanceRepository performanceRepository,
+                                 ObjectMapper objectMapper) {
+        this.festivalRepository = festivalRepository;
+        this.performanceRepository = performanceRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Empty an to festival den yparxei h den einai akoma ANNOUNCED
+    public Optional<Snapshot> get(Long festivalId) {
+        Snapshot cached = snapshots.get(festivalId);
+        if (cached != null) return Optional.of(cached);
+        if (festivalRepository.findStateById(festivalId).orElse(null) != FestivalState.ANNOUNCED) {
+            return Optional.empty();
+        }
+        // prwto request meta to restart: an to ftiakse parallhla to outbox, kratame auto
+        Snapshot built = build(festivalId);
+        Snapshot raced = built == null ? null : snapshots.putIfAbsent(festivalId, built);
+        return Optional.ofNullable(raced != null ? raced : built);
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return "FESTIVAL_STATE_CHANGED".equals(eventType)
+                || "PERFORMANCES_BULK_TRANSITIONED".equals(eventType)
+                || eventType.startsWith("PERFORMANCE_");
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        if ("FESTIVAL_STATE_CHANGED".equals(event.getEventType())) {
+            if (FestivalState.ANNOUNCED.name().equals(payload.path("to").asText())) {
+                refresh(event.getAggregateId(), true);
+            } else {
+                snapshots.remove(event.getAggregateId());
+            }
+        } else if ("PERFORMANCES_BULK_TRANSITIONED".equals(event.getEventType())) {
+            refresh(event.getAggregateId(), false);
+        } else if (payload.hasNonNull("festivalId")) {
+            refresh(payload.path("festivalId").asLong(), false);
+        }
+    }
+
+    // Mono ta festivals pou exoun hdh snapshot (ta ypoloipa ftiaxnontai lazy sto prwto get)
+    private void refresh(Long festivalId, boolean announced) {
+        if (!announced && !snapshots.containsKey(festivalId)) return;
+        Snapshot built = build(festivalId);
+        if (built == null) {
+            snapshots.remove(festivalId);
+            return;
+        }
+        Snapshot previous = snapshots.put(festivalId, built);
+        if (previous == null || !previous.etag().equals(built.etag())) {
+            log.info("Line-up snapshot of festival {}: {} performances, {} -> {} bytes gzip",
+                    festivalId, built.performances(), built.jsonLength(), built.gzip().length);
+        }
+    }
+
+    private Snapshot build(Long festivalId) {
+        Festival festival = festivalRepository.findById(festivalId).orElse(null);
+        if (festival == null) return null;
+
+        List<Lineup.Act> acts = new ArrayList<>(performanceRepository.findLineup(festivalId, PerformanceStatus.ACCEPTED));
+        acts.sort(Comparator.comparing(LineupSnapshotService::firstSlot, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Lineup.Act::name, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Lineup.Act::id));
+        Lineup lineup = new Lineup(festival.getId(), festival.getName(), festival.getVenue(),
+                festival.getStartDate(), festival.getEndDate(), List.copyOf(acts));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(lineup);
+            return new Snapshot(gzip(json), json.length, etag(json), acts.size());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static LocalDateTime firstSlot(Lineup.Act act) {
+        return act.performanceSlots() == null ? null
+                : act.performanceSlots().stream().min(Comparator.naturalOrder()).orElse(null);
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        // ftiaxnetai spania, ara aksizei to BEST_COMPRESSION (opws ston StaticAssetPrecompressor)
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            { def.setLevel(Deflater.BEST_COMPRESSION); }
+        }) {
+            out.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
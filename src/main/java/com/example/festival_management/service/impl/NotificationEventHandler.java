@@ -0,0 +1,53 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.service.DomainEventHandler;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Eidopoihseis pros tous artists gia allages status sta performances tous.
+// Pros to paron grafei mono sto log (to email integration den yparxei akoma).
+// Ta bulk transitions (phase hooks) vgazoun mia eidopoihsh ana performance tou chunk.
+@Component
+public class NotificationEventHandler implements DomainEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationEventHandler.class);
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+    static final String STATUS_CHANGED = "PERFORMANCE_STATUS_CHANGED";
+    static final String BULK = "PERFORMANCES_BULK_TRANSITIONED";
+
+    private final ObjectMapper objectMapper;
+
+    public NotificationEventHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return STATUS_CHANGED.equals(eventType) || BULK.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        if (!BULK.equals(event.getEventType())) {
+            notifyArtist(event.getAggregateId(), event.getPayload());
+            return;
+        }
+        Map<String, Object> payload = objectMapper.readValue(event.getPayload(), MAP);
+        if (payload.get("artists") instanceof Map<?, ?> artists) {
+            artists.forEach((id, artist) -> notifyArtist(Long.valueOf(String.valueOf(id)), objectMapper
+                    .valueToTree(Map.of("from", payload.get("from"), "to", payload.get("to"),
+                            "artist", String.valueOf(artist))).toString()));
+        }
+    }
+
+    void notifyArtist(Long performanceId, String change) {
+        log.info("Notify artist: performance {} -> {}", performanceId, change);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.repository.OutboxEventRepository;
+import com.example.festival_management.service.DomainEventHandler;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Background dispatcher tou outbox: kanei poll se batches kai paradidei ta events stous
+// DomainEventHandler. Ta events xwrizontai se "lanes" ana aggregate (festival/performance),
+// wste mesa se ena batch h seira ana aggregate na krataei, enw diaforetika aggregates trexoun parallhla.
+// Kai metaksy polls: to findPending den dinei event oso ena palaiotero tou idiou aggregate perimenei.
+// Kathe batch ginetai claim (token + lease) prin paradothei, wste se polloys komvous na mh to paradidoun dyo.
+// At-least-once: ena event shmeiwnetai processed mono afou to xeiristoun oloi oi handlers.
+// Event pou eksantlhse ta max-attempts krata piso to aggregate tou: log.error, GET /api/admin/outbox/failed, retry.
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final long MAX_BACKOFF_SECONDS = 300;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<DomainEventHandler> handlers;
+    private final ExecutorService lanes;
+    private final int parallelism;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+    private final long retentionHours;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ObjectProvider<DomainEventHandler> handlers,
+                            @Value("${outbox.parallelism:4}") int parallelism,
+                            @Value("${outbox.batch-size:200}") int batchSize,
+                            @Value("${outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+                            @Value("${outbox.max-attempts:20}") int maxAttempts,
+                            @Value("${outbox.lease-seconds:300}") long leaseSeconds,
+                            @Value("${outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.parallelism = Math.max(1, parallelism);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerPoll = Math.max(1, maxBatchesPerPoll);
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = Math.max(1, leaseSeconds);
+        this.retentionHours = retentionHours;
+        AtomicInteger seq = new AtomicInteger();
+        this.lanes = Executors.newFixedThreadPool(this.parallelism, r -> {
+            Thread t = new Thread(r, "outbox-lane-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // fixedDelay: to epomeno poll ksekinaei afou teleiwsei to prohgoumeno batch.
+    // Gemato batch -> pithanws yparxoun ki alla, alla to poly maxBatchesPerPoll ana poll
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void poll() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            if (dispatchBatch() < batchSize) return;
+        }
+    }
+
+    // Epistrefei posa events diavastikan
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> candidates = outboxEventRepository.findPending(now, maxAttempts, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) return 0;
+
+        String token = UUID.randomUUID().toString();
+        Set<Long> ids = new HashSet<>();
+        candidates.forEach(e -> ids.add(e.getId()));
+        outboxEventRepository.claim(ids, token, now.plusSeconds(leaseSeconds), now);
+        List<OutboxEvent> batch = outboxEventRepository.findClaimed(token);
+        batch.forEach(e -> ids.remove(e.getId()));
+        if (!ids.isEmpty()) {
+            // ta pire allos komvos, h ena palaiotero event tou aggregate tous to exei allos
+            outboxEventRepository.release(ids, token);
+        }
+        if (batch.isEmpty()) return candidates.size();
+
+        List<List<OutboxEvent>> byLane = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) byLane.add(new ArrayList<>());
+        for (OutboxEvent e : batch) {
+            int lane = Math.floorMod((e.getAggregateType() + ":" + e.getAggregateId()).hashCode(), parallelism);
+            byLane.get(lane).add(e);
+        }
+
+        List<DomainEventHandler> registered = handlers.orderedStream().toList();
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (List<OutboxEvent> laneEvents : byLane) {
+            if (laneEvents.isEmpty()) continue;
+            running.add(CompletableFuture.runAsync(() -> runLane(laneEvents, registered), lanes));
+        }
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+        return candidates.size();
+    }
+
+    private void runLane(List<OutboxEvent> events, List<DomainEventHandler> registered) {
+        List<Long> done = new ArrayList<>(events.size());
+        // aggregates me apotyxhmeno event se auto to batch -> pote ksanadokimazoun
+        Map<String, LocalDateTime> blocked = new HashMap<>();
+        Map<LocalDateTime, List<Long>> deferred = new HashMap<>();
+
+        for (OutboxEvent event : events) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            LocalDateTime retryAt = blocked.get(aggregate);
+            if (retryAt != null) {
+                // krata th seira: ta epomena events tou aggregate perimenoun to apotyxhmeno
+                deferred.computeIfAbsent(retryAt, k -> new ArrayList<>()).add(event.getId());
+                continue;
+            }
+
+            try {
+                for (DomainEventHandler handler : registered) {
+                    if (handler.supports(event.getEventType())) {
+                        handler.handle(event);
+                    }
+                }
+                done.add(event.getId());
+            } catch (Exception ex) {
+                long backoff = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(event.getAttempts(), 16));
+                LocalDateTime next = LocalDateTime.now().plusSeconds(backoff);
+                blocked.put(aggregate, next);
+                String error = String.valueOf(ex.getMessage());
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    log.error("Outbox event {} ({}) gave up after {} attempts, later events of {} are held until it is retried: {}",
+                            event.getId(), event.getEventType(), event.getAttempts() + 1, aggregate, error);
+                } else {
+                    log.warn("Outbox event {} ({}) failed on attempt {}: {}",
+                            event.getId(), event.getEventType(), event.getAttempts() + 1, error);
+                }
+                outboxEventRepository.markFailed(event.getId(), next,
+                        error.length() > 1000 ? error.substring(0, 1000) : error);
+            }
+        }
+        if (!done.isEmpty()) {
+            outboxEventRepository.markProcessed(done, LocalDateTime.now());
+        }
+        deferred.forEach((next, ids) -> outboxEventRepository.deferUntil(ids, next));
+    }
+
+    // Events pou eksantlhsan tis prospatheies (den svhnontai apo to purge)
+    public List<OutboxEvent> exhausted(int limit) {
+        return outboxEventRepository.findExhausted(maxAttempts, PageRequest.of(0, Math.max(1, limit)));
+    }
+
+    // Ksana apo thn arxh: to event kai ta epomena tou aggregate tou ksanaparadidontai
+    public boolean retry(Long id) {
+        return outboxEventRepository.resetAttempts(id) > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        int purged = outboxEventRepository.purgeProcessed(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) log.debug("Purged {} processed outbox events", purged);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.shutdown();
+    }
+}
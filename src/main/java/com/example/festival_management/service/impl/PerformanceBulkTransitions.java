@@ -0,0 +1,104 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.dto.PerformanceFacets.Cell;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Set-based allagh status gia ola ta performances enos festival me sygkekrimeno status.
+// Trexei se chunks (keyset sto id), to kathe chunk se diko tou transaction, wste ena festival
+// me 50k performances na mhn kratei ena terastio transaction/locks.
+@Component
+public class PerformanceBulkTransitions {
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long processed, long total);
+    }
+
+    private record Chunk(long lastId, int updated) {}
+
+    private final PerformanceRepository performanceRepository;
+    private final PerformanceFacetCounter facetCounter;
+    private final DomainEventPublisher eventPublisher;
+    private final ReadCoalescer readCoalescer;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public PerformanceBulkTransitions(PerformanceRepository performanceRepository,
+                                      PerformanceFacetCounter facetCounter,
+                                      DomainEventPublisher eventPublisher,
+                                      ReadCoalescer readCoalescer,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${festival.phase.chunk-size:1000}") int chunkSize) {
+        this.performanceRepository = performanceRepository;
+        this.facetCounter = facetCounter;
+        this.eventPublisher = eventPublisher;
+        this.readCoalescer = readCoalescer;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Idempotent: ksanatreksimo meta apo apotyxia synexizei apo ta performances pou emeinan sto "from"
+    public long run(Long festivalId, PerformanceStatus from, PerformanceStatus to, ProgressListener listener) {
+        long total = performanceRepository.countByFestivalIdAndStatus(festivalId, from);
+        long processed = 0;
+        long afterId = 0;
+        listener.onProgress(0, total);
+
+        while (true) {
+            final long cursor = afterId;
+            Chunk chunk = chunkTransaction.execute(tx -> runChunk(festivalId, from, to, cursor));
+            if (chunk == null) break;
+            processed += chunk.updated();
+            afterId = chunk.lastId();
+            listener.onProgress(processed, Math.max(total, processed));
+        }
+        return processed;
+    }
+
+    private Chunk runChunk(Long festivalId, PerformanceStatus from, PerformanceStatus to, long afterId) {
+        List<PerformanceRepository.IdGenre> rows = performanceRepository.findTransitionChunk(
+                festivalId, from, afterId, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) return null;
+
+        List<Long> ids = rows.stream().map(PerformanceRepository.IdGenre::getId).toList();
+        int updated = performanceRepository.bulkTransition(ids, from, to);
+
+        if (updated == rows.size()) {
+            Map<String, Long> byGenre = new HashMap<>();
+            rows.forEach(r -> byGenre.merge(r.getGenre(), 1L, Long::sum));
+            byGenre.forEach((genre, n) ->
+                    facetCounter.moved(new Cell(from, genre, festivalId), new Cell(to, genre, festivalId), n));
+        } else {
+            // Kapoio allakse parallhla: ta counters ksanaypologizontai apo th vash
+            AfterCommit.run(facetCounter::rebuild);
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("festivalId", festivalId);
+        payload.put("from", from);
+        payload.put("to", to);
+        payload.put("performanceIds", ids);
+        // performance id -> artist, gia tis eidopoihseis ana performance (NotificationEventHandler)
+        Map<Long, String> artists = new LinkedHashMap<>();
+        rows.forEach(r -> artists.put(r.getId(), r.getArtist()));
+        payload.put("artists", artists);
+        eventPublisher.publish(DomainEventPublisher.FESTIVAL, festivalId, "PERFORMANCES_BULK_TRANSITIONED", payload);
+        readCoalescer.performancesChanged();
+
+        return new Chunk(ids.get(ids.size() - 1), updated);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.dto.PerformanceFacets;
+import com.example.festival_management.dto.PerformanceFacets.Cell;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.util.AfterCommit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory pinakas counters (status, genre, festival) -> count.
+// Gemizei me ena grouped query sto startup kai meta enhmerwnetai incrementally
+// (meta to commit) apo ta transitions tou PerformanceServiceImpl, wste oi status tabs
+// na mhn plhrwnoun COUNT(*) se kathe fortwma.
+// Ta deltas pairnoun to read lock (trexoun parallhla metaksy tous), to rebuild to write lock
+// gia query + swap: kanena delta den peftei ston palio pinaka enw xtizetai o neos. Menei mono
+// to (mikro) parathyro anamesa se commit kai afterCommit callback enos transaction pou eixe
+// hdh commit prin to query: to delta tou efarmozetai meta to swap kai metrietai dyo fores
+// mexri to epomeno rebuild.
+@Component
+public class PerformanceFacetCounter {
+
+    private final PerformanceRepository performanceRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile ConcurrentHashMap<Cell, LongAdder> cells = new ConcurrentHashMap<>();
+
+    public PerformanceFacetCounter(PerformanceRepository performanceRepository) {
+        this.performanceRepository = performanceRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            ConcurrentHashMap<Cell, LongAdder> fresh = new ConcurrentHashMap<>();
+            countFromDatabase(null).forEach((cell, n) -> fresh.computeIfAbsent(cell, c -> new LongAdder()).add(n));
+            cells = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Grouped query (ena pass) gia opoiodhpote term – xrhsimopoieitai kai gia to search
+    public Map<Cell, Long> countFromDatabase(String term) {
+        Map<Cell, Long> counts = new HashMap<>();
+        for (PerformanceRepository.FacetRow row : performanceRepository.facetCounts(term)) {
+            counts.merge(new Cell(row.getStatus(), row.getGenre(), row.getFestivalId()), row.getCnt(), Long::sum);
+        }
+        return counts;
+    }
+
+    public PerformanceFacets snapshot() {
+        Map<Cell, Long> counts = new HashMap<>();
+        cells.forEach((cell, n) -> counts.put(cell, n.sum()));
+        return PerformanceFacets.from(counts);
+    }
+
+    public static Cell cellOf(Performance p) {
+        return new Cell(p.getStatus(), p.getGenre(),
+                p.getFestival() == null ? null : p.getFestival().getId());
+    }
+
+    public void created(Performance p) {
+        Cell cell = cellOf(p);
+        AfterCommit.run(() -> apply(() -> adder(cell).increment()));
+    }
+
+    public void removed(Cell cell) {
+        AfterCommit.run(() -> apply(() -> adder(cell).decrement()));
+    }
+
+    // Metafora apo to palio cell sto neo (status transition h allagh genre)
+    public void moved(Cell before, Performance after) {
+        Cell now = cellOf(after);
+        if (Objects.equals(before, now)) return;
+        AfterCommit.run(() -> apply(() -> {
+            adder(before).decrement();
+            adder(now).increment();
+        }));
+    }
+
+    // Bulk metafora n performances (phase hooks)
+    public void moved(Cell before, Cell now, long n) {
+        if (n <= 0 || Objects.equals(before, now)) return;
+        AfterCommit.run(() -> apply(() -> {
+            adder(before).add(-n);
+            adder(now).add(n);
+        }));
+    }
+
+    private void apply(Runnable delta) {
+        lock.readLock().lock();
+        try {
+            delta.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private LongAdder adder(Cell cell) {
+        return cells.computeIfAbsent(cell, c -> new LongAdder());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.dto.PerformanceHistoryEntry;
+import com.example.festival_management.dto.PerformanceState;
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.PerformanceEvent;
+import com.example.festival_management.entity.PerformanceSnapshot;
+import com.example.festival_management.repository.PerformanceEventRepository;
+import com.example.festival_management.repository.PerformanceSnapshotRepository;
+import com.example.festival_management.service.DomainEventHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Event-sourced istoriko twn performances, xtismeno apo ta domain events tou outbox
+// (ektos tou request: o OutboxDispatcher ta paradidei asygxrona).
+// Kathe event ginetai mia grammh me tis allages pou efere. Ana performance.history.snapshot-every
+// events grafetai snapshot, wste to state se opoiadhpote stigmh na xreiazetai to poly toso replay.
+@Component
+public class PerformanceHistoryService implements DomainEventHandler {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private static final String BULK = "PERFORMANCES_BULK_TRANSITIONED";
+    private static final Set<String> TYPES = Set.of(
+            "PERFORMANCE_CREATED", "PERFORMANCE_UPDATED", "PERFORMANCE_STATUS_CHANGED",
+            "PERFORMANCE_REVIEWED", "PERFORMANCE_STAFF_ASSIGNED", "PERFORMANCE_DELETED", BULK);
+
+    private final PerformanceEventRepository eventRepository;
+    private final PerformanceSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+
+    public PerformanceHistoryService(PerformanceEventRepository eventRepository,
+                                     PerformanceSnapshotRepository snapshotRepository,
+                                     ObjectMapper objectMapper,
+                                     @Value("${performance.history.snapshot-every:20}") int snapshotEvery) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return TYPES.contains(eventType);
+    }
+
+    @Override
+    @Transactional
+    public void handle(OutboxEvent event) throws Exception {
+        Map<String, Object> payload = objectMapper.readValue(event.getPayload(), MAP);
+        Map<String, Object> changes = changesOf(event.getEventType(), payload);
+
+        if (BULK.equals(event.getEventType())) {
+            Object ids = payload.get("performanceIds");
+            if (ids instanceof List<?> list) {
+                for (Object id : list) {
+                    append(((Number) id).longValue(), event, changes);
+                }
+            }
+        } else {
+            append(event.getAggregateId(), event, changes);
+        }
+    }
+
+    // State tou performance sth stigmh at: teleutaio snapshot prin apo to at + replay twn events meta apo auto
+    public Optional<PerformanceState> stateAsOf(Long performanceId, LocalDateTime at) {
+        Optional<PerformanceSnapshot> snapshot = snapshotRepository
+                .findFirstByPerformanceIdAndOccurredAtLessThanEqualOrderByOccurredAtDescIdDesc(performanceId, at);
+        List<PerformanceEvent> events = snapshot
+                .map(s -> eventRepository.findBetween(performanceId, s.getOccurredAt(), s.getLastEventId(), at))
+                .orElseGet(() -> eventRepository.findUpTo(performanceId, at));
+        if (snapshot.isEmpty() && events.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> state = snapshot.map(s -> read(s.getState())).orElseGet(LinkedHashMap::new);
+        events.forEach(e -> state.putAll(read(e.getChanges())));
+        long version = snapshot.map(PerformanceSnapshot::getEventCount).orElse(0L) + events.size();
+        return Optional.of(new PerformanceState(performanceId, at, version, events.size(), state));
+    }
+
+    public List<PerformanceHistoryEntry> timeline(Long performanceId) {
+        return eventRepository.findByPerformanceIdOrderByOccurredAtAscIdAsc(performanceId).stream()
+                .map(e -> new PerformanceHistoryEntry(e.getOccurredAt(), e.getEventType(), read(e.getChanges())))
+                .toList();
+    }
+
+    // Ola ta pedia tou performance gia to PERFORMANCE_CREATED (arxiko state sto istoriko)
+    public static Map<String, Object> fieldsOf(Performance p) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", p.getName());
+        fields.put("description", p.getDescription());
+        fields.put("genre", p.getGenre());
+        fields.put("durationSeconds", p.getDuration() == null ? null : p.getDuration().getSeconds());
+        fields.put("status", p.getStatus());
+        fields.put("mainArtist", p.getMainArtist() == null ? null : p.getMainArtist().getUsername());
+        fields.put("technicalRequirements", listOf(p.getTechnicalRequirements()));
+        fields.put("merchandiseItems", listOf(p.getMerchandiseItems()));
+        fields.put("setlist", listOf(p.getSetlist()));
+        fields.put("preferredRehearsalTimes", listOf(p.getPreferredRehearsalTimes()));
+        fields.put("preferredPerformanceSlots", listOf(p.getPreferredPerformanceSlots()));
+        return fields;
+    }
+
+    private static List<Object> listOf(Set<?> values) {
+        return values == null ? List.of() : new ArrayList<>(values);
+    }
+
+    private void append(Long performanceId, OutboxEvent event, Map<String, Object> changes) {
+        if (eventRepository.existsByOutboxEventIdAndPerformanceId(event.getId(), performanceId)) {
+            return; // redelivery tou idiou outbox event
+        }
+        LocalDateTime at = event.getCreatedAt();
+        // event apo allo outbox lane pou eftase meta apo neotero snapshot: ta snapshots apo ekei kai meta einai lathos
+        snapshotRepository.findFirstByPerformanceIdOrderByOccurredAtDescIdDesc(performanceId)
+                .filter(s -> at.isBefore(s.getOccurredAt()))
+                .ifPresent(s -> snapshotRepository.deleteFrom(performanceId, at));
+
+        eventRepository.save(new PerformanceEvent(performanceId, event.getId(), event.getEventType(), at, write(changes)));
+        snapshotIfDue(performanceId);
+    }
+
+    private void snapshotIfDue(Long performanceId) {
+        Optional<PerformanceSnapshot> last = snapshotRepository.findFirstByPerformanceIdOrderByOccurredAtDescIdDesc(performanceId);
+        List<PerformanceEvent> tail = last
+                .map(s -> eventRepository.findBetween(performanceId, s.getOccurredAt(), s.getLastEventId(), END_OF_TIME))
+                .orElseGet(() -> eventRepository.findByPerformanceIdOrderByOccurredAtAscIdAsc(performanceId));
+        if (tail.size() < snapshotEvery) return;
+
+        Map<String, Object> state = last.map(s -> read(s.getState())).orElseGet(LinkedHashMap::new);
+        tail.forEach(e -> state.putAll(read(e.getChanges())));
+        PerformanceEvent newest = tail.get(tail.size() - 1);
+        long count = last.map(PerformanceSnapshot::getEventCount).orElse(0L) + tail.size();
+        snapshotRepository.save(new PerformanceSnapshot(performanceId, newest.getId(), newest.getOccurredAt(), count, write(state)));
+    }
+
+    // Ti allazei kathe event sto state tou performance
+    private static Map<String, Object> changesOf(String type, Map<String, Object> payload) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        switch (type) {
+            case "PERFORMANCE_CREATED" -> {
+                if (payload.get("fields") instanceof Map<?, ?> fields) {
+                    fields.forEach((k, v) -> changes.put(String.valueOf(k), v));
+                } else {
+                    changes.put("status", payload.get("status"));
+                }
+            }
+            case "PERFORMANCE_UPDATED" -> {
+                if (payload.get("changes") instanceof Map<?, ?> updated) {
+                    updated.forEach((k, v) -> changes.put(String.valueOf(k), v));
+                }
+            }
+            case "PERFORMANCE_STATUS_CHANGED", BULK -> changes.put("status", payload.get("to"));
+            case "PERFORMANCE_REVIEWED" -> {
+                Map<String, Object> review = new LinkedHashMap<>();
+                review.put("reviewer", payload.get("reviewer"));
+                review.put("score", payload.get("score"));
+                changes.put("review", review);
+            }
+            case "PERFORMANCE_STAFF_ASSIGNED" -> changes.put("assignedStaff", payload.get("staff"));
+            case "PERFORMANCE_DELETED" -> changes.put("deleted", true);
+            default -> { }
+        }
+        return changes;
+    }
+
+    private Map<String, Object> read(String json) {
+        try {
+            return objectMapper.readValue(json, MAP);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Corrupt performance history entry", ex);
+        }
+    }
+
+    private String write(Map<String, Object> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Performance history entry is not serializable", ex);
+        }
+    }
+}
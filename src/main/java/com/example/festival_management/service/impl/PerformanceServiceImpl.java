@@ -1,31 +1,45 @@
 package com.example.festival_management.service.impl;
 
+import com.example.festival_management.dto.PerformanceFacets;
+import com.example.festival_management.dto.PerformancePatch;
+import com.example.festival_management.dto.PerformanceView;
 import com.example.festival_management.entity.Festival;
 import com.example.festival_management.entity.Performance;
-import com.example.festival_management.entity.Review;
 import com.example.festival_management.entity.RoleAssignment;
+import com.example.festival_management.entity.Review;
 import com.example.festival_management.entity.User;
 import com.example.festival_management.entity.enums.FestivalState;
 import com.example.festival_management.entity.enums.PerformanceStatus;
 import com.example.festival_management.entity.enums.RoleType;
 import com.example.festival_management.repository.FestivalRepository;
 import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.PerformanceSpecifications;
 import com.example.festival_management.repository.ReviewRepository;
 import com.example.festival_management.repository.RoleAssignmentRepository;
 import com.example.festival_management.service.PerformanceService;
+import com.example.festival_management.util.SetDiff;
 import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
  // Ylopoiisi performanceservices me kanones asfaleias/epixirisiakis logikis
 
 @Service
@@ -35,15 +49,39 @@ public class PerformanceServiceImpl implements PerformanceService {
     private final FestivalRepository festivalRepository;
     private final RoleAssignmentRepository roleAssignmentRepository;
     private final ReviewRepository reviewRepository;
+    private final PerformanceFacetCounter facetCounter;
+    private final FestivalCommandProcessor commandProcessor;
+    private final DomainEventPublisher eventPublisher;
+    private final PerformanceBulkTransitions bulkTransitions;
+    private final AuditService auditService;
+    private final GenreDictionary genreDictionary;
+    private final ReadCoalescer readCoalescer;
+    private final TransactionTemplate reviewTransaction;
 
     public PerformanceServiceImpl(PerformanceRepository performanceRepository,
                               FestivalRepository festivalRepository,
                               RoleAssignmentRepository roleAssignmentRepository,
-                              ReviewRepository reviewRepository) {
+                              ReviewRepository reviewRepository,
+                              PerformanceFacetCounter facetCounter,
+                              FestivalCommandProcessor commandProcessor,
+                              DomainEventPublisher eventPublisher,
+                              PerformanceBulkTransitions bulkTransitions,
+                              AuditService auditService,
+                              GenreDictionary genreDictionary,
+                              ReadCoalescer readCoalescer,
+                              PlatformTransactionManager transactionManager) {
     this.performanceRepository = performanceRepository;
     this.festivalRepository = festivalRepository;
     this.roleAssignmentRepository = roleAssignmentRepository;
     this.reviewRepository = reviewRepository;
+    this.facetCounter = facetCounter;
+    this.commandProcessor = commandProcessor;
+    this.eventPublisher = eventPublisher;
+    this.bulkTransitions = bulkTransitions;
+    this.auditService = auditService;
+    this.genreDictionary = genreDictionary;
+    this.readCoalescer = readCoalescer;
+    this.reviewTransaction = new TransactionTemplate(transactionManager);
 }
   // repositories pou xreiazontai
 //methodoi kai energeies pou aforoun perforamnce
@@ -63,6 +101,7 @@ public Performance createPerformance(Performance performance, Long festivalId, U
     //         .orElseThrow(() -> new NoSuchElementException("User not found: " + creator.getUsername()));
     // Αν δεν έχεις ακόμη UserRepository, κάνε inject και πρόσθεσε method findByUsername(String).
 
+    performance.setGenre(genreDictionary.intern(performance.getGenre()));
     performance.setCreatedAt(LocalDateTime.now());
     performance.setFestival(festival);
     performance.setMainArtist(/* dbCreator */ creator); // <-- βάλ’ τον από τη ΒΔ!
@@ -70,6 +109,8 @@ public Performance createPerformance(Performance performance, Long festivalId, U
     performance.getBandMembers().add(/* dbCreator */ creator);
 
     var saved = performanceRepository.save(performance);
+    facetCounter.created(saved);
+    publish(saved, "PERFORMANCE_CREATED", Map.of("status", saved.getStatus(), "fields", PerformanceHistoryService.fieldsOf(saved)));
 
     boolean hasArtistRole =
             roleAssignmentRepository.existsByUserAndFestivalAndRole(/* dbCreator */ creator, festival, RoleType.ARTIST);
@@ -98,17 +139,108 @@ public Performance createPerformance(Performance performance, Long festivalId, U
             throw new IllegalStateException("Cannot update after submission");
         }
 
-        existing.setName(updated.getName());
-        existing.setDescription(updated.getDescription());
-        existing.setGenre(updated.getGenre());
-        existing.setDuration(updated.getDuration());
-        existing.setSetlist(updated.getSetlist());
-        existing.setTechnicalRequirements(updated.getTechnicalRequirements());
-        existing.setMerchandiseItems(updated.getMerchandiseItems());
-        existing.setPreferredRehearsalTimes(updated.getPreferredRehearsalTimes());
-        existing.setPreferredPerformanceSlots(updated.getPreferredPerformanceSlots());
-
-        return performanceRepository.save(existing);
+        // Full update (PUT): replace olwn twn pediwn (null description/sets = keno, name/genre/duration
+        // ypoxrewtika). Grafontai mono osa diaferoun.
+        if (updated.getName() == null) {
+            throw new IllegalArgumentException("Performance name is required");
+        }
+        if (updated.getGenre() == null) {
+            throw new IllegalArgumentException("Performance genre is required");
+        }
+        if (updated.getDuration() == null) {
+            throw new IllegalArgumentException("Performance duration is required");
+        }
+        return applyPatch(existing, new PerformancePatch(
+                updated.getName(), updated.getDescription(), updated.getGenre(), updated.getDuration(),
+                replaceWith(updated.getTechnicalRequirements()),
+                replaceWith(updated.getMerchandiseItems()),
+                replaceWith(updated.getSetlist()),
+                replaceWith(updated.getPreferredRehearsalTimes()),
+                replaceWith(updated.getPreferredPerformanceSlots())), true);
+    }
+
+    @Override
+    @Transactional
+    public Performance patchPerformance(Long performanceId, PerformancePatch patch, User artist) {
+        Performance existing = performanceRepository.findById(performanceId)
+                .orElseThrow(() -> new NoSuchElementException("Performance not found"));
+
+        if (!Objects.equals(existing.getMainArtist(), artist)) {
+            throw new SecurityException("Only the main artist can update the performance");
+        }
+
+        if (existing.getStatus() != PerformanceStatus.CREATED) {
+            throw new IllegalStateException("Cannot update after submission");
+        }
+        return applyPatch(existing, patch, false);
+    }
+
+    // Diff ana pedio/set panw sto managed entity. Ta sets allazoun in-place (SetDiff) kai me
+    // @DynamicUpdate to UPDATE periexei mono tis sthles pou allaksan (kanena UPDATE an den allakse tipota).
+    // clearNulls (PUT): null description adeiazei to pedio, alliws (PATCH) null = den allazei.
+    private Performance applyPatch(Performance existing, PerformancePatch patch, boolean clearNulls) {
+        if (patch.name() != null && patch.name().isBlank()) {
+            throw new IllegalArgumentException("Performance name cannot be blank");
+        }
+        if (patch.genre() != null && patch.genre().isBlank()) {
+            throw new IllegalArgumentException("Performance genre cannot be blank");
+        }
+        if (patch.duration() != null && (patch.duration().isZero() || patch.duration().isNegative())) {
+            throw new IllegalArgumentException("Performance duration must be positive");
+        }
+        if (patch.name() != null && !patch.name().equals(existing.getName())
+                && performanceRepository.existsByNameAndFestival(patch.name(), existing.getFestival())) {
+            throw new IllegalArgumentException("Performance name already exists in this festival");
+        }
+
+        var before = PerformanceFacetCounter.cellOf(existing);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.name() != null && !patch.name().equals(existing.getName())) {
+            existing.setName(patch.name());
+            changes.put("name", patch.name());
+        }
+        if (patch.description() != null || clearNulls) {
+            String description = patch.description() == null || patch.description().isBlank() ? null : patch.description();
+            if (!Objects.equals(description, existing.getDescription())) {
+                existing.setDescription(description);
+                changes.put("description", description);
+            }
+        }
+        if (patch.genre() != null) {
+            String genre = genreDictionary.intern(patch.genre());
+            if (!genre.equals(existing.getGenre())) {
+                existing.setGenre(genre);
+                changes.put("genre", genre);
+            }
+        }
+        if (patch.duration() != null && !patch.duration().equals(existing.getDuration())) {
+            existing.setDuration(patch.duration());
+            changes.put("durationSeconds", patch.duration().getSeconds());
+        }
+        applySet(changes, "technicalRequirements", existing.getTechnicalRequirements(), patch.technicalRequirements());
+        applySet(changes, "merchandiseItems", existing.getMerchandiseItems(), patch.merchandiseItems());
+        applySet(changes, "setlist", existing.getSetlist(), patch.setlist());
+        applySet(changes, "preferredRehearsalTimes", existing.getPreferredRehearsalTimes(), patch.preferredRehearsalTimes());
+        applySet(changes, "preferredPerformanceSlots", existing.getPreferredPerformanceSlots(), patch.preferredPerformanceSlots());
+
+        if (!changes.isEmpty()) {
+            facetCounter.moved(before, existing);
+            publish(existing, "PERFORMANCE_UPDATED", Map.of("changes", changes));
+        }
+        return existing;
+    }
+
+    private static <T> void applySet(Map<String, Object> changes, String field, Set<T> target,
+                                     PerformancePatch.SetPatch<T> change) {
+        if (change == null) return;
+        boolean changed = change.replace() != null && SetDiff.replace(target, change.replace());
+        changed |= SetDiff.apply(target, change.add(), change.remove());
+        if (changed) changes.put(field, new ArrayList<>(target));
+    }
+
+    // PUT: null set = adeio set
+    private static <T> PerformancePatch.SetPatch<T> replaceWith(Set<T> values) {
+        return PerformancePatch.SetPatch.replaceWith(values == null ? Set.of() : values);
     }
 
     @Override
@@ -126,60 +258,71 @@ public Performance createPerformance(Performance performance, Long festivalId, U
         }
 
         performanceRepository.delete(performance);
+        facetCounter.removed(PerformanceFacetCounter.cellOf(performance));
+        publish(performance, "PERFORMANCE_DELETED", Map.of());
     }
 
+    // Τα transitions submit/finalSubmit/approve/accept περνούν από το shard του festival τους:
+    // σειριακά ανά festival, σε batches, με το cached FestivalState (βλ. FestivalCommandProcessor).
     @Override
-    @Transactional
     public Performance submitPerformance(Long performanceId, User artist) {
-        Performance performance = getPerformanceIfAuthorized(performanceId, artist);
-        Festival festival = performance.getFestival();
+        commandProcessor.execute(festivalIdOf(performanceId), state -> {
+            Performance performance = getPerformanceIfAuthorized(performanceId, artist);
 
-        if (festival.getState() != FestivalState.SUBMISSION) {
-            throw new IllegalStateException("Festival is not in SUBMISSION state");
-        }
+            if (state != FestivalState.SUBMISSION) {
+                throw new IllegalStateException("Festival is not in SUBMISSION state");
+            }
 
-        validatePerformanceCompleteness(performance);
+            validatePerformanceCompleteness(performance);
 
-        performance.setStatus(PerformanceStatus.SUBMITTED);
-        return performanceRepository.save(performance);
+            transition(performance, PerformanceStatus.SUBMITTED);
+            audit(performance, artist, "SUBMIT", null);
+            return performanceRepository.save(performance);
+        });
+        return reload(performanceId);
     }
 
     @Override
-    @Transactional
     public Performance finalSubmitPerformance(Long performanceId, User artist) {
-        Performance performance = getPerformanceIfAuthorized(performanceId, artist);
-
-        if (performance.getStatus() != PerformanceStatus.APPROVED) {
-            throw new IllegalStateException("Only approved performances can be finally submitted");
-        }
-
-        Festival festival = performance.getFestival();
-        if (festival.getState() != FestivalState.FINAL_SUBMISSION) {
-            throw new IllegalStateException("Festival is not in FINAL_SUBMISSION state");
-        }
-
-        performance.setStatus(PerformanceStatus.FINAL_SUBMITTED);
-        return performanceRepository.save(performance);
+        commandProcessor.execute(festivalIdOf(performanceId), state -> {
+            Performance performance = getPerformanceIfAuthorized(performanceId, artist);
+
+            if (performance.getStatus() != PerformanceStatus.APPROVED) {
+                throw new IllegalStateException("Only approved performances can be finally submitted");
+            }
+
+            if (state != FestivalState.FINAL_SUBMISSION) {
+                throw new IllegalStateException("Festival is not in FINAL_SUBMISSION state");
+            }
+
+            transition(performance, PerformanceStatus.FINAL_SUBMITTED);
+            audit(performance, artist, "FINAL_SUBMIT", null);
+            return performanceRepository.save(performance);
+        });
+        return reload(performanceId);
     }
 
     @Override
-    @Transactional
     public Performance approvePerformance(Long performanceId, User organizer) {
-        Performance performance = performanceRepository.findById(performanceId)
-                .orElseThrow(() -> new NoSuchElementException("Performance not found"));
+        commandProcessor.execute(festivalIdOf(performanceId), state -> {
+            Performance performance = performanceRepository.findById(performanceId)
+                    .orElseThrow(() -> new NoSuchElementException("Performance not found"));
 
-        Festival festival = performance.getFestival();
+            Festival festival = performance.getFestival();
 
-        if (!roleAssignmentRepository.existsByUserAndFestivalAndRole(organizer, festival, RoleType.ORGANIZER)) {
-            throw new SecurityException("Only organizers can approve performances");
-        }
+            if (!roleAssignmentRepository.existsByUserAndFestivalAndRole(organizer, festival, RoleType.ORGANIZER)) {
+                throw new SecurityException("Only organizers can approve performances");
+            }
 
-        if (festival.getState() != FestivalState.SCHEDULING) {
-            throw new IllegalStateException("Festival must be in SCHEDULING state");
-        }
+            if (state != FestivalState.SCHEDULING) {
+                throw new IllegalStateException("Festival must be in SCHEDULING state");
+            }
 
-        performance.setStatus(PerformanceStatus.APPROVED);
-        return performanceRepository.save(performance);
+            transition(performance, PerformanceStatus.APPROVED);
+            audit(performance, organizer, "APPROVE", null);
+            return performanceRepository.save(performance);
+        });
+        return reload(performanceId);
     }
 
     @Override
@@ -198,19 +341,17 @@ public Performance createPerformance(Performance performance, Long festivalId, U
             throw new IllegalStateException("Rejection only allowed in SCHEDULING or DECISION");
         }
 
-        performance.setStatus(PerformanceStatus.REJECTED);
-        // TODO: αποθήκευσε κάπου το reason (π.χ. πεδίο notes) αν το προσθέσεις στο entity
+        transition(performance, PerformanceStatus.REJECTED);
+        // to reason menei sto audit log (GET /api/admin/audit?performanceId=...)
+        audit(performance, organizer, "REJECT", reason);
         return performanceRepository.save(performance);
     }
 
+    // Set-based σε chunks (ίδιο hook με το FINAL_SUBMISSION -> DECISION του FestivalStateMachine)
     @Override
-    @Transactional
     public void autoRejectUnsubmittedPerformances(Festival festival) {
-        List<Performance> approved = performanceRepository.findByFestivalAndStatus(festival, PerformanceStatus.APPROVED);
-        for (Performance p : approved) {
-            p.setStatus(PerformanceStatus.REJECTED);
-            performanceRepository.save(p);
-        }
+        bulkTransitions.run(festival.getId(), PerformanceStatus.APPROVED, PerformanceStatus.REJECTED,
+                (processed, total) -> {});
     }
 
     @Override
@@ -232,34 +373,50 @@ public Performance createPerformance(Performance performance, Long festivalId, U
             throw new IllegalStateException("Festival is not in ASSIGNMENT state");
         }
 
+        User previousStaff = performance.getAssignedStaff();
         performance.setAssignedStaff(staff);
+        audit(performance, organizer, previousStaff == null ? "ASSIGN_STAFF" : "REASSIGN_STAFF",
+                previousStaff == null ? staff.getUsername() : previousStaff.getUsername() + " -> " + staff.getUsername());
+        publish(performance, "PERFORMANCE_STAFF_ASSIGNED", Map.of("staff", staff.getUsername()));
         return performanceRepository.save(performance);
     }
 
     @Override
-    @Transactional
     public Performance acceptPerformance(Long performanceId, User organizer) {
-        Performance performance = performanceRepository.findById(performanceId)
-                .orElseThrow(() -> new NoSuchElementException("Performance not found"));
-        Festival festival = performance.getFestival();
-
-        if (!roleAssignmentRepository.existsByUserAndFestivalAndRole(organizer, festival, RoleType.ORGANIZER)) {
-            throw new SecurityException("Only organizers can accept performances");
-        }
-
-        if (festival.getState() != FestivalState.DECISION) {
-            throw new IllegalStateException("Festival is not in DECISION state");
-        }
-
-        performance.setStatus(PerformanceStatus.ACCEPTED);
-        return performanceRepository.save(performance);
+        commandProcessor.execute(festivalIdOf(performanceId), state -> {
+            Performance performance = performanceRepository.findById(performanceId)
+                    .orElseThrow(() -> new NoSuchElementException("Performance not found"));
+            Festival festival = performance.getFestival();
+
+            if (!roleAssignmentRepository.existsByUserAndFestivalAndRole(organizer, festival, RoleType.ORGANIZER)) {
+                throw new SecurityException("Only organizers can accept performances");
+            }
+
+            if (state != FestivalState.DECISION) {
+                throw new IllegalStateException("Festival is not in DECISION state");
+            }
+
+            transition(performance, PerformanceStatus.ACCEPTED);
+            audit(performance, organizer, "ACCEPT", null);
+            return performanceRepository.save(performance);
+        });
+        return reload(performanceId);
     }
 
     @Override
-    public Performance getPerformanceById(Long performanceId, User requestingUser) {
-        return performanceRepository.findById(performanceId)
-                .orElseThrow(() -> new NoSuchElementException("Performance not found"));
-        // TODO: role-based projection αν χρειάζεται
+    public PerformanceView getPerformanceById(Long performanceId, String username) {
+        RoleType role = username == null
+                ? RoleType.VISITOR
+                : performanceRepository.findViewerRole(performanceId, username)
+                        .map(RoleType::valueOf)
+                        .orElseThrow(() -> new NoSuchElementException("Performance not found"));
+        Optional<? extends PerformanceView> view = switch (role) {
+            case ORGANIZER, ADMIN -> performanceRepository.findOrganizerView(performanceId);
+            case STAFF -> performanceRepository.findStaffView(performanceId);
+            case ARTIST -> performanceRepository.findArtistView(performanceId);
+            case VISITOR -> performanceRepository.findVisitorView(performanceId);
+        };
+        return view.orElseThrow(() -> new NoSuchElementException("Performance not found"));
     }
 
    @Override
@@ -268,22 +425,86 @@ public List<Performance> getApprovedPerformances() {
 }
 
     @Override
-    public List<Performance> searchPerformances(String name, String genre, String artistName, User user) {
-        // TODO: φίλτρα/specific queries
-        return performanceRepository.findAll();
+    public Page<PerformanceView.Visitor> searchPerformances(String name, String genre, String artistName, Long festivalId,
+                                                PerformanceStatus status, Pageable pageable, User user) {
+        Integer genreId = null;
+        if (genre != null && !genre.isBlank()) {
+            // agnwsto genre: kamia performance, xwris query
+            genreId = genreDictionary.idOf(genre).orElse(null);
+            if (genreId == null) return Page.empty(pageable);
+        }
+        Specification<Performance> spec = Specification.where(PerformanceSpecifications.inFestival(festivalId))
+                .and(PerformanceSpecifications.hasStatus(status))
+                .and(PerformanceSpecifications.hasGenre(genreId))
+                .and(PerformanceSpecifications.hasMainArtist(artistName))
+                .and(PerformanceSpecifications.nameContains(name))
+                .and(PerformanceSpecifications.fetchListing());
+        return performanceRepository.findAll(spec, pageable).map(p -> new PerformanceView.Visitor(
+                p.getId(), p.getName(), p.getDescription(), p.getGenre(), p.getDuration(), p.getStatus(),
+                p.getFestival().getId(), p.getFestival().getName(), p.getMainArtist().getUsername()));
+    }
+
+    @Override
+    public PerformanceFacets getFacets(String q) {
+        if (q == null || q.isBlank()) {
+            return facetCounter.snapshot();
+        }
+        return PerformanceFacets.from(facetCounter.countFromDatabase(q.trim()));
     }
 
     // ---------- Helpers ----------
 
+    // Allagh status + enhmerwsh twn facet counters (meta to commit) + event sto outbox
+    private void transition(Performance p, PerformanceStatus next) {
+        var before = PerformanceFacetCounter.cellOf(p);
+        p.setStatus(next);
+        facetCounter.moved(before, p);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("from", before.status());
+        payload.put("to", next);
+        payload.put("artist", p.getMainArtist() == null ? null : p.getMainArtist().getUsername());
+        publish(p, "PERFORMANCE_STATUS_CHANGED", payload);
+    }
+
+    // Audit record meta to commit (poios, ti, giati)
+    private void audit(Performance p, User actor, String action, String reason) {
+        auditService.record(actor == null ? null : actor.getUsername(), DomainEventPublisher.PERFORMANCE, p.getId(),
+                p.getFestival() == null ? null : p.getFestival().getId(), action, reason);
+    }
+
+    // Event sto outbox, sto idio transaction me thn allagh· kathe write perna apo edw, ara kai
+    // oi coalesced selides performances fevgoun (meta to commit)
+    private void publish(Performance p, String type, Map<String, ?> details) {
+        Map<String, Object> payload = new LinkedHashMap<>(details);
+        payload.put("performanceId", p.getId());
+        payload.put("festivalId", p.getFestival() == null ? null : p.getFestival().getId());
+        eventPublisher.publish(DomainEventPublisher.PERFORMANCE, p.getId(), type, payload);
+        readCoalescer.performancesChanged();
+    }
+
     private Performance getPerformanceIfAuthorized(Long performanceId, User artist) {
         Performance p = performanceRepository.findById(performanceId)
                 .orElseThrow(() -> new NoSuchElementException("Performance not found"));
-        if (!Objects.equals(p.getMainArtist(), artist)) {
+        // Σύγκριση με id: το command τρέχει σε άλλο persistence context από αυτό του caller
+        if (p.getMainArtist() == null || artist == null
+                || !Objects.equals(p.getMainArtist().getId(), artist.getId())) {
             throw new SecurityException("You are not authorized to modify this performance");
         }
         return p;
     }
 
+    private Long festivalIdOf(Long performanceId) {
+        return performanceRepository.findFestivalIdById(performanceId)
+                .orElseThrow(() -> new NoSuchElementException("Performance not found"));
+    }
+
+    // Το αποτέλεσμα του command είναι detached· το ξαναφέρνουμε στο persistence context του caller
+    private Performance reload(Long performanceId) {
+        return performanceRepository.findById(performanceId)
+                .orElseThrow(() -> new NoSuchElementException("Performance not found"));
+    }
+
     private void validatePerformanceCompleteness(Performance p) {
         if (p.getName() == null || p.getName().isBlank()
                 || p.getDescription() == null || p.getDescription().isBlank()
@@ -332,9 +553,32 @@ public Page<Performance> getApproved(String status, String q, Pageable pageable)
             : performanceRepository.findByStatusIn(statuses, pageable);
 }
 
+// Dyo prwta reviews tou idiou performance tautoxrona: to MERGE tou H2 den einai atomiko, to deutero
+// vriskei to unique performance_id tou prwtou (meta to commit tou) kai apotygxanei. To Hibernate exei
+// hdh markarei to transaction rollback-only, ara h ksanadokimh ginetai se neo transaction, mia fora:
+// tote h grammh yparxei kai to MERGE th enhmerwnei. Alla integrity errors (FK, not null) den ksanadokimazontai.
 @Override
-@Transactional
 public Performance reviewPerformance(Long performanceId, User staffReviewer, int score, String comments) {
+    try {
+        return reviewTransaction.execute(tx -> review(performanceId, staffReviewer, score, comments));
+    } catch (DataIntegrityViolationException ex) {
+        if (!isReviewPerPerformanceViolation(ex)) throw ex;
+        return reviewTransaction.execute(tx -> review(performanceId, staffReviewer, score, comments));
+    }
+}
+
+// SQLState 23505 = unique violation, kai to onoma tou constraint sto mhnyma (to H2 to grafei sto index name)
+private static boolean isReviewPerPerformanceViolation(DataIntegrityViolationException ex) {
+    for (Throwable t = ex; t != null; t = t.getCause()) {
+        if (t instanceof SQLException sql && "23505".equals(sql.getSQLState())) {
+            String message = String.valueOf(sql.getMessage()).toLowerCase(Locale.ROOT);
+            return message.contains(Review.UNIQUE_PERFORMANCE);
+        }
+    }
+    return false;
+}
+
+private Performance review(Long performanceId, User staffReviewer, int score, String comments) {
     Performance performance = performanceRepository.findById(performanceId)
             .orElseThrow(() -> new NoSuchElementException("Performance not found"));
     Festival festival = performance.getFestival();
@@ -346,16 +590,15 @@ public Performance reviewPerformance(Long performanceId, User staffReviewer, int
         throw new SecurityException("Only STAFF of this festival can review performances");
     }
 
-    // Upsert (ένα review ανά performance – αν υπάρχει, ενημέρωσέ το)
-    Review review = reviewRepository.findByPerformance(performance).orElse(new Review());
-    review.setPerformance(performance);
-    review.setReviewer(staffReviewer);
-    review.setScore(score);
-    review.setComments(comments);
+    // Upsert (ένα review ανά performance – αν υπάρχει, ενημέρωσέ το) με ένα MERGE στη ΒΔ:
+    // η γραμμή του performance δεν αλλάζει (ούτε version), άρα δεν μπλοκάρει/ακυρώνει transitions.
+    reviewRepository.upsert(performance.getId(), staffReviewer.getId(), score, comments);
+    publish(performance, "PERFORMANCE_REVIEWED", Map.of("reviewer", staffReviewer.getUsername(), "score", score));
+    auditService.record(staffReviewer.getUsername(), DomainEventPublisher.PERFORMANCE, performance.getId(),
+            festival.getId(), "REVIEW", "score=" + score);
 
-    reviewRepository.save(review);
-    performance.setReview(review);
-    return performanceRepository.save(performance);
+    return performanceRepository.findById(performanceId)
+            .orElseThrow(() -> new NoSuchElementException("Performance not found"));
 }
 
     // Αν θέλεις να δουλέψει και η (ήδη δηλωμένη) λίστα:
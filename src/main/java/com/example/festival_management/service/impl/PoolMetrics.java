@@ -0,0 +1,93 @@
+package com.example.festival_management.service.impl;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Metrics tou Hikari pool xwris actuator: posos xronos perimenei ena thread gia connection
+// (histogram se log2 buckets), poso kratietai kathe connection kai posa timeouts egine.
+@Component
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    public record Snapshot(String pool, int total, int active, int idle, int pendingThreads,
+                           long acquired, double meanAcquireMicros, double p99AcquireMicros,
+                           double maxAcquireMicros, double meanUsageMillis, long timeouts) {}
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final AtomicLongArray acquireBuckets = new AtomicLongArray(64); // bucket i: [2^i, 2^(i+1)) ns
+    private final LongAdder usages = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private volatile String poolName = "";
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquired.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+                acquireBuckets.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(1, elapsedAcquiredNanos)));
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usages.increment();
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public Snapshot snapshot() {
+        long n = acquired.sum();
+        long used = usages.sum();
+        PoolStats stats = poolStats;
+        return new Snapshot(poolName,
+                stats == null ? 0 : stats.getTotalConnections(),
+                stats == null ? 0 : stats.getActiveConnections(),
+                stats == null ? 0 : stats.getIdleConnections(),
+                stats == null ? 0 : stats.getPendingThreads(),
+                n,
+                n == 0 ? 0 : micros(acquireNanos.sum() / (double) n),
+                micros(percentileNanos(0.99)),
+                micros(maxAcquireNanos.get()),
+                used == 0 ? 0 : usageMillis.sum() / (double) used,
+                timeouts.sum());
+    }
+
+    // Anw orio tou bucket pou periexei to percentile (arketo gia "einai konta sto 0;")
+    public long percentileNanos(double percentile) {
+        long total = 0;
+        for (int i = 0; i < acquireBuckets.length(); i++) total += acquireBuckets.get(i);
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < acquireBuckets.length(); i++) {
+            seen += acquireBuckets.get(i);
+            if (seen >= rank) return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+        }
+        return maxAcquireNanos.get();
+    }
+
+    private static double micros(double nanos) {
+        return nanos / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.util.AfterCommit;
+import com.example.festival_management.util.SingleFlight;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// Single-flight mprosta apo ta dhmosia read endpoints (lista performances, festival by id).
+// Ta idia requests (idio kanonikopoihmeno key) pou ftanoun mazi trexoun ena query kai ena
+// serialization· ola pairnoun ta idia JSON bytes. Moirazontai bytes kai oxi entities: ta entities
+// anhkoun sto persistence context tou leader (lazy loading, open-in-view).
+// Ta bytes menoun gia reads.coalesce.ttl-ms (micro-cache)· ta write paths kaloun festivalChanged /
+// performancesChanged (meta to commit) wste mia allagh na fainetai amesws sto epomeno read.
+@Component
+public class ReadCoalescer {
+
+    public static final String PERFORMANCES = "performances:";
+
+    private final ObjectMapper objectMapper;
+    private final DbExecutor dbExecutor;
+    private final SingleFlight<String, byte[]> flights;
+
+    public ReadCoalescer(ObjectMapper objectMapper,
+                         DbExecutor dbExecutor,
+                         @Value("${reads.coalesce.ttl-ms:500}") long ttlMs,
+                         @Value("${reads.coalesce.max-entries:2000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.dbExecutor = dbExecutor;
+        this.flights = new SingleFlight<>(ttlMs, maxEntries);
+    }
+
+    // To query kai to serialization trexoun sto DbExecutor (mesa sto transaction tou, afou to
+    // open-in-view den kalyptei ta threads tou)· osoi moirazontai to load den kratane DB thread.
+    // null apo to loader (p.x. den vrethike) -> null, moirazetai opws kai ta bytes
+    public CompletableFuture<byte[]> jsonAsync(String key, Supplier<?> loader) {
+        return flights.getAsync(key, () -> dbExecutor.submit(() -> toJson(loader.get())));
+    }
+
+    public static String festivalKey(Long festivalId) {
+        return "festival:" + festivalId;
+    }
+
+    // To festival einai kai mesa sto JSON kathe performance, ara fevgoun kai oi selides performances
+    public void festivalChanged(Long festivalId) {
+        AfterCommit.run(() -> {
+            flights.invalidate(festivalKey(festivalId));
+            flights.invalidateIf(key -> key.startsWith(PERFORMANCES));
+        });
+    }
+
+    public void performancesChanged() {
+        AfterCommit.run(() -> flights.invalidateIf(key -> key.startsWith(PERFORMANCES)));
+    }
+
+    public SingleFlight.Stats stats() {
+        return flights.stats();
+    }
+
+    private byte[] toJson(Object value) {
+        if (value == null) return null;
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.RefreshToken;
+import com.example.festival_management.repository.RefreshTokenRepository;
+import com.example.festival_management.security.JwtUtil;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Refresh tokens me rotation: to login vgazei zeugari (access JWT, refresh token) se mia nea family.
+// To refresh katanalwnei to token kai vgazei neo zeugari sthn idia family, xwris BCrypt.
+// An ena hdh katanalwmeno token ksanaxrhsimopoihthei, kapoios to exei klepsei:
+// akyrwnetai olh h family mazi me ta access tokens pou vghkan apo authn.
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository repository;
+    private final TokenRevocationService revocationService;
+    private final JwtUtil jwtUtil;
+    private final Duration refreshTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               TokenRevocationService revocationService,
+                               JwtUtil jwtUtil,
+                               @Value("${jwt.refresh.expiration-days:14}") long refreshDays) {
+        this.repository = repository;
+        this.revocationService = revocationService;
+        this.jwtUtil = jwtUtil;
+        this.refreshTtl = Duration.ofDays(Math.max(1, refreshDays));
+    }
+
+    public record TokenPair(String accessToken, String refreshToken, long expiresInSeconds) {}
+
+    @Transactional
+    public TokenPair issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    // Empty an to token einai agnwsto, expired h akyrwmeno
+    @Transactional
+    public Optional<TokenPair> refresh(String rawToken) {
+        Optional<RefreshToken> found = find(rawToken);
+        if (found.isEmpty()) return Optional.empty();
+
+        RefreshToken current = found.get();
+        if (current.isRevoked() || !current.getExpiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        if (current.getUsedAt() != null || repository.markUsed(current.getId(), Instant.now()) == 0) {
+            log.warn("Refresh token reuse for user {}, revoking token family {}", current.getUsername(), current.getFamilyId());
+            revokeAll(repository.findByFamilyIdAndRevokedFalse(current.getFamilyId()));
+            return Optional.empty();
+        }
+        return Optional.of(issue(current.getUsername(), current.getFamilyId()));
+    }
+
+    // Logout: akyrwnei th family tou refresh token kai to trexon access token
+    @Transactional
+    public void logout(String rawRefreshToken, String accessJti, Instant accessExpiresAt) {
+        find(rawRefreshToken).ifPresent(t -> revokeAll(repository.findByFamilyIdAndRevokedFalse(t.getFamilyId())));
+        revocationService.revoke(accessJti, accessExpiresAt);
+    }
+
+    // Ola ta sessions enos user (p.x. meta apo afairesh rolwn h allagh kwdikou)
+    @Transactional
+    public int revokeUser(String username) {
+        List<RefreshToken> active = repository.findByUsernameAndRevokedFalse(username);
+        revokeAll(active);
+        return active.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        repository.deleteExpired(Instant.now());
+    }
+
+    private TokenPair issue(String username, String familyId) {
+        JwtUtil.IssuedToken access = jwtUtil.issue(username);
+
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(raw));
+        token.setFamilyId(familyId);
+        token.setUsername(username);
+        token.setExpiresAt(Instant.now().plus(refreshTtl));
+        token.setAccessJti(access.jti());
+        token.setAccessExpiresAt(access.expiresAt());
+        repository.save(token);
+
+        return new TokenPair(access.token(), raw, jwtUtil.getExpirationMs() / 1000);
+    }
+
+    private void revokeAll(List<RefreshToken> tokens) {
+        for (RefreshToken t : tokens) {
+            t.setRevoked(true);
+            revocationService.revoke(t.getAccessJti(), t.getAccessExpiresAt());
+        }
+    }
+
+    private Optional<RefreshToken> find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return Optional.empty();
+        return repository.findByTokenHash(hash(rawToken.trim()));
+    }
+
+    private static String hash(String raw) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
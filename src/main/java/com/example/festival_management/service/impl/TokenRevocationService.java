@@ -0,0 +1,121 @@
+package com.example.festival_management.service.impl;
+
+import com.example.festival_management.entity.RevokedToken;
+import com.example.festival_management.repository.RevokedTokenRepository;
+import com.example.festival_management.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lista akyrwmenwn access tokens (jti). O elegxos se kathe request ginetai prwta se ena
+// in-memory Bloom filter: "oxi" (sxedon panta) = kanena query. Mono sto "isws" rwtame th vash
+// (primary key lookup), opote ta false positives kostizoun ena query kai tipota parapanw.
+// Ta expired jtis svinontai periodika kai to filter ksanaxtizetai.
+// Se polla nodes kathe komvos fortwnei periodika (jwt.revocation.refresh-interval-ms) tis grammes
+// tou revoked_tokens meta to teleutaio load, wste ena logout se allo komvo na isxyei kai edw.
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final Duration RECENT_WINDOW = Duration.ofMinutes(5);
+    // To revokedAt mpainei prin to commit: to refresh ksanakoitaei ligo pisw gia argoparmena commits
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository repository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+    // jtis pou akyrwthikan apo auton ton komvo prosfata (isws oxi akoma committed):
+    // mpainoun kai sto filter tou epomenou rebuild
+    private final Map<String, Instant> recent = new ConcurrentHashMap<>();
+    private final AtomicLong filterHits = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private volatile Instant lastLoad = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository repository,
+                                  @Value("${jwt.revocation.expected-entries:100000}") long expectedEntries,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.repository = repository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) return false;
+        filterHits.incrementAndGet();
+        boolean revoked = repository.existsById(jti);
+        if (!revoked) falsePositives.incrementAndGet();
+        return revoked;
+    }
+
+    // To filter enhmerwnetai prin to commit: sto endiameso ena "isws" apla pigainei sth vash
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) return;
+        recent.put(jti, Instant.now());
+        filter.put(jti);
+        if (!repository.existsById(jti)) {
+            repository.save(new RevokedToken(jti, expiresAt));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int removed = repository.deleteExpired(Instant.now());
+        if (removed > 0) {
+            rebuild();
+        }
+    }
+
+    // Prosthetei sto filter ta jtis pou akyrwthikan (kai apo allous komvous) meta to teleutaio load
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        Instant started = Instant.now();
+        List<String> revoked = repository.findRevokedSince(lastLoad.minus(REFRESH_OVERLAP), started);
+        BloomFilter current = filter;
+        revoked.forEach(current::put);
+        lastLoad = started;
+        if (!revoked.isEmpty()) log.debug("Revocation filter refreshed with {} entries", revoked.size());
+    }
+
+    public long filterHits() {
+        return filterHits.get();
+    }
+
+    public long falsePositives() {
+        return falsePositives.get();
+    }
+
+    private synchronized void rebuild() {
+        Instant started = Instant.now();
+        List<String> active = repository.findActiveJtis(started);
+        // xwros gia diplasia apo osa yparxoun wste to fpp na menei konta sto stoxo mexri to epomeno purge
+        BloomFilter next = new BloomFilter(Math.max(expectedEntries, active.size() * 2L), falsePositiveRate);
+        active.forEach(next::put);
+        recent.keySet().forEach(next::put);
+        filter = next;
+        lastLoad = started;
+        // revokes pou egine oso gemize to neo filter
+        recent.keySet().forEach(next::put);
+        Instant cutoff = started.minus(RECENT_WINDOW);
+        recent.values().removeIf(at -> at.isBefore(cutoff));
+        log.debug("Revocation filter rebuilt with {} entries ({} bits, {} hashes)",
+                active.size(), next.bitSize(), next.hashCount());
+    }
+}
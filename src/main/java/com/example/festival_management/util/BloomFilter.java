@@ -0,0 +1,81 @@
+package com.example.festival_management.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter gia strings (p.x. revoked token ids): "sigoura oxi" h "isws nai".
+// m bits kai k hash functions apo double hashing (h1 + i*h2) enos 128-bit hash.
+// Thread-safe: ta put ginontai me CAS panw sta words, to mightContain den kleidwnei.
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, (m + 63) / 64 * 64);
+        if (m / 64 > Integer.MAX_VALUE) throw new IllegalArgumentException("Bloom filter too large");
+        this.words = new AtomicLongArray((int) (m / 64));
+        this.bits = m;
+        this.hashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long[] h = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) break;
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long[] h = hash(value);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(h, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    private long index(long[] h, int i) {
+        return Math.floorMod(h[0] + i * h[1], bits);
+    }
+
+    // Dyo anexarthta 64-bit hashes (FNV-1a me diaforetiko seed + fmix64 tou MurmurHash3)
+    private static long[] hash(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x84222325cbf29ce4L;
+        for (byte b : data) {
+            h1 = (h1 ^ (b & 0xff)) * 0x100000001b3L;
+            h2 = (h2 ^ (b & 0xff)) * 0x100000001b3L + 0x9e3779b97f4a7c15L;
+        }
+        return new long[]{fmix(h1), fmix(h2) | 1};
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.festival_management.util;
+
+import com.example.festival_management.service.impl.GenreDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Performance.genre: onoma sto Java, id tou lexikou sth vash. To genre prepei na exei ginei
+// intern prin to save (GenreDictionary.intern)· agnwsto onoma edw einai bug, oxi input.
+// To dictionary lynetai lazy: o converter ftiaxnetai mazi me to EntityManagerFactory.
+@Converter
+public class GenreIdConverter implements AttributeConverter<String, Integer> {
+
+    private final ObjectProvider<GenreDictionary> dictionary;
+
+    public GenreIdConverter(ObjectProvider<GenreDictionary> dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        if (name == null) return null;
+        return dictionary.getObject().idOf(name)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown genre: " + name));
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id == null ? null : dictionary.getObject().nameOf(id);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.festival_management.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Immutable interval tree gia kleista diasthmata [start, end] (p.x. epoch days).
+// Ta items einai taksinomhmena kata start se pinaka· to dentro einai implicit (riza = mesaio stoixeio
+// kathe [lo, hi)) kai kathe komvos krataei to megisto end tou ypodentrou tou.
+// overlapping() kostizei O(log n + m): ta ypodentra pou teleiwnoun prin to from h ksekinoun meta to to
+// den episkeptontai kan. Ta apotelesmata vgainoun kata start.
+public final class IntervalIndex<T> {
+
+    private final Object[] items;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnd;
+
+    public IntervalIndex(Collection<T> values, ToLongFunction<T> start, ToLongFunction<T> end) {
+        Object[] sorted = values.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> byStart = Comparator.comparingLong(o -> start.applyAsLong((T) o));
+        Arrays.sort(sorted, byStart);
+
+        int n = sorted.length;
+        this.items = sorted;
+        this.starts = new long[n];
+        this.ends = new long[n];
+        this.maxEnd = new long[n];
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T value = (T) sorted[i];
+            starts[i] = start.applyAsLong(value);
+            ends[i] = end.applyAsLong(value);
+            if (ends[i] < starts[i]) {
+                throw new IllegalArgumentException("Interval ends before it starts: " + value);
+            }
+        }
+        build(0, n);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    // Ola ta diasthmata pou exoun estw ena koino shmeio me to [from, to]
+    public List<T> overlapping(long from, long to) {
+        List<T> result = new ArrayList<>();
+        if (from <= to) {
+            collect(0, items.length, from, to, result);
+        }
+        return result;
+    }
+
+    private long build(int lo, int hi) {
+        if (lo >= hi) return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(build(lo, mid), build(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(int lo, int hi, long from, long to, List<T> out) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] < from) return; // olo to ypodentro teleiwnei prin to from
+        collect(lo, mid, from, to, out);
+        if (starts[mid] > to) return; // o mid kai to deksi ypodentro ksekinane meta to to
+        if (ends[mid] >= from) out.add((T) items[mid]);
+        collect(mid + 1, hi, from, to, out);
+    }
+}
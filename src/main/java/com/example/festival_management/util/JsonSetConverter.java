@@ -0,0 +1,51 @@
+package com.example.festival_management.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Vash gia converters pou apothikeuoun ena Set se mia sthlh ws JSON array apo strings
+// (anti gia ksexwristo pinaka @ElementCollection). Ta stoixeia grafontai taksinomhmena,
+// wste to idio set na dinei panta to idio keimeno. Adeio set -> NULL.
+public abstract class JsonSetConverter<T extends Comparable<? super T>> implements AttributeConverter<Set<T>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> STRINGS = new TypeReference<>() {};
+
+    protected abstract String format(T value);
+
+    protected abstract T parse(String text);
+
+    @Override
+    public String convertToDatabaseColumn(Set<T> attribute) {
+        if (attribute == null || attribute.isEmpty()) return null;
+        List<T> sorted = new ArrayList<>(attribute);
+        Collections.sort(sorted);
+        List<String> texts = new ArrayList<>(sorted.size());
+        for (T value : sorted) texts.add(format(value));
+        try {
+            return MAPPER.writeValueAsString(texts);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Cannot serialize set", ex);
+        }
+    }
+
+    @Override
+    public Set<T> convertToEntityAttribute(String dbData) {
+        Set<T> values = new LinkedHashSet<>();
+        if (dbData == null || dbData.isBlank()) return values;
+        try {
+            for (String text : MAPPER.readValue(dbData, STRINGS)) values.add(parse(text));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid set column value: " + dbData, ex);
+        }
+        return values;
+    }
+}
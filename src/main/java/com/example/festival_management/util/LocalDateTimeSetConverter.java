@@ -0,0 +1,20 @@
+package com.example.festival_management.util;
+
+import jakarta.persistence.Converter;
+
+import java.time.LocalDateTime;
+
+// ISO-8601 (2025-06-03T17:00) ana stoixeio
+@Converter
+public class LocalDateTimeSetConverter extends JsonSetConverter<LocalDateTime> {
+
+    @Override
+    protected String format(LocalDateTime value) {
+        return value.toString();
+    }
+
+    @Override
+    protected LocalDateTime parse(String text) {
+        return LocalDateTime.parse(text);
+    }
+}
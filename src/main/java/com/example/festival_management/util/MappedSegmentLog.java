@@ -0,0 +1,262 @@
+package com.example.festival_management.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+
+// Append-only log se memory-mapped segment files (<seq>.seg, stathero megethos).
+// Record: [int length][int crc32c][payload]. To length grafetai teleutaio, ara ena record
+// me length 0 h lathos CRC (crash sth mesh tou append) shmainei "telos tou segment".
+// To append grafei mono sto page cache (mapped buffer). To force() kanei fsync ola ta
+// records mexri ekeinh th stigmh (group commit apo ton caller).
+// Oi readers kanoun diko tous read-only mapping: ta dedomena den fortwnontai sto heap.
+// Enas mono writer ana directory: FileChannel.tryLock() sto arxeio "lock" (kai metaksy processes).
+public class MappedSegmentLog implements Closeable {
+
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER = 8;
+    private static final String LOCK_FILE = "lock";
+
+    private final Path dir;
+    private final int segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock dirLock;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentSeq;
+    private long appended;
+    private long forced;
+
+    public MappedSegmentLog(Path dir, int segmentSize) throws IOException {
+        if (segmentSize < 4096) throw new IllegalArgumentException("segmentSize must be >= 4096");
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(dir);
+        this.lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            acquired = null; // idio JVM, allo MappedSegmentLog
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Log directory " + dir.toAbsolutePath() + " is in use by another writer");
+        }
+        this.dirLock = acquired;
+        try {
+            List<Long> existing = segments(dir);
+            if (existing.isEmpty()) {
+                open(0);
+            } else {
+                open(existing.get(existing.size() - 1));
+                buffer.position(endOf(buffer));
+            }
+        } catch (IOException | RuntimeException ex) {
+            lockChannel.close();
+            throw ex;
+        }
+    }
+
+    // Epistrefei ton arithmo tou record (monotonic), sygkrisimo me to forcedCount
+    public synchronized long append(byte[] payload) throws IOException {
+        if (payload.length == 0 || payload.length > segmentSize - HEADER) {
+            throw new IllegalArgumentException("Record size " + payload.length + " out of range");
+        }
+        if (buffer.remaining() < HEADER + payload.length) {
+            roll();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int start = buffer.position();
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.put(start + HEADER, payload);
+        buffer.putInt(start, payload.length);
+        buffer.position(start + HEADER + payload.length);
+        return ++appended;
+    }
+
+    // fsync tou trexontos segment, ta palia segments exoun ginei force sto roll
+    public void force() {
+        MappedByteBuffer target;
+        long upTo;
+        synchronized (this) {
+            if (forced == appended) return;
+            target = buffer;
+            upTo = appended;
+        }
+        target.force();
+        synchronized (this) {
+            forced = Math.max(forced, upTo);
+        }
+    }
+
+    public synchronized long appendedCount() {
+        return appended;
+    }
+
+    public synchronized long forcedCount() {
+        return forced;
+    }
+
+    // Diavazei ola ta payloads me th seira eggrafhs. To stream prepei na kleisei (try-with-resources).
+    public <T> Stream<T> read(RecordDecoder<T> decoder, Predicate<T> filter) throws IOException {
+        List<Long> seqs = segments(dir);
+        SegmentIterator<T> it = new SegmentIterator<>(seqs, decoder, filter);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(it::close);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) return;
+        buffer.force();
+        forced = appended;
+        channel.close();
+        channel = null;
+        dirLock.release();
+        lockChannel.close();
+    }
+
+    @FunctionalInterface
+    public interface RecordDecoder<T> {
+        T decode(ByteBuffer payload);
+    }
+
+    private void roll() throws IOException {
+        buffer.force();
+        channel.close();
+        open(segmentSeq + 1);
+    }
+
+    private void open(long seq) throws IOException {
+        segmentSeq = seq;
+        channel = FileChannel.open(file(seq), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private Path file(long seq) {
+        return dir.resolve(String.format("%020d%s", seq, SUFFIX));
+    }
+
+    // Thesh meta to teleutaio egkyro record (recovery meta apo crash)
+    private static int endOf(ByteBuffer segment) {
+        int pos = 0;
+        while (true) {
+            int length = recordLength(segment, pos);
+            if (length < 0) return pos;
+            pos += HEADER + length;
+        }
+    }
+
+    // Mhkos tou record sth thesh pos, h -1 an den yparxei egkyro record ekei
+    private static int recordLength(ByteBuffer segment, int pos) {
+        if (segment.limit() - pos < HEADER) return -1;
+        int length = segment.getInt(pos);
+        if (length <= 0 || length > segment.limit() - pos - HEADER) return -1;
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(pos + HEADER, length));
+        return (int) crc.getValue() == segment.getInt(pos + 4) ? length : -1;
+    }
+
+    private static List<Long> segments(Path dir) throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.endsWith(SUFFIX))
+                    .forEach(n -> {
+                        try {
+                            seqs.add(Long.parseLong(n.substring(0, n.length() - SUFFIX.length())));
+                        } catch (NumberFormatException ignore) { /* allo arxeio */ }
+                    });
+        }
+        seqs.sort(null);
+        return seqs;
+    }
+
+    private final class SegmentIterator<T> implements Iterator<T> {
+
+        private final Iterator<Long> seqs;
+        private final RecordDecoder<T> decoder;
+        private final Predicate<T> filter;
+        private FileChannel readChannel;
+        private ByteBuffer segment;
+        private int pos;
+        private T next;
+
+        SegmentIterator(List<Long> seqs, RecordDecoder<T> decoder, Predicate<T> filter) {
+            this.seqs = seqs.iterator();
+            this.decoder = decoder;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (segment == null && !openNext()) return false;
+                int length = recordLength(segment, pos);
+                if (length < 0) {
+                    closeSegment();
+                    continue;
+                }
+                T decoded = decoder.decode(segment.slice(pos + HEADER, length).asReadOnlyBuffer());
+                pos += HEADER + length;
+                if (filter == null || filter.test(decoded)) next = decoded;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            T result = next;
+            next = null;
+            return result;
+        }
+
+        private boolean openNext() {
+            if (!seqs.hasNext()) return false;
+            try {
+                readChannel = FileChannel.open(file(seqs.next()), StandardOpenOption.READ);
+                segment = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(readChannel.size(), segmentSize));
+                pos = 0;
+                return true;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void closeSegment() {
+            segment = null;
+            try {
+                if (readChannel != null) readChannel.close();
+            } catch (IOException ignore) {
+                // read-only channel, tipota na xathei
+            }
+            readChannel = null;
+        }
+
+        void close() {
+            closeSegment();
+        }
+    }
+}
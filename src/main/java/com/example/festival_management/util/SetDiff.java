@@ -0,0 +1,24 @@
+package com.example.festival_management.util;
+
+import java.util.Collection;
+import java.util.Set;
+
+// Efarmogh allagwn panw sto idio (managed) set anti gia antikatastash ths anaforas:
+// an to apotelesma einai idio, to dirty checking den vlepei allagh kai den ginetai UPDATE.
+public final class SetDiff {
+
+    private SetDiff() {}
+
+    // Kanei to target isotimo me to desired, afairwntas/prosthetontas mono ta diaforetika stoixeia
+    public static <T> boolean replace(Set<T> target, Collection<T> desired) {
+        boolean changed = target.retainAll(desired);
+        return target.addAll(desired) || changed;
+    }
+
+    public static <T> boolean apply(Set<T> target, Collection<T> add, Collection<T> remove) {
+        boolean changed = false;
+        if (remove != null) changed = target.removeAll(remove);
+        if (add != null) changed |= target.addAll(add);
+        return changed;
+    }
+}
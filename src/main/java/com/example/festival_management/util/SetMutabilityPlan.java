@@ -0,0 +1,37 @@
+package com.example.festival_management.util;
+
+import org.hibernate.SharedSessionContract;
+import org.hibernate.type.descriptor.java.MutabilityPlan;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Ta Set me converter einai mutable: to Hibernate kratei antigrafo sto snapshot,
+// wste ena add/remove panw sto idio set na fainetai sto dirty checking.
+// Ta stoixeia (String, LocalDateTime) einai immutable, ara arkei shallow copy.
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SetMutabilityPlan implements MutabilityPlan<Set> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Set deepCopy(Set value) {
+        return value == null ? null : new LinkedHashSet<>(value);
+    }
+
+    @Override
+    public Serializable disassemble(Set value, SharedSessionContract session) {
+        return (Serializable) deepCopy(value);
+    }
+
+    @Override
+    public Set assemble(Serializable cached, SharedSessionContract session) {
+        return deepCopy((Set) cached);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.festival_management.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Request coalescing: tautoxrona get() me to idio key moirazontai mia ektelesh tou loader.
+// O prwtos (leader) trexei to loader sto diko tou thread, oi ypoloipoi perimenoun to idio future.
+// To apotelesma krataei gia ttl (micro-cache) wste kai ta requests pou ftanoun amesws meta na mh
+// ksanatreksoun to query. Ta exceptions den krataiountai: ta pairnoun mono osoi perimenan.
+// Oi times moirazontai metaksy threads, ara prepei na einai immutable.
+// getAsync(): h idia logikh gia loaders pou epistrefoun CompletableFuture.
+// invalidate()/invalidateIf(): meta apo write (afterCommit) ta epomena get() ksanaftiaxnoun thn timh.
+public final class SingleFlight<K, V> {
+
+    public record Stats(long loads, long shared, long cacheHits) {}
+
+    private record Cached<V>(V value, long expiresAt) {}
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Cached<V>> recent = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    // Auksanei se kathe invalidate: load pou ksekinhse prin den mpainei sto micro-cache
+    private final AtomicLong generation = new AtomicLong();
+
+    // ttlMs 0 = mono coalescing, xwris micro-cache
+    public SingleFlight(long ttlMs, int maxEntries) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Cached<V> cached = fresh(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached.value();
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            return await(running);
+        }
+        try {
+            // o prohgoumenos leader mporei na teleiwse metaksy tou elegxou kai tou putIfAbsent
+            cached = fresh(key);
+            V value;
+            if (cached != null) {
+                cacheHits.increment();
+                value = cached.value();
+            } else {
+                loads.increment();
+                long started = generation.get();
+                value = loader.get();
+                remember(key, value, started);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Idio me get() alla to loader epistrefei future (p.x. douleia se allo executor) kai kanenas
+    // den blokarei. Kathe caller pairnei diko tou copy(): an kanei cancel (timeout, client efyge)
+    // den akyrwnei to koino load twn allwn.
+    public CompletableFuture<V> getAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        Cached<V> cached = fresh(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return CompletableFuture.completedFuture(cached.value());
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            return running.copy();
+        }
+        cached = fresh(key);
+        if (cached != null) {
+            cacheHits.increment();
+            mine.complete(cached.value());
+            inFlight.remove(key, mine);
+            return mine.copy();
+        }
+        loads.increment();
+        long started = generation.get();
+        CompletableFuture<V> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException | Error ex) {
+            load = CompletableFuture.failedFuture(ex);
+        }
+        load.whenComplete((value, ex) -> {
+            if (ex == null) remember(key, value, started);
+            inFlight.remove(key, mine);
+            if (ex == null) mine.complete(value);
+            else mine.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+        });
+        return mine.copy();
+    }
+
+    // Vgazei kai to load pou trexei: osoi erthoun meta to write den kollane sto palio apotelesma
+    // (osoi hdh perimenan to pairnoun kanonika)
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        recent.remove(key);
+        inFlight.remove(key);
+    }
+
+    public void invalidateIf(Predicate<? super K> matches) {
+        generation.incrementAndGet();
+        recent.keySet().removeIf(matches);
+        inFlight.keySet().removeIf(matches);
+    }
+
+    public Stats stats() {
+        return new Stats(loads.sum(), shared.sum(), cacheHits.sum());
+    }
+
+    private Cached<V> fresh(K key) {
+        if (ttlNanos == 0) return null;
+        Cached<V> cached = recent.get(key);
+        if (cached == null) return null;
+        if (cached.expiresAt() - System.nanoTime() > 0) return cached;
+        recent.remove(key, cached);
+        return null;
+    }
+
+    private void remember(K key, V value, long started) {
+        if (ttlNanos == 0 || generation.get() != started) return;
+        long now = System.nanoTime();
+        if (recent.size() >= maxEntries) {
+            recent.values().removeIf(c -> c.expiresAt() - now <= 0);
+            if (recent.size() >= maxEntries) return; // gemato me zwntana keys: xwris cache, mono coalescing
+        }
+        recent.put(key, new Cached<>(value, now + ttlNanos));
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw ex;
+        }
+    }
+}
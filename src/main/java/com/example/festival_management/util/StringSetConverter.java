@@ -0,0 +1,17 @@
+package com.example.festival_management.util;
+
+import jakarta.persistence.Converter;
+
+@Converter
+public class StringSetConverter extends JsonSetConverter<String> {
+
+    @Override
+    protected String format(String value) {
+        return value;
+    }
+
+    @Override
+    protected String parse(String text) {
+        return text;
+    }
+}
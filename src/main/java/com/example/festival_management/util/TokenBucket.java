@@ -0,0 +1,48 @@
+package com.example.festival_management.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket se morfh GCRA: olo to state einai ena long (o "theoretical arrival time")
+// pou allazei me CAS, ara den xreiazetai lock oute ksexwristo refill thread.
+// capacity = megisto burst, refillPerSecond = sustained rythmos.
+public final class TokenBucket {
+
+    private final long intervalNanos;   // kostos enos token se xrono
+    private final long burstNanos;      // posos xronos "xwraei" sto bucket (capacity tokens)
+    private final AtomicLong tat;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    // Epistrefei 0 an dothike token, alliws posa nanos prepei na perimenei o client
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, nowNanos);
+            long next = base + intervalNanos;
+            long overflow = next - nowNanos - burstNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Gemato bucket: mporei na afairethei xwris na xathei state (ena neo tha einai idio)
+    public boolean isIdle(long nowNanos) {
+        return tat.get() <= nowNanos;
+    }
+
+    public long available(long nowNanos) {
+        long used = Math.max(0, tat.get() - nowNanos);
+        return (burstNanos - used) / intervalNanos;
+    }
+}
@@ -11,6 +11,42 @@ export function setToken(token) {
   else localStorage.removeItem("access_token");
 }
 
+export function getRefreshToken() {
+  return localStorage.getItem("refresh_token") || null;
+}
+
+export function setRefreshToken(token) {
+  if (token) localStorage.setItem("refresh_token", token);
+  else localStorage.removeItem("refresh_token");
+}
+
+// Ena refresh th fora: parallhla 401 perimenoun to idio promise
+// (to refresh token einai mias xrhshs, deuterh xrhsh akyrwnei to session)
+let refreshing = null;
+
+function refreshTokens() {
+  const refreshToken = getRefreshToken();
+  if (!refreshToken) return Promise.resolve(false);
+  if (!refreshing) {
+    refreshing = fetch(new URL(`${BASE}/auth/refresh`, window.location.origin).toString(), {
+      method: "POST",
+      headers: { Accept: "application/json", "Content-Type": "application/json" },
+      credentials: "include",
+      body: JSON.stringify({ refreshToken })
+    })
+      .then(async res => {
+        if (!res.ok) { setToken(null); setRefreshToken(null); return false; }
+        const data = await res.json();
+        setToken(data.accessToken || data.token);
+        setRefreshToken(data.refreshToken);
+        return true;
+      })
+      .catch(() => false)
+      .finally(() => { refreshing = null; });
+  }
+  return refreshing;
+}
+
 /**
  * Core HTTP request function
  * @param {string} path - Request path (relative or absolute)
@@ -21,7 +57,7 @@ export function setToken(token) {
  * @param {Object} options.params - Query parameters
  * @returns {Promise<Object|string|null>} Response data
  */
-async function httpRequest(path, { method="GET", data, headers={}, params } = {}) {
+async function httpRequest(path, { method="GET", data, headers={}, params } = {}, retried = false) {
   // Safely construct URL
   let url;
   if (path.startsWith("http://") || path.startsWith("https://")) {
@@ -68,6 +104,11 @@ async function httpRequest(path, { method="GET", data, headers={}, params } = {}
   // Execute request
   const res = await fetch(url.toString(), opts);
 
+  // Expired access token: ena refresh kai ksana to idio request
+  if (res.status === 401 && token && !retried && await refreshTokens()) {
+    return httpRequest(path, { method, data, headers, params }, true);
+  }
+
   // Handle empty responses
   if (res.status === 204 || res.status === 205) return null;
 
@@ -1,4 +1,4 @@
-import { http, setToken } from "./api.js";
+import { http, setToken, getRefreshToken, setRefreshToken } from "./api.js";
 
 const CFG = window.APP_CONFIG || {};
 const LOGIN = CFG.AUTH?.LOGIN || "/auth/login";
@@ -15,6 +15,7 @@ export async function login(username, password) {
   const token = res?.accessToken || res?.token || res?.jwt || null;
   if (!token) throw new Error("No token returned from server");
   setToken(token);
+  setRefreshToken(res?.refreshToken || null);
   return true;
 }
 
@@ -23,9 +24,14 @@ export async function register({ username, password, email }) {
   // Κάποια APIs επιστρέφουν και token μετά το register. Υποστήριξέ το προαιρετικά:
   const token = res?.accessToken || res?.token || null;
   if (token) setToken(token);
+  if (res?.refreshToken) setRefreshToken(res.refreshToken);
   return res;
 }
 
 export function logout() {
+  // akyrwsh tou session kai ston server (best effort, to UI den perimenei)
+  const refreshToken = getRefreshToken();
+  http.post("/auth/logout", { refreshToken }).catch(() => {});
   setToken(null);
+  setRefreshToken(null);
 }
@@ -32,10 +32,11 @@ function extractTime(perf) {
     perf.performanceDateTime,
   ].filter(Boolean);
 
+  const slots = perf.preferredPerformanceSlots || perf.performanceSlots;
   if ((!candidates || candidates.length === 0) &&
-      Array.isArray(perf.preferredPerformanceSlots) &&
-      perf.preferredPerformanceSlots.length) {
-    const sorted = [...perf.preferredPerformanceSlots].sort();
+      Array.isArray(slots) &&
+      slots.length) {
+    const sorted = [...slots].sort();
     candidates.push(sorted[0]);
   }
 
@@ -53,7 +54,8 @@ const statusIsApproved = (p) => String(p.status || "").toUpperCase() === "APPROV
 
 function card(perf) {
   const title = perf.name || perf.title || perf.performanceName || "Untitled";
-  const artist = perf.mainArtist?.username || perf.artist || perf.performer || "—";
+  const artist = (typeof perf.mainArtist === "string" ? perf.mainArtist : perf.mainArtist?.username)
+    || perf.artist || perf.performer || "—";
   const when = extractTime(perf);
   const whenTxt = when
     ? new Intl.DateTimeFormat("el-GR", { dateStyle: "medium", timeStyle: "short" }).format(when)
@@ -71,6 +73,23 @@ function card(perf) {
 }
 
 // ---- API (καθαρό fetch) ----
+// ?festival=ID -> το έτοιμο line-up του ANNOUNCED festival (gzip + ETag, ο browser το κρατά στην cache)
+const FESTIVAL_ID = new URLSearchParams(location.search).get("festival");
+
+async function fetchLineup(term = "") {
+  const res = await fetch(`${API_BASE}/festivals/${encodeURIComponent(FESTIVAL_ID)}/lineup`);
+  if (!res.ok) {
+    const err = new Error(res.statusText);
+    err.status = res.status;
+    throw err;
+  }
+  const lineup = await res.json();
+  const t = term.toLowerCase();
+  return (lineup.performances || [])
+    .map((p) => ({ ...p, venue: lineup.name }))
+    .filter((p) => !t || [p.name, p.genre, p.mainArtist].some((v) => String(v || "").toLowerCase().includes(t)));
+}
+
 async function fetchApproved(term = "") {
   const url = new URL(API_BASE + PERF_PATH, location.origin);
   url.searchParams.set("status", "APPROVED");
@@ -113,7 +132,7 @@ async function render() {
   listEl.innerHTML = "";
 
   try {
-    const items = await fetchApproved(term);
+    const items = FESTIVAL_ID ? await fetchLineup(term) : await fetchApproved(term);
     setMsg("");
     if (!items.length) {
       listEl.innerHTML = `<div class="empty">Δεν βρέθηκαν εγκεκριμένες παραστάσεις.</div>`;
@@ -124,7 +143,9 @@ async function render() {
     listEl.appendChild(frag);
   } catch (e) {
     console.error("fetchApproved error:", e);
-    const msg = e?.status === 401 ? "Απαιτείται σύνδεση." : "Σφάλμα φόρτωσης.";
+    const msg = e?.status === 401 ? "Απαιτείται σύνδεση."
+      : e?.status === 404 && FESTIVAL_ID ? "Το line-up δεν έχει ανακοινωθεί ακόμη."
+      : "Σφάλμα φόρτωσης.";
     setMsg(msg, "error");
   }
 }
@@ -0,0 +1,32 @@
+package com.example.festival_management;
+
+import com.example.festival_management.util.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegativesAndFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] revoked = new String[10_000];
+        for (int i = 0; i < revoked.length; i++) {
+            revoked[i] = UUID.randomUUID().toString();
+            filter.put(revoked[i]);
+        }
+        for (String jti : revoked) {
+            assertThat(filter.mightContain(jti)).isTrue();
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) falsePositives++;
+        }
+        // stoxos 1%: me 100k dokimes to apotelesma einai panw-katw 0.9-1.1%
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.festival_management;
+
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.service.impl.PoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load harness me to pool tou profile prod (megethos apo ta cores): 4 threads ana connection
+// trexoun ta synhthismena queries. Kanena connection timeout, to p99 tou acquire grafetai sto log.
+// Den trexei sto kanoniko "mvn test"; trexei me:  mvn test -Dsurefire.excludedGroups= -Dgroups=benchmark
+@Tag("benchmark")
+@ActiveProfiles("prod")
+@SpringBootTest(properties = {
+        "h2.file.path=${java.io.tmpdir}/festival-pool-benchmark/${random.uuid}/festivaldb",
+        "spring.sql.init.mode=always",
+        "audit.dir=${java.io.tmpdir}/festival-pool-benchmark/${random.uuid}/audit",
+        "backup.temp-dir=${java.io.tmpdir}/festival-pool-benchmark/backup-tmp"
+})
+class ConnectionPoolLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolLoadTest.class);
+    private static final int ITERATIONS = 300;
+    private static final int THREADS_PER_CONNECTION = 4;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PoolMetrics poolMetrics;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Test
+    void testPoolWaitStaysNearZeroUnderLoad() throws Exception {
+        int connections = ((HikariDataSource) dataSource).getMaximumPoolSize();
+        int threads = connections * THREADS_PER_CONNECTION;
+        long acquiredBefore = poolMetrics.snapshot().acquired();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> running = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            running.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    festivalRepository.options();
+                    festivalRepository.findStateById(1L);
+                    performanceRepository.facetCounts(null);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : running) f.get();
+        executor.shutdown();
+
+        PoolMetrics.Snapshot snapshot = poolMetrics.snapshot();
+        log.info("{} threads on {} connections: {}", threads, connections, snapshot);
+        assertThat(snapshot.acquired() - acquiredBefore).isGreaterThanOrEqualTo((long) threads * ITERATIONS);
+        assertThat(snapshot.timeouts()).isZero();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.festival_management;
+
+import com.example.festival_management.service.impl.DatabaseBackupService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseBackupServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseBackupService service;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:backup-test;DB_CLOSE_DELAY=-1");
+        service = new DatabaseBackupService(dataSource, tempDir.toString());
+    }
+
+    @Test
+    void testOnlyOneBackupAtATimeAndSlotIsFreedAfterStreaming() throws Exception {
+        DatabaseBackupService.Backup backup = service.tryStart().orElseThrow();
+        assertThat(service.tryStart()).isEmpty();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        backup.streamTo(out);
+
+        byte[] zip = out.toByteArray();
+        assertThat(zip).startsWith('P', 'K'); // zip header
+        assertThat(tempDir).isEmptyDirectory();
+        assertThat(service.tryStart()).isPresent();
+    }
+
+    @Test
+    void testSlotIsFreedWhenBodyNeverRunsAndReleaseIsIdempotent() {
+        DatabaseBackupService.Backup backup = service.tryStart().orElseThrow();
+
+        // p.x. async timeout prin ksekinhsei to streaming
+        backup.release();
+        backup.release();
+
+        DatabaseBackupService.Backup next = service.tryStart().orElseThrow();
+        assertThat(service.tryStart()).isEmpty(); // to diplo release den edwse deutero slot
+        next.release();
+    }
+}
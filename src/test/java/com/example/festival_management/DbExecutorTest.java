@@ -0,0 +1,147 @@
+package com.example.festival_management;
+
+import com.example.festival_management.service.impl.DbExecutor;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Ena DB thread kai oura enos task: cancel/timeout vgazoun to task apo thn oura, gemath oura -> 503,
+// argo query -> to kovei to timeout tou transaction
+@SpringBootTest(properties = {
+        "db.executor.threads=1",
+        "db.executor.queue-capacity=1",
+        "db.executor.timeout-ms=3000"
+})
+@AutoConfigureMockMvc
+class DbExecutorTest {
+
+    @Autowired
+    private DbExecutor dbExecutor;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<CompletableFuture<?>> blockers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        for (CompletableFuture<?> blocker : blockers) blocker.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testCancelledQueuedTaskIsRemovedAndNeverRuns() throws Exception {
+        occupyTheDbThread();
+        AtomicBoolean ran = new AtomicBoolean();
+        long cancelledBefore = dbExecutor.stats().cancelled();
+
+        CompletableFuture<Object> queued = dbExecutor.submit(() -> ran.getAndSet(true));
+        assertThat(dbExecutor.stats().queued()).isEqualTo(1);
+        queued.cancel(false);
+
+        assertThat(dbExecutor.stats().queued()).isZero();
+        assertThat(dbExecutor.stats().cancelled()).isEqualTo(cancelledBefore + 1);
+        release.countDown();
+        blockers.get(0).get(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void testTimedOutRequestAnswers503AndDropsItsQueuedTask() throws Exception {
+        occupyTheDbThread();
+        long cancelledBefore = dbExecutor.stats().cancelled();
+
+        MvcResult pending = mockMvc.perform(get("/api/festivals/1/deadlines"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(dbExecutor.stats().queued()).isEqualTo(1);
+
+        // to DeferredResult timeout opws to fanei o servlet container
+        MockAsyncContext async = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : async.getListeners()) listener.onTimeout(new AsyncEvent(async));
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        assertThat(dbExecutor.stats().queued()).isZero();
+        assertThat(dbExecutor.stats().cancelled()).isEqualTo(cancelledBefore + 1);
+    }
+
+    @Test
+    void testFullQueueAnswers503WithRetryAfter() throws Exception {
+        occupyTheDbThread();
+        blockers.add(dbExecutor.submit(() -> null)); // gemizei thn oura
+        long rejectedBefore = dbExecutor.stats().rejected();
+
+        MvcResult rejected = mockMvc.perform(get("/api/festivals/1/deadlines")).andReturn();
+        mockMvc.perform(asyncDispatch(rejected))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        assertThat(dbExecutor.stats().rejected()).isEqualTo(rejectedBefore + 1);
+    }
+
+    @Test
+    void testSlowQueryIsCutByTheTransactionTimeout() throws Exception {
+        long started = System.nanoTime();
+        // ~10^10 grammes: xwris to query timeout de tha teleiwne
+        CompletableFuture<Object> slow = dbExecutor.submit(() -> entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b "
+                        + "WHERE MOD(a.X * b.X, 7) = 3").getSingleResult());
+
+        assertThatThrownBy(() -> slow.get(20, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(jakarta.persistence.QueryTimeoutException.class)
+                // meso repository ginetai QueryTimeoutException -> 503 apo ton GlobalExceptionHandler
+                .satisfies(ex -> assertThat(EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(
+                        (RuntimeException) ex.getCause())).isInstanceOf(QueryTimeoutException.class));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(10_000);
+
+        // to connection menei sto pool kai douleyei
+        assertThat(dbExecutor.submit(() -> entityManager.createNativeQuery("SELECT 1").getSingleResult())
+                .get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private void occupyTheDbThread() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        blockers.add(dbExecutor.submit(() -> {
+            running.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.festival_management;
+
+import com.example.festival_management.dto.CalendarEntry;
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.service.impl.FestivalCalendarIndex;
+import com.example.festival_management.util.IntervalIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class FestivalCalendarIndexTest {
+
+    private FestivalCalendarIndex index;
+
+    @BeforeEach
+    void setUp() {
+        FestivalRepository festivalRepository = mock(FestivalRepository.class);
+        when(festivalRepository.calendarEntries()).thenReturn(List.of(
+                entry(1L, "Athens Jazz Festival", "Technopolis", "2025-06-03", "2025-06-05"),
+                entry(3L, "Rockwave", "Malakasa", "2025-07-12", "2025-07-12"),
+                entry(4L, "Release Athens", "Plateia Nerou", "2025-06-15", "2025-06-20"),
+                entry(5L, "Summer Nostos", "SNFCC", "2025-06-23", "2025-06-30")
+        ));
+        index = new FestivalCalendarIndex(festivalRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void testBetweenAndVenueOverlapsFollowUpdates() {
+        assertThat(names(index.between(LocalDate.parse("2025-06-05"), LocalDate.parse("2025-06-23"), null)))
+                .containsExactly("Athens Jazz Festival", "Release Athens", "Summer Nostos");
+        assertThat(index.between(LocalDate.parse("2025-06-06"), LocalDate.parse("2025-06-14"), null)).isEmpty();
+
+        index.put(festival(6L, "Technopolis Nights", "technopolis", "2025-06-05", "2025-06-07"));
+        assertThat(names(index.overlapsWith(1L))).containsExactly("Technopolis Nights");
+
+        // metakinhsh se allo venue kai meta diagrafh
+        index.put(festival(6L, "Technopolis Nights", "SNFCC", "2025-06-05", "2025-06-07"));
+        assertThat(index.overlapsWith(1L)).isEmpty();
+        index.remove(6L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testIntervalIndexMatchesLinearScan() {
+        Random random = new Random(42);
+        List<long[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long start = random.nextInt(3_650);
+            intervals.add(new long[]{start, start + random.nextInt(20)});
+        }
+        IntervalIndex<long[]> tree = new IntervalIndex<>(intervals, iv -> iv[0], iv -> iv[1]);
+
+        for (int q = 0; q < 500; q++) {
+            long from = random.nextInt(3_700) - 20;
+            long to = from + random.nextInt(60);
+            List<long[]> expected = intervals.stream().filter(iv -> iv[0] <= to && iv[1] >= from).toList();
+            assertThat(tree.overlapping(from, to)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static List<String> names(List<CalendarEntry> entries) {
+        return entries.stream().map(CalendarEntry::name).toList();
+    }
+
+    private static CalendarEntry entry(Long id, String name, String venue, String start, String end) {
+        return new CalendarEntry(id, name, venue, LocalDate.parse(start), LocalDate.parse(end));
+    }
+
+    private static Festival festival(Long id, String name, String venue, String start, String end) {
+        Festival f = new Festival();
+        f.setId(id);
+        f.setName(name);
+        f.setVenue(venue);
+        f.setStartDate(LocalDate.parse(start));
+        f.setEndDate(LocalDate.parse(end));
+        return f;
+    }
+}
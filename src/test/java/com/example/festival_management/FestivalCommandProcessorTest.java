@@ -0,0 +1,207 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.service.impl.FestivalCommandProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FestivalCommandProcessorTest {
+
+    private static final Long FESTIVAL = 1L;
+
+    private FestivalRepository festivalRepository;
+    private CountingTransactions transactions;
+    private FestivalCommandProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        festivalRepository = mock(FestivalRepository.class);
+        when(festivalRepository.findStateById(FESTIVAL)).thenReturn(Optional.of(FestivalState.REVIEW));
+        transactions = new CountingTransactions();
+        processor = new FestivalCommandProcessor(festivalRepository, transactions, 1, 64, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void testQueuedCommandsShareOneTransaction() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> blocker = processor.submit(FESTIVAL, state -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        await(started);
+        List<CompletableFuture<FestivalState>> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) queued.add(processor.submit(FESTIVAL, state -> state));
+        release.countDown();
+
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        for (CompletableFuture<FestivalState> f : queued) assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo(FestivalState.REVIEW);
+        assertThat(transactions.commits).hasValue(2); // o blocker + ena batch gia tis 10
+        verify(festivalRepository, times(1)).findStateById(FESTIVAL);
+    }
+
+    @Test
+    void testFailedBatchCommitFallsBackToOneTransactionPerCommand() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        processor.submit(FESTIVAL, state -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        await(started);
+        AtomicInteger applied = new AtomicInteger();
+        CompletableFuture<Integer> first = processor.submit(FESTIVAL, state -> applied.incrementAndGet());
+        CompletableFuture<Integer> invalid = processor.submit(FESTIVAL, state -> {
+            throw new IllegalStateException("Performance is not in SUBMITTED state");
+        });
+        CompletableFuture<Integer> second = processor.submit(FESTIVAL, state -> applied.incrementAndGet());
+        transactions.failCommit.set(2); // to commit tou batch
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPositive();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isPositive();
+        assertThatThrownBy(() -> invalid.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(applied).hasValue(4); // mia fora sto batch pou apetuxe, mia sto diko tous transaction
+        assertThat(transactions.commits).hasValue(3); // blocker + first + second
+        assertThat(transactions.rollbacks).hasValue(2); // to batch + h invalid
+        // meta apo apotyxia batch to cached state ksanadiavazetai
+        verify(festivalRepository, times(2)).findStateById(FESTIVAL);
+    }
+
+    @Test
+    void testTimeoutDropsQueuedCommandButWaitsForOneAlreadyInBatch() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        processor.submit(FESTIVAL, state -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        await(started);
+        AtomicBoolean ran = new AtomicBoolean();
+        assertThatThrownBy(() -> processor.execute(FESTIVAL, state -> ran.getAndSet(true)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("busy");
+        release.countDown();
+        // h entolh pou afaireithke den trexei pote, kai o worker synexizei
+        assertThat(processor.<String>execute(FESTIVAL, state -> "next")).isEqualTo("next");
+        assertThat(ran).isFalse();
+
+        // entolh pou argei mesa sto batch: o caller pairnei to pragmatiko apotelesma, oxi "busy"
+        assertThat(processor.<String>execute(FESTIVAL, state -> {
+            sleep(600);
+            return "committed";
+        })).isEqualTo("committed");
+    }
+
+    @Test
+    void testStateChangeRunsAloneAndLaterCommandsSeeTheNewState() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        processor.submit(FESTIVAL, state -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        await(started);
+        CompletableFuture<FestivalState> before = processor.submit(FESTIVAL, state -> state);
+        CompletableFuture<FestivalState> change = CompletableFuture.supplyAsync(() ->
+                processor.changeState(FESTIVAL, state -> FestivalState.DECISION));
+        sleep(200); // to state change mpainei sthn oura prin to after
+        CompletableFuture<FestivalState> after = processor.submit(FESTIVAL, state -> state);
+        release.countDown();
+
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo(FestivalState.REVIEW);
+        assertThat(change.get(5, TimeUnit.SECONDS)).isEqualTo(FestivalState.DECISION);
+        assertThat(after.get(5, TimeUnit.SECONDS)).isEqualTo(FestivalState.DECISION);
+        assertThat(transactions.commits).hasValue(4); // blocker, [before], [change], [after]
+        verify(festivalRepository, times(1)).findStateById(FESTIVAL);
+    }
+
+    @Test
+    void testEvictionReloadsTheState() {
+        assertThat(processor.<FestivalState>execute(FESTIVAL, state -> state)).isEqualTo(FestivalState.REVIEW);
+        assertThat(processor.changeState(FESTIVAL, state -> FestivalState.SCHEDULING)).isEqualTo(FestivalState.SCHEDULING);
+        assertThat(processor.<FestivalState>execute(FESTIVAL, state -> state)).isEqualTo(FestivalState.SCHEDULING);
+        verify(festivalRepository, times(1)).findStateById(FESTIVAL);
+
+        processor.evict(FESTIVAL);
+        assertThat(processor.<FestivalState>execute(FESTIVAL, state -> state)).isEqualTo(FestivalState.REVIEW);
+        verify(festivalRepository, times(2)).findStateById(FESTIVAL);
+    }
+
+    // Transaction manager xwris vash: metraei commits/rollbacks, to n-osto commit mporei na apotyxei
+    private static final class CountingTransactions extends AbstractPlatformTransactionManager {
+        final AtomicInteger commits = new AtomicInteger();
+        final AtomicInteger rollbacks = new AtomicInteger();
+        final AtomicInteger failCommit = new AtomicInteger(); // 0 = kanena
+        final AtomicInteger attempts = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            if (attempts.incrementAndGet() == failCommit.get()) {
+                throw new OptimisticLockingFailureException("Festival row changed concurrently");
+            }
+            commits.incrementAndGet();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
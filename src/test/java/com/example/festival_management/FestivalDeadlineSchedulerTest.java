@@ -0,0 +1,112 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.service.FestivalService;
+import com.example.festival_management.service.impl.FestivalDeadlineScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FestivalDeadlineSchedulerTest {
+
+    private FestivalRepository festivalRepository;
+    private FestivalService festivalService;
+    private FestivalDeadlineScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        festivalRepository = mock(FestivalRepository.class);
+        festivalService = mock(FestivalService.class);
+        ObjectProvider<FestivalService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(festivalService);
+        scheduler = new FestivalDeadlineScheduler(festivalRepository, provider, 50, 3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testWakesUpAtTheDeadline() {
+        scheduler.start();
+        scheduler.schedule(1L, FestivalState.SUBMISSION, LocalDateTime.now().plusNanos(200_000_000));
+        assertThat(scheduler.pending()).isEqualTo(1);
+
+        verify(festivalService, after(100).never()).applyScheduledTransition(anyLong(), any());
+        verify(festivalService, timeout(2000)).applyScheduledTransition(1L, FestivalState.SUBMISSION);
+        assertThat(scheduler.pending()).isZero();
+    }
+
+    @Test
+    void testRestartRebuildsQueueAndFiresMissedDeadlines() {
+        when(festivalRepository.pendingDeadlines()).thenReturn(List.of(
+                deadline(2L, FestivalState.REVIEW, LocalDateTime.now().minusHours(1)),  // perase oso htan katw
+                deadline(3L, FestivalState.SCHEDULING, LocalDateTime.now().plusDays(1))));
+
+        scheduler.start();
+
+        verify(festivalService, timeout(2000)).applyScheduledTransition(2L, FestivalState.REVIEW);
+        verify(festivalService, never()).applyScheduledTransition(3L, FestivalState.SCHEDULING);
+        assertThat(scheduler.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void testRescheduleAndCancelReplaceTheOldDeadline() {
+        scheduler.start();
+        scheduler.schedule(4L, FestivalState.ASSIGNMENT, LocalDateTime.now().plusNanos(200_000_000));
+        scheduler.schedule(4L, FestivalState.ASSIGNMENT, LocalDateTime.now().plusDays(1)); // metakinhthke argotera
+        scheduler.schedule(5L, FestivalState.ASSIGNMENT, LocalDateTime.now().plusNanos(200_000_000));
+        scheduler.cancel(5L);
+
+        verify(festivalService, after(600).never()).applyScheduledTransition(anyLong(), any());
+        assertThat(scheduler.pending()).isEqualTo(1);
+
+        // pio noris apo to trexon prwto deadline: to thread ksypnaei
+        scheduler.schedule(4L, FestivalState.ASSIGNMENT, LocalDateTime.now().plusNanos(100_000_000));
+        verify(festivalService, timeout(2000)).applyScheduledTransition(4L, FestivalState.ASSIGNMENT);
+    }
+
+    @Test
+    void testFailingTransitionIsRetriedWithBackoffAndThenGivenUp() {
+        when(festivalService.applyScheduledTransition(6L, FestivalState.DECISION))
+                .thenThrow(new IllegalStateException("db down"));
+        scheduler.start();
+        scheduler.schedule(6L, FestivalState.DECISION, LocalDateTime.now());
+
+        // max-attempts 3: arxikh + 2 ksanadokimes (50 ms, 100 ms), meta tipota
+        verify(festivalService, timeout(2000).times(3)).applyScheduledTransition(6L, FestivalState.DECISION);
+        verify(festivalService, after(500).times(3)).applyScheduledTransition(6L, FestivalState.DECISION);
+        assertThat(scheduler.pending()).isZero();
+    }
+
+    private static FestivalRepository.PendingDeadline deadline(Long id, FestivalState state, LocalDateTime at) {
+        return new FestivalRepository.PendingDeadline() {
+            @Override
+            public Long getFestivalId() { return id; }
+
+            @Override
+            public FestivalState getState() { return state; }
+
+            @Override
+            public LocalDateTime getDeadline() { return at; }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.festival_management;
+
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.service.impl.FestivalNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class FestivalNameIndexTest {
+
+    private FestivalNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        FestivalRepository festivalRepository = mock(FestivalRepository.class);
+        when(festivalRepository.options()).thenReturn(List.of(
+                option(1L, "Athens Jazz Festival"),
+                option(2L, "Rockwave"),
+                option(3L, "Release Athens")
+        ));
+        index = new FestivalNameIndex(festivalRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void testSuggestByPrefixIgnoresCase() {
+        assertThat(names(index.suggest("re", 10))).containsExactly("Release Athens");
+        assertThat(names(index.suggest("ATH", 10))).containsExactly("Athens Jazz Festival");
+        assertThat(index.suggest("", 2)).hasSize(2);
+    }
+
+    @Test
+    void testPutRenamesAndRemoveDeletes() {
+        index.put(2L, "Athens Rock");
+        index.put(4L, "Άθηνα Live"); // ο τόνος αγνοείται στο prefix
+
+        assertThat(names(index.suggest("athens", 10))).containsExactly("Athens Jazz Festival", "Athens Rock");
+        assertThat(names(index.suggest("αθ", 10))).containsExactly("Άθηνα Live");
+        assertThat(index.suggest("rock", 10)).isEmpty();
+
+        index.remove(1L);
+        assertThat(names(index.suggest("athens", 10))).containsExactly("Athens Rock");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static List<String> names(List<FestivalRepository.Option> options) {
+        return options.stream().map(FestivalRepository.Option::getName).toList();
+    }
+
+    private static FestivalRepository.Option option(Long id, String name) {
+        return new FestivalRepository.Option() {
+            @Override public Long getId() { return id; }
+            @Override public String getName() { return name; }
+        };
+    }
+}
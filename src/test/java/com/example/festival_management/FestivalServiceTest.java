@@ -5,6 +5,14 @@ import com.example.festival_management.entity.User;
 import com.example.festival_management.entity.enums.FestivalState;
 import com.example.festival_management.repository.FestivalRepository;
 import com.example.festival_management.repository.RoleAssignmentRepository;
+import com.example.festival_management.service.impl.AuditService;
+import com.example.festival_management.service.impl.FestivalCalendarIndex;
+import com.example.festival_management.service.impl.DomainEventPublisher;
+import com.example.festival_management.service.impl.FestivalCommandProcessor;
+import com.example.festival_management.service.impl.FestivalNameIndex;
+import com.example.festival_management.service.impl.FestivalDeadlineScheduler;
+import com.example.festival_management.service.impl.FestivalStateMachine;
+import com.example.festival_management.service.impl.ReadCoalescer;
 import com.example.festival_management.service.impl.FestivalServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +27,14 @@ class FestivalServiceTest {
 
     private FestivalRepository festivalRepository;
     private RoleAssignmentRepository roleAssignmentRepository;
+    private FestivalNameIndex festivalNameIndex;
+    private FestivalCommandProcessor commandProcessor;
+    private DomainEventPublisher eventPublisher;
+    private FestivalStateMachine stateMachine;
+    private FestivalDeadlineScheduler deadlineScheduler;
+    private AuditService auditService;
+    private FestivalCalendarIndex calendarIndex;
+    private ReadCoalescer readCoalescer;
 
     private FestivalServiceImpl festivalService;
 
@@ -28,7 +44,17 @@ class FestivalServiceTest {
     void setUp() {
         festivalRepository = mock(FestivalRepository.class);
         roleAssignmentRepository = mock(RoleAssignmentRepository.class);
-        festivalService = new FestivalServiceImpl(festivalRepository, roleAssignmentRepository);
+        festivalNameIndex = mock(FestivalNameIndex.class);
+        commandProcessor = mock(FestivalCommandProcessor.class);
+        eventPublisher = mock(DomainEventPublisher.class);
+        stateMachine = mock(FestivalStateMachine.class);
+        deadlineScheduler = mock(FestivalDeadlineScheduler.class);
+        auditService = mock(AuditService.class);
+        calendarIndex = mock(FestivalCalendarIndex.class);
+        readCoalescer = mock(ReadCoalescer.class);
+        festivalService = new FestivalServiceImpl(festivalRepository, roleAssignmentRepository,
+                festivalNameIndex, commandProcessor, eventPublisher, stateMachine, deadlineScheduler, auditService,
+                calendarIndex, readCoalescer);
 
         organizer = new User();
         // Αν χρειαστείς id/username, μπορείς να τα ορίσεις εδώ αν υπάρχουν setters στο entity σου
@@ -0,0 +1,115 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.service.impl.FestivalStateMachine;
+import com.example.festival_management.service.impl.PerformanceBulkTransitions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FestivalStateMachineTest {
+
+    private static final List<FestivalState> FLOW = List.of(
+            FestivalState.CREATED, FestivalState.SUBMISSION, FestivalState.ASSIGNMENT, FestivalState.REVIEW,
+            FestivalState.SCHEDULING, FestivalState.FINAL_SUBMISSION, FestivalState.DECISION, FestivalState.ANNOUNCED);
+
+    private PerformanceBulkTransitions bulkTransitions;
+    private FestivalStateMachine stateMachine;
+
+    @BeforeEach
+    void setUp() {
+        bulkTransitions = mock(PerformanceBulkTransitions.class);
+        stateMachine = new FestivalStateMachine(bulkTransitions);
+    }
+
+    @Test
+    void testOnlyTheNextStateOfTheLinearFlowIsAllowed() {
+        for (FestivalState from : FestivalState.values()) {
+            for (FestivalState to : FestivalState.values()) {
+                int i = FLOW.indexOf(from);
+                boolean expected = i >= 0 && i + 1 < FLOW.size() && FLOW.get(i + 1) == to;
+                assertThat(stateMachine.canTransition(from, to)).as(from + " -> " + to).isEqualTo(expected);
+            }
+        }
+        assertThat(stateMachine.next(FestivalState.REVIEW)).contains(FestivalState.SCHEDULING);
+        assertThat(stateMachine.next(FestivalState.ANNOUNCED)).isEmpty();
+        assertThat(stateMachine.allowedFrom(FestivalState.ANNOUNCED)).isEmpty();
+    }
+
+    @Test
+    void testValidateRejectsSkipsBackwardsAndNull() {
+        stateMachine.validate(FestivalState.CREATED, FestivalState.SUBMISSION);
+        assertThatThrownBy(() -> stateMachine.validate(FestivalState.CREATED, FestivalState.REVIEW))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("allowed: [SUBMISSION]");
+        assertThatThrownBy(() -> stateMachine.validate(FestivalState.DECISION, FestivalState.SCHEDULING))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> stateMachine.validate(FestivalState.DECISION, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testOnlyFinalSubmissionToDecisionHasAHook() {
+        for (int i = 0; i + 1 < FLOW.size(); i++) {
+            List<FestivalStateMachine.PhaseHook> hooks = stateMachine.hooksFor(FLOW.get(i), FLOW.get(i + 1));
+            if (FLOW.get(i) == FestivalState.FINAL_SUBMISSION) {
+                assertThat(hooks).containsExactly(new FestivalStateMachine.PhaseHook(
+                        "auto-reject-unsubmitted", PerformanceStatus.APPROVED, PerformanceStatus.REJECTED));
+            } else {
+                assertThat(hooks).as(FLOW.get(i) + " -> " + FLOW.get(i + 1)).isEmpty();
+            }
+        }
+    }
+
+    @Test
+    void testRunHooksMovesPerformancesAndRecordsProgress() {
+        when(bulkTransitions.run(eq(7L), eq(PerformanceStatus.APPROVED), eq(PerformanceStatus.REJECTED), any()))
+                .thenAnswer(inv -> {
+                    PerformanceBulkTransitions.ProgressListener listener = inv.getArgument(3);
+                    listener.onProgress(0, 3);
+                    listener.onProgress(3, 3);
+                    return 3L;
+                });
+
+        stateMachine.runHooks(7L, FestivalState.FINAL_SUBMISSION, FestivalState.DECISION);
+
+        FestivalStateMachine.Progress progress = stateMachine.progress(7L).orElseThrow();
+        assertThat(progress.hook()).isEqualTo("auto-reject-unsubmitted");
+        assertThat(progress.processed()).isEqualTo(3);
+        assertThat(progress.total()).isEqualTo(3);
+        assertThat(progress.done()).isTrue();
+
+        // DECISION -> ANNOUNCED den agizei ta performances
+        stateMachine.runHooks(8L, FestivalState.DECISION, FestivalState.ANNOUNCED);
+        assertThat(stateMachine.progress(8L)).isEmpty();
+        verify(bulkTransitions).run(eq(7L), eq(PerformanceStatus.APPROVED), eq(PerformanceStatus.REJECTED), any());
+    }
+
+    @Test
+    void testFailedHookKeepsTheErrorInProgress() {
+        when(bulkTransitions.run(eq(9L), any(), any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThatThrownBy(() -> stateMachine.runHooks(9L, FestivalState.FINAL_SUBMISSION, FestivalState.DECISION))
+                .hasMessage("db down");
+        FestivalStateMachine.Progress progress = stateMachine.progress(9L).orElseThrow();
+        assertThat(progress.done()).isFalse();
+        assertThat(progress.error()).isEqualTo("db down");
+    }
+
+    @Test
+    void testTransitionWithoutHooksDoesNotTouchPerformances() {
+        stateMachine.runHooks(1L, FestivalState.CREATED, FestivalState.SUBMISSION);
+        verifyNoInteractions(bulkTransitions);
+    }
+}
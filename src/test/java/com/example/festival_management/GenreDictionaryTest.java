@@ -0,0 +1,65 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.PerformanceService;
+import com.example.festival_management.service.impl.GenreDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class GenreDictionaryTest {
+
+    @Autowired
+    private GenreDictionary dictionary;
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testSpellingsOfTheSameGenreShareOneEntry() {
+        assertThat(dictionary.intern("  jazz ")).isEqualTo("Jazz");
+        assertThat(dictionary.intern("hip-hop")).isEqualTo("Hip Hop");
+        assertThat(dictionary.intern("HIP_HOP")).isEqualTo("Hip Hop");
+
+        String created = dictionary.intern("Nu  Jazz");
+        assertThat(created).isEqualTo("Nu Jazz");
+        assertThat(dictionary.intern("nu-jazz")).isEqualTo("Nu Jazz");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM genres WHERE normalized_name = 'nu jazz'", Integer.class))
+                .isEqualTo(1);
+
+        assertThatThrownBy(() -> dictionary.intern(" ")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(dictionary.idOf("polka")).isEmpty();
+    }
+
+    @Test
+    void testPerformanceStoresOnlyTheGenreId() {
+        Performance p = new Performance();
+        p.setName("genre-test");
+        p.setGenre("ROCK");
+        p.setDuration(Duration.ofMinutes(45));
+        Performance saved = performanceService.createPerformance(p, 1L,
+                userRepository.findByUsername("artist1").orElseThrow());
+
+        Integer genreId = jdbc.queryForObject("SELECT genre_id FROM performances WHERE id = ?", Integer.class, saved.getId());
+        assertThat(genreId).isEqualTo(dictionary.idOf("rock").orElseThrow());
+        assertThat(performanceRepository.findById(saved.getId()).orElseThrow().getGenre()).isEqualTo("Rock");
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.festival_management;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark: write throughput ths H2 se in-memory, file (defaults) kai file me ta settings tou profile h2file.
+// Den trexei sto kanoniko "mvn test"; trexei me:  mvn test -Dsurefire.excludedGroups= -Dgroups=benchmark
+@Tag("benchmark")
+class H2WriteThroughputBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(H2WriteThroughputBenchmark.class);
+    private static final int ROWS = 20_000;
+    private static final int COMMIT_EVERY = 1; // ena commit ana insert, opws ena request
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compareWriteThroughput() throws Exception {
+        Map<String, String> configs = new LinkedHashMap<>();
+        configs.put("mem", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        configs.put("file-defaults", "jdbc:h2:file:" + dir.resolve("defaults"));
+        configs.put("file-tuned", "jdbc:h2:file:" + dir.resolve("tuned")
+                + ";CACHE_SIZE=65536;WRITE_DELAY=500;MAX_COMPACT_TIME=2000;AUTO_COMPACT_FILL_RATE=80");
+        configs.put("file-sync", "jdbc:h2:file:" + dir.resolve("sync") + ";WRITE_DELAY=0");
+
+        for (Map.Entry<String, String> config : configs.entrySet()) {
+            run(config.getKey(), config.getValue(), 2_000); // warm-up
+            double perSecond = run(config.getKey(), config.getValue(), ROWS);
+            log.info("{}: {} inserts/s", config.getKey(), Math.round(perSecond));
+            assertThat(perSecond).isPositive();
+        }
+    }
+
+    private static double run(String name, String url, int rows) throws Exception {
+        try (Connection c = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement st = c.createStatement()) {
+                st.execute("DROP TABLE IF EXISTS bench");
+                st.execute("CREATE TABLE bench (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), status VARCHAR(32))");
+            }
+            c.setAutoCommit(false);
+            long started = System.nanoTime();
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO bench (name, status) VALUES (?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    ps.setString(1, name + "-" + i);
+                    ps.setString(2, "CREATED");
+                    ps.executeUpdate();
+                    if ((i + 1) % COMMIT_EVERY == 0) c.commit();
+                }
+            }
+            c.commit();
+            long elapsed = System.nanoTime() - started;
+            try (Statement st = c.createStatement()) {
+                st.execute("SHUTDOWN");
+            }
+            return rows / (elapsed / 1_000_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.impl.DomainEventPublisher;
+import com.example.festival_management.service.impl.LineupSnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class LineupSnapshotTest {
+
+    @Autowired
+    private LineupSnapshotService lineupSnapshots;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testAnnouncedLineupIsBuiltOnceAndRebuiltOnlyOnChange() throws Exception {
+        Festival festival = new Festival();
+        festival.setName("Lineup Test Fest");
+        festival.setVenue("Odeon");
+        festival.setStartDate(LocalDate.parse("2025-09-01"));
+        festival.setEndDate(LocalDate.parse("2025-09-02"));
+        festival.setState(FestivalState.ANNOUNCED);
+        festival = festivalRepository.save(festival);
+        Performance headliner = performanceRepository.save(
+                newPerformance(festival, "Closing Set", PerformanceStatus.ACCEPTED, "2025-09-02T22:00"));
+        performanceRepository.save(newPerformance(festival, "Opening Set", PerformanceStatus.ACCEPTED, "2025-09-01T19:00"));
+        performanceRepository.save(newPerformance(festival, "Rejected Set", PerformanceStatus.REJECTED, "2025-09-01T20:00"));
+
+        LineupSnapshotService.Snapshot first = lineupSnapshots.get(festival.getId()).orElseThrow();
+        String json = gunzip(first.gzip());
+        assertThat(first.performances()).isEqualTo(2);
+        assertThat(json).contains("\"Lineup Test Fest\"").doesNotContain("Rejected Set");
+        assertThat(json.indexOf("Opening Set")).isLessThan(json.indexOf("Closing Set"));
+        assertThat(lineupSnapshots.get(festival.getId()).orElseThrow()).isSameAs(first);
+
+        // event xwris allagh sto periexomeno: idio ETag
+        lineupSnapshots.handle(updated(festival.getId(), headliner.getId()));
+        assertThat(lineupSnapshots.get(festival.getId()).orElseThrow().etag()).isEqualTo(first.etag());
+
+        headliner.setName("Closing Set (extended)");
+        performanceRepository.save(headliner);
+        lineupSnapshots.handle(updated(festival.getId(), headliner.getId()));
+        LineupSnapshotService.Snapshot rebuilt = lineupSnapshots.get(festival.getId()).orElseThrow();
+        assertThat(rebuilt.etag()).isNotEqualTo(first.etag());
+        assertThat(gunzip(rebuilt.gzip())).contains("Closing Set (extended)");
+
+        // mh ANNOUNCED festival: kanena snapshot
+        assertThat(lineupSnapshots.get(festivalRepository.findByName("Athens Jazz Festival").orElseThrow().getId()))
+                .isEmpty();
+    }
+
+    private Performance newPerformance(Festival festival, String name, PerformanceStatus status, String slot) {
+        Performance p = new Performance();
+        p.setName(name);
+        p.setGenre("Jazz");
+        p.setCreatedAt(LocalDateTime.now());
+        p.setStatus(status);
+        p.setDuration(Duration.ofMinutes(60));
+        p.setFestival(festival);
+        p.setMainArtist(userRepository.findByUsername("artist1").orElseThrow());
+        p.setPreferredPerformanceSlots(new HashSet<>(List.of(LocalDateTime.parse(slot))));
+        return p;
+    }
+
+    private static OutboxEvent updated(Long festivalId, Long performanceId) {
+        return new OutboxEvent(DomainEventPublisher.PERFORMANCE, performanceId, "PERFORMANCE_UPDATED",
+                "{\"performanceId\":" + performanceId + ",\"festivalId\":" + festivalId + "}");
+    }
+
+    private static String gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.festival_management;
+
+import com.example.festival_management.util.MappedSegmentLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedSegmentLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRollsSegmentsAndReadsBackAfterReopen() throws Exception {
+        try (MappedSegmentLog log = new MappedSegmentLog(dir, 4096)) {
+            for (int i = 0; i < 400; i++) {
+                log.append(("entry-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            log.force();
+            assertThat(log.forcedCount()).isEqualTo(400);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.count()).isGreaterThan(1);
+        }
+
+        // meta to reopen ta nea records grafontai meta ta palia
+        try (MappedSegmentLog log = new MappedSegmentLog(dir, 4096)) {
+            log.append("entry-400".getBytes(StandardCharsets.UTF_8));
+            try (Stream<String> all = log.read(b -> StandardCharsets.UTF_8.decode(b).toString(), null)) {
+                List<String> entries = all.toList();
+                assertThat(entries).hasSize(401);
+                assertThat(entries.get(0)).isEqualTo("entry-0");
+                assertThat(entries.get(400)).isEqualTo("entry-400");
+            }
+            try (Stream<String> filtered = log.read(b -> StandardCharsets.UTF_8.decode(b).toString(),
+                    s -> s.endsWith("7"))) {
+                assertThat(filtered.count()).isEqualTo(40);
+            }
+        }
+    }
+
+    @Test
+    void testRecoveryStopsAtTornRecordAndOverwritesIt() throws Exception {
+        try (MappedSegmentLog log = new MappedSegmentLog(dir, 4096)) {
+            for (int i = 0; i < 3; i++) {
+                log.append(("entry-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        // crash sth mesh tou append: to payload tou 3ou record xalase, to CRC den tairiazei
+        Path segment = segmentFile();
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            int third = 2 * (8 + "entry-0".length());
+            ch.write(ByteBuffer.wrap(new byte[]{'X'}), third + 8 + 2);
+        }
+
+        try (MappedSegmentLog log = new MappedSegmentLog(dir, 4096)) {
+            assertThat(readAll(log)).containsExactly("entry-0", "entry-1");
+            // to epomeno append grafetai sth thesh tou torn record
+            log.append("entry-2b".getBytes(StandardCharsets.UTF_8));
+            log.append("entry-3".getBytes(StandardCharsets.UTF_8));
+            assertThat(readAll(log)).containsExactly("entry-0", "entry-1", "entry-2b", "entry-3");
+        }
+        try (MappedSegmentLog log = new MappedSegmentLog(dir, 4096)) {
+            assertThat(readAll(log)).containsExactly("entry-0", "entry-1", "entry-2b", "entry-3");
+        }
+    }
+
+    @Test
+    void testSecondWriterOnSameDirectoryIsRejected() throws Exception {
+        try (MappedSegmentLog log = new MappedSegmentLog(dir, 4096)) {
+            assertThatThrownBy(() -> new MappedSegmentLog(dir, 4096))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("in use");
+        }
+        // meta to close to lock apeleutherwnetai
+        new MappedSegmentLog(dir, 4096).close();
+    }
+
+    private Path segmentFile() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+    }
+
+    private static List<String> readAll(MappedSegmentLog log) throws IOException {
+        try (Stream<String> all = log.read(b -> StandardCharsets.UTF_8.decode(b).toString(), null)) {
+            return all.toList();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.repository.OutboxEventRepository;
+import com.example.festival_management.service.DomainEventHandler;
+import com.example.festival_management.service.impl.DomainEventPublisher;
+import com.example.festival_management.service.impl.OutboxDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private OutboxEventRepository repository;
+    private RecordingHandler first;
+    private RecordingHandler second;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        first = new RecordingHandler();
+        second = new RecordingHandler();
+        ObjectProvider<DomainEventHandler> handlers = mock(ObjectProvider.class);
+        when(handlers.orderedStream()).thenAnswer(inv -> Stream.of(first, second));
+        dispatcher = new OutboxDispatcher(repository, handlers, 4, 10, 3, 20, 60, 24);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testFailedEventIsRetriedWithExponentialBackoff() {
+        OutboxEvent fresh = event(1, 10L, 0);
+        OutboxEvent third = event(2, 11L, 3);
+        OutboxEvent old = event(3, 12L, 19);
+        first.failing.addAll(Set.of(1L, 2L, 3L));
+        pending(fresh, third, old);
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        assertThat(retryAt(1L)).isCloseTo(before.plusSeconds(1), within(1, ChronoUnit.SECONDS));
+        assertThat(retryAt(2L)).isCloseTo(before.plusSeconds(8), within(1, ChronoUnit.SECONDS));
+        assertThat(retryAt(3L)).isCloseTo(before.plusSeconds(300), within(1, ChronoUnit.SECONDS)); // to poly 5'
+        verify(repository, never()).markProcessed(any(), any());
+    }
+
+    @Test
+    void testLaterEventsOfAFailedAggregateWaitAndOthersProceedInOrder() {
+        // aggregate 20: to 1o apotygxanei, ta 2o/3o perimenoun. aggregate 21: trexei kanonika me th seira
+        OutboxEvent a1 = event(1, 20L, 0);
+        OutboxEvent a2 = event(2, 20L, 0);
+        OutboxEvent b1 = event(3, 21L, 0);
+        OutboxEvent a3 = event(4, 20L, 0);
+        OutboxEvent b2 = event(5, 21L, 0);
+        OutboxEvent b3 = event(6, 21L, 0);
+        first.failing.add(1L);
+        pending(a1, a2, b1, a3, b2, b3);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(first.handled).doesNotContain(2L, 4L);
+        assertThat(first.handled.stream().filter(id -> id >= 3 && id != 4).toList()).containsExactly(3L, 5L, 6L);
+        LocalDateTime retryAt = retryAt(1L);
+        verify(repository).deferUntil(List.of(2L, 4L), retryAt);
+        assertThat(processed()).containsExactlyInAnyOrder(3L, 5L, 6L);
+    }
+
+    @Test
+    void testEventIsRedeliveredToAllHandlersUntilEveryHandlerSucceeds() {
+        OutboxEvent e = event(1, 30L, 0);
+        second.failing.add(1L);
+        pending(e);
+
+        dispatcher.dispatchBatch();
+        assertThat(first.handled).containsExactly(1L);
+        verify(repository, never()).markProcessed(any(), any());
+
+        // epomeno poll: to idio event ksanaerxetai (at-least-once), o prwtos handler to vlepei deuterh fora
+        second.failing.clear();
+        e.setAttempts(1);
+        pending(e);
+        dispatcher.dispatchBatch();
+
+        assertThat(first.handled).containsExactly(1L, 1L);
+        assertThat(second.handled).containsExactly(1L, 1L);
+        assertThat(processed()).containsExactly(1L);
+    }
+
+    @Test
+    void testPollDrainsAtMostMaxBatchesPerPoll() {
+        OutboxEvent[] full = new OutboxEvent[10]; // batch-size 10: kathe batch gemato
+        for (int i = 0; i < full.length; i++) full[i] = event(i + 1, 40L + i, 0);
+        pending(full);
+
+        dispatcher.poll();
+
+        verify(repository, times(3)).findPending(any(), anyInt(), any());
+    }
+
+    private void pending(OutboxEvent... events) {
+        when(repository.findPending(any(), anyInt(), any())).thenReturn(List.of(events));
+        when(repository.findClaimed(anyString())).thenReturn(List.of(events));
+    }
+
+    private LocalDateTime retryAt(Long id) {
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).markFailed(eq(id), next.capture(), anyString());
+        return next.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> processed() {
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, atLeastOnce()).markProcessed(ids.capture(), any());
+        List<Long> all = new ArrayList<>();
+        ids.getAllValues().forEach(all::addAll);
+        return all;
+    }
+
+    private static OutboxEvent event(long id, Long performanceId, int attempts) {
+        OutboxEvent e = new OutboxEvent(DomainEventPublisher.PERFORMANCE, performanceId, "PERFORMANCE_UPDATED", "{}");
+        e.setId(id);
+        e.setAttempts(attempts);
+        return e;
+    }
+
+    // Kratei ta ids me th seira pou ta eide, apotygxanei gia ta ids sto failing
+    private static final class RecordingHandler implements DomainEventHandler {
+        final List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        final Set<Long> failing = new CopyOnWriteArraySet<>();
+
+        @Override
+        public boolean supports(String eventType) {
+            return true;
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            handled.add(event.getId());
+            if (failing.contains(event.getId())) throw new IllegalStateException("handler failed");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Seira ana aggregate metaksy polls, exhausted events kai claims (dyo komvoi panw sto idio outbox)
+@SpringBootTest(properties = "outbox.poll-interval-ms=600000")
+class OutboxEventRepositoryTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Test
+    void testNewerEventWaitsForTheOlderFailedOneOfItsAggregate() {
+        long aggregate = randomAggregate();
+        OutboxEvent failed = save(aggregate);
+        OutboxEvent other = save(randomAggregate());
+        repository.markFailed(failed.getId(), LocalDateTime.now().plusMinutes(1), "handler failed");
+        OutboxEvent newer = save(aggregate); // ftanei se epomeno poll
+
+        assertThat(pendingIds()).contains(other.getId()).doesNotContain(failed.getId(), newer.getId());
+
+        // to retry tou palaioterou erxetai: kai ta dyo, me th seira
+        repository.deferUntil(List.of(failed.getId()), LocalDateTime.now().minusSeconds(1));
+        assertThat(pendingIds()).containsSubsequence(failed.getId(), newer.getId());
+    }
+
+    @Test
+    void testExhaustedEventHoldsItsAggregateUntilRetried() {
+        long aggregate = randomAggregate();
+        OutboxEvent exhausted = save(aggregate);
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            repository.markFailed(exhausted.getId(), LocalDateTime.now().minusSeconds(1), "handler failed");
+        }
+        OutboxEvent newer = save(aggregate);
+
+        assertThat(pendingIds()).doesNotContain(exhausted.getId(), newer.getId());
+        assertThat(repository.findExhausted(MAX_ATTEMPTS, PageRequest.of(0, 1000)))
+                .extracting(OutboxEvent::getId).contains(exhausted.getId());
+
+        assertThat(repository.resetAttempts(exhausted.getId())).isEqualTo(1);
+        assertThat(pendingIds()).containsSubsequence(exhausted.getId(), newer.getId());
+    }
+
+    @Test
+    void testClaimedEventsAreNotHandedToAnotherNode() {
+        long aggregate = randomAggregate();
+        OutboxEvent first = save(aggregate);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusMinutes(5);
+
+        assertThat(repository.claim(List.of(first.getId()), "node-a", until, now)).isEqualTo(1);
+        assertThat(repository.claim(List.of(first.getId()), "node-b", until, now)).isZero();
+        OutboxEvent second = save(aggregate);
+
+        // to second den dinetai oso to first einai claimed apo allon
+        assertThat(pendingIds()).doesNotContain(first.getId(), second.getId());
+        repository.claim(List.of(second.getId()), "node-b", until, now);
+        assertThat(repository.findClaimed("node-b")).extracting(OutboxEvent::getId).doesNotContain(second.getId());
+        assertThat(repository.findClaimed("node-a")).extracting(OutboxEvent::getId).containsExactly(first.getId());
+
+        // lease pou eleyse (o komvos epese): ksanadiathesimo
+        assertThat(repository.release(List.of(second.getId()), "node-b")).isEqualTo(1);
+        repository.claim(List.of(first.getId()), "node-a", now.minusSeconds(1), now.plusMinutes(6));
+        assertThat(pendingIds()).containsSubsequence(first.getId(), second.getId());
+    }
+
+    private List<Long> pendingIds() {
+        return repository.findPending(LocalDateTime.now(), MAX_ATTEMPTS, PageRequest.of(0, 10_000)).stream()
+                .filter(e -> "TEST".equals(e.getAggregateType()))
+                .map(OutboxEvent::getId)
+                .toList();
+    }
+
+    private OutboxEvent save(long aggregate) {
+        return repository.save(new OutboxEvent("TEST", aggregate, "TEST_EVENT", "{}"));
+    }
+
+    private static long randomAggregate() {
+        return ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.impl.DomainEventPublisher;
+import com.example.festival_management.service.impl.PerformanceBulkTransitions;
+import com.example.festival_management.service.impl.PerformanceFacetCounter;
+import com.example.festival_management.service.impl.ReadCoalescer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Chunk size 2 gia 5 performances: 3 chunks, to kathe ena me diko tou event
+@SpringBootTest
+class PerformanceBulkTransitionsTest {
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PerformanceFacetCounter facetCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRunMovesEveryPerformanceInChunksAndIsIdempotent() {
+        Festival festival = new Festival();
+        festival.setName("Bulk Transition Fest");
+        festival.setVenue("Gazi");
+        festival.setStartDate(LocalDate.parse("2025-10-01"));
+        festival.setEndDate(LocalDate.parse("2025-10-02"));
+        festival.setState(FestivalState.FINAL_SUBMISSION);
+        festival = festivalRepository.save(festival);
+        List<Long> approved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            approved.add(performanceRepository.save(newPerformance(festival, "Bulk Set " + i, PerformanceStatus.APPROVED)).getId());
+        }
+        Long submitted = performanceRepository.save(
+                newPerformance(festival, "Bulk Final", PerformanceStatus.FINAL_SUBMITTED)).getId();
+
+        DomainEventPublisher events = mock(DomainEventPublisher.class);
+        PerformanceBulkTransitions bulk = new PerformanceBulkTransitions(
+                performanceRepository, facetCounter, events, mock(ReadCoalescer.class), transactionManager, 2);
+        List<long[]> progress = new ArrayList<>();
+
+        long moved = bulk.run(festival.getId(), PerformanceStatus.APPROVED, PerformanceStatus.REJECTED,
+                (processed, total) -> progress.add(new long[]{processed, total}));
+
+        assertThat(moved).isEqualTo(5);
+        assertThat(progress).extracting(p -> p[0]).containsExactly(0L, 2L, 4L, 5L);
+        assertThat(progress).extracting(p -> p[1]).containsOnly(5L);
+        for (Long id : approved) {
+            assertThat(performanceRepository.findById(id).orElseThrow().getStatus()).isEqualTo(PerformanceStatus.REJECTED);
+        }
+        // mono to "from" status allazei
+        assertThat(performanceRepository.findById(submitted).orElseThrow().getStatus())
+                .isEqualTo(PerformanceStatus.FINAL_SUBMITTED);
+
+        ArgumentCaptor<Map<String, ?>> payloads = ArgumentCaptor.forClass(Map.class);
+        verify(events, times(3)).publish(eq(DomainEventPublisher.FESTIVAL), eq(festival.getId()),
+                eq("PERFORMANCES_BULK_TRANSITIONED"), payloads.capture());
+        List<Object> ids = new ArrayList<>();
+        for (Map<String, ?> payload : payloads.getAllValues()) {
+            ids.addAll((List<?>) payload.get("performanceIds"));
+            // kathe performance tou chunk exei ton artist tou, gia tis eidopoihseis
+            assertThat(((Map<Long, String>) payload.get("artists")).keySet())
+                    .containsExactlyElementsOf((List<Long>) payload.get("performanceIds"));
+            assertThat(((Map<Long, String>) payload.get("artists")).values()).containsOnly("artist1");
+        }
+        assertThat(ids).containsExactlyElementsOf(approved);
+
+        // deutero run (p.x. redelivery tou outbox): tipota na kanei
+        assertThat(bulk.run(festival.getId(), PerformanceStatus.APPROVED, PerformanceStatus.REJECTED,
+                (processed, total) -> {})).isZero();
+        verify(events, times(3)).publish(eq(DomainEventPublisher.FESTIVAL), eq(festival.getId()),
+                eq("PERFORMANCES_BULK_TRANSITIONED"), payloads.capture());
+    }
+
+    private Performance newPerformance(Festival festival, String name, PerformanceStatus status) {
+        Performance p = new Performance();
+        p.setName(name);
+        p.setGenre("Rock");
+        p.setCreatedAt(LocalDateTime.now());
+        p.setStatus(status);
+        p.setDuration(Duration.ofMinutes(45));
+        p.setFestival(festival);
+        p.setMainArtist(userRepository.findByUsername("artist1").orElseThrow());
+        return p;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.festival_management;
+
+import com.example.festival_management.dto.PerformanceFacets;
+import com.example.festival_management.dto.PerformancePatch;
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.User;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.PerformanceService;
+import com.example.festival_management.service.impl.PerformanceFacetCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Ta incremental counters prepei na symfwnoun me to grouped query (rebuild) meta apo create/move/delete
+@SpringBootTest
+class PerformanceFacetCounterTest {
+
+    @Autowired
+    private PerformanceFacetCounter facetCounter;
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Festival festival;
+    private User artist;
+
+    @BeforeEach
+    void setUp() {
+        // alla tests grafoun apeutheias sto repository (xwris counters): ksekiname apo th vash
+        facetCounter.rebuild();
+        festival = festivalRepository.findByName("Rockwave").orElseThrow();
+        artist = userRepository.findByUsername("artist1").orElseThrow();
+    }
+
+    @Test
+    void testCreateMoveDeleteKeepCountersInLineWithRebuild() {
+        PerformanceFacets start = facetCounter.snapshot();
+
+        Performance first = performanceService.createPerformance(newPerformance("Facet One", "Blues"), festival.getId(), artist);
+        Performance second = performanceService.createPerformance(newPerformance("Facet Two", "Blues"), festival.getId(), artist);
+        PerformanceFacets created = facetCounter.snapshot();
+        assertThat(created.total()).isEqualTo(start.total() + 2);
+        assertThat(created.status().get(PerformanceStatus.CREATED))
+                .isEqualTo(start.status().getOrDefault(PerformanceStatus.CREATED, 0L) + 2);
+        assertThat(created.festival().get(festival.getId()))
+                .isEqualTo(start.festival().getOrDefault(festival.getId(), 0L) + 2);
+        assertConsistentWithDatabase();
+
+        // allagh genre: metafora apo to ena cell sto allo, to total idio
+        inArtistTransaction(a -> performanceService.patchPerformance(first.getId(),
+                new PerformancePatch(null, null, "Soul", null, null, null, null, null, null), a));
+        PerformanceFacets moved = facetCounter.snapshot();
+        assertThat(moved.total()).isEqualTo(created.total());
+        assertThat(moved.genre().get("Soul")).isEqualTo(created.genre().getOrDefault("Soul", 0L) + 1);
+        assertThat(moved.genre().get("Blues")).isEqualTo(created.genre().get("Blues") - 1);
+        assertConsistentWithDatabase();
+
+        inArtistTransaction(a -> performanceService.deletePerformance(first.getId(), a));
+        inArtistTransaction(a -> performanceService.deletePerformance(second.getId(), a));
+        assertThat(facetCounter.snapshot()).isEqualTo(start);
+        assertConsistentWithDatabase();
+    }
+
+    @Test
+    void testRolledBackCreateDoesNotCount() {
+        PerformanceFacets start = facetCounter.snapshot();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            performanceService.createPerformance(newPerformance("Facet Rollback", "Blues"), festival.getId(), artist);
+            status.setRollbackOnly();
+        });
+
+        assertThat(facetCounter.snapshot()).isEqualTo(start);
+        assertConsistentWithDatabase();
+    }
+
+    // Delta pou erxetai enw to rebuild trexei to query perimenei to swap kai efarmozetai ston neo pinaka
+    @Test
+    void testDeltaDuringRebuildIsNotLost() throws Exception {
+        PerformanceRepository repository = mock(PerformanceRepository.class);
+        PerformanceFacetCounter counter = new PerformanceFacetCounter(repository);
+        PerformanceRepository.FacetRow row = mock(PerformanceRepository.FacetRow.class);
+        when(row.getStatus()).thenReturn(PerformanceStatus.CREATED);
+        when(row.getGenre()).thenReturn("Blues");
+        when(row.getFestivalId()).thenReturn(1L);
+        when(row.getCnt()).thenReturn(5L);
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.facetCounts(null)).thenAnswer(inv -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(row);
+        });
+
+        Performance created = new Performance();
+        created.setStatus(PerformanceStatus.CREATED);
+        created.setGenre("Blues");
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> rebuild = pool.submit(counter::rebuild);
+            assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> delta = pool.submit(() -> counter.created(created)); // xwris transaction: amesws
+            Thread.sleep(100);
+            assertThat(delta.isDone()).isFalse(); // perimenei to rebuild
+            release.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+            delta.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(counter.snapshot().total()).isEqualTo(6);
+    }
+
+    // idio persistence context gia artist kai performance (opws me open-in-view sto web request)
+    private void inArtistTransaction(Consumer<User> action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                action.accept(userRepository.findByUsername("artist1").orElseThrow()));
+    }
+
+    private void assertConsistentWithDatabase() {
+        PerformanceFacets fromDatabase = PerformanceFacets.from(facetCounter.countFromDatabase(null));
+        assertThat(facetCounter.snapshot()).isEqualTo(fromDatabase);
+        facetCounter.rebuild();
+        assertThat(facetCounter.snapshot()).isEqualTo(fromDatabase);
+    }
+
+    private static Performance newPerformance(String name, String genre) {
+        Performance p = new Performance();
+        p.setName(name + " " + System.nanoTime());
+        p.setGenre(genre);
+        p.setDuration(Duration.ofMinutes(40));
+        return p;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.festival_management;
+
+import com.example.festival_management.dto.PerformanceState;
+import com.example.festival_management.entity.OutboxEvent;
+import com.example.festival_management.service.impl.DomainEventPublisher;
+import com.example.festival_management.service.impl.PerformanceHistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PerformanceHistoryTest {
+
+    private static final long PERFORMANCE_ID = 900_001L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 5, 1, 10, 0);
+
+    @Autowired
+    private PerformanceHistoryService historyService;
+
+    @Test
+    void testStateAsOfReplaysFromNearestSnapshot() throws Exception {
+        historyService.handle(event(0, "PERFORMANCE_CREATED",
+                "{\"fields\":{\"name\":\"History Test\",\"status\":\"CREATED\",\"setlist\":[]}}"));
+        for (int i = 1; i <= 44; i++) {
+            historyService.handle(event(i, "PERFORMANCE_UPDATED",
+                    "{\"changes\":{\"setlist\":[\"Song " + i + "\"]}}"));
+        }
+        historyService.handle(event(45, "PERFORMANCE_STATUS_CHANGED", "{\"from\":\"CREATED\",\"to\":\"SUBMITTED\"}"));
+        // redelivery tou idiou outbox event den prosthetei deutero event
+        historyService.handle(event(45, "PERFORMANCE_STATUS_CHANGED", "{\"from\":\"CREATED\",\"to\":\"SUBMITTED\"}"));
+
+        PerformanceState atThirty = historyService.stateAsOf(PERFORMANCE_ID, T0.plusMinutes(30)).orElseThrow();
+        assertThat(atThirty.version()).isEqualTo(31);
+        assertThat(atThirty.replayedEvents()).isLessThan(20);
+        assertThat(atThirty.state()).containsEntry("name", "History Test").containsEntry("status", "CREATED");
+        assertThat(atThirty.state().get("setlist")).asList().containsExactly("Song 30");
+
+        PerformanceState latest = historyService.stateAsOf(PERFORMANCE_ID, T0.plusDays(1)).orElseThrow();
+        assertThat(latest.version()).isEqualTo(46);
+        assertThat(latest.state()).containsEntry("status", "SUBMITTED");
+
+        assertThat(historyService.stateAsOf(PERFORMANCE_ID, T0.minusMinutes(1))).isEmpty();
+        assertThat(historyService.timeline(PERFORMANCE_ID)).hasSize(46);
+    }
+
+    private static OutboxEvent event(int i, String type, String payload) {
+        OutboxEvent e = new OutboxEvent(DomainEventPublisher.PERFORMANCE, PERFORMANCE_ID, type, payload);
+        e.setId(800_000L + i);
+        e.setCreatedAt(T0.plusMinutes(i));
+        return e;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.User;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark: dhmiourgia performances me gemates collections (sequence ids + JDBC batching).
+// Trexei me:  mvn test -Dsurefire.excludedGroups= -Dgroups=benchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PerformanceInsertBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceInsertBenchmark.class);
+    private static final int PERFORMANCES = 2_000;
+    private static final int PER_TRANSACTION = 100;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void measureInsertThroughputWithFullCollections() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        insert(tx, "warmup", 200);
+        stats.clear();
+
+        long started = System.nanoTime();
+        insert(tx, "bench", PERFORMANCES);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        double statementsPerPerformance = stats.getPrepareStatementCount() / (double) PERFORMANCES;
+        log.info("{} performances in {} ms = {}/s, {} entity inserts, {} statements/performance",
+                PERFORMANCES, Math.round(seconds * 1000), Math.round(PERFORMANCES / seconds),
+                stats.getEntityInsertCount(), String.format("%.2f", statementsPerPerformance));
+
+        assertThat(stats.getEntityInsertCount()).isEqualTo(PERFORMANCES);
+        // xwris batching: toulaxiston 1 insert performance + 1 band member ana performance
+        assertThat(statementsPerPerformance).isLessThan(1.0);
+    }
+
+    private void insert(TransactionTemplate tx, String prefix, int count) {
+        for (int from = 0; from < count; from += PER_TRANSACTION) {
+            int start = from;
+            tx.executeWithoutResult(status -> {
+                Festival festival = festivalRepository.findByName("Athens Jazz Festival").orElseThrow();
+                User artist = userRepository.findByUsername("artist1").orElseThrow();
+                for (int i = start; i < Math.min(count, start + PER_TRANSACTION); i++) {
+                    performanceRepository.save(performance(prefix + "-" + i, festival, artist));
+                }
+            });
+        }
+    }
+
+    private static Performance performance(String name, Festival festival, User artist) {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 3, 18, 0);
+        Performance p = new Performance();
+        p.setName(name);
+        p.setDescription("Benchmark performance");
+        p.setGenre("Jazz");
+        p.setCreatedAt(LocalDateTime.now());
+        p.setStatus(PerformanceStatus.CREATED);
+        p.setDuration(Duration.ofMinutes(60));
+        p.setFestival(festival);
+        p.setMainArtist(artist);
+        p.setBandMembers(Set.of(artist));
+        p.setTechnicalRequirements(Set.of("2x Vocal Microphones", "DI Box", "Drum riser"));
+        p.setMerchandiseItems(Set.of("T-Shirts", "Vinyl"));
+        p.setSetlist(Set.of("Blue in Green", "So What", "Freddie Freeloader"));
+        p.setPreferredRehearsalTimes(Set.of(base, base.plusHours(1)));
+        p.setPreferredPerformanceSlots(Set.of(base.plusHours(4), base.plusHours(5)));
+        return p;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.festival_management;
+
+import com.example.festival_management.dto.PerformancePatch;
+import com.example.festival_management.dto.PerformancePatch.SetPatch;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.User;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.PerformanceService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PerformancePatchTest {
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testUnchangedPatchWritesNothingAndDeltaWritesOneRow() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(status -> performanceRepository.save(newPerformance()).getId());
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // idia persistence context me ton artist (opws me open-in-view sto web request)
+        stats.clear();
+        tx.executeWithoutResult(status -> performanceService.patchPerformance(id,
+                new PerformancePatch("patch-test", null, "Jazz", null,
+                        null, null, SetPatch.replaceWith(Set.of("So What", "Blue in Green")), null, null),
+                artist()));
+        assertThat(stats.getEntityUpdateCount()).isZero();
+
+        stats.clear();
+        tx.executeWithoutResult(status -> performanceService.patchPerformance(id,
+                new PerformancePatch(null, null, null, null,
+                        null, null, new SetPatch<>(null, Set.of("Freddie Freeloader"), Set.of("So What")), null, null),
+                artist()));
+        assertThat(stats.getEntityUpdateCount()).isEqualTo(1);
+
+        Performance reloaded = performanceRepository.findById(id).orElseThrow();
+        assertThat(reloaded.getSetlist()).containsExactlyInAnyOrder("Blue in Green", "Freddie Freeloader");
+        assertThat(reloaded.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void testPutClearsOmittedFieldsButPatchLeavesThem() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(status -> {
+            Performance p = newPerformance();
+            p.setName("put-test");
+            p.setDescription("Modal jazz");
+            p.setMerchandiseItems(new HashSet<>(List.of("T-shirt")));
+            return performanceRepository.save(p).getId();
+        });
+
+        // PATCH me nulls: tipota den allazei
+        tx.executeWithoutResult(status -> performanceService.patchPerformance(id,
+                new PerformancePatch(null, null, null, null, null, null, null, null, null), artist()));
+        Performance patched = performanceRepository.findById(id).orElseThrow();
+        assertThat(patched.getDescription()).isEqualTo("Modal jazz");
+        assertThat(patched.getMerchandiseItems()).containsExactly("T-shirt");
+
+        // PUT xwris description/merchandise/setlist: ta pedia adeiazoun
+        Performance body = new Performance();
+        body.setName("put-test");
+        body.setGenre("Jazz");
+        body.setDuration(Duration.ofMinutes(40));
+        body.setDescription(null);
+        body.setMerchandiseItems(null);
+        body.setSetlist(null);
+        tx.executeWithoutResult(status -> performanceService.updatePerformance(id, body, artist()));
+        Performance replaced = performanceRepository.findById(id).orElseThrow();
+        assertThat(replaced.getDescription()).isNull();
+        assertThat(replaced.getMerchandiseItems()).isEmpty();
+        assertThat(replaced.getSetlist()).isEmpty();
+        assertThat(replaced.getDuration()).isEqualTo(Duration.ofMinutes(40));
+
+        body.setDuration(null);
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> performanceService.updatePerformance(id, body, artist())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("duration is required");
+    }
+
+    private User artist() {
+        return userRepository.findByUsername("artist1").orElseThrow();
+    }
+
+    private Performance newPerformance() {
+        Performance p = new Performance();
+        p.setName("patch-test");
+        p.setGenre("Jazz");
+        p.setCreatedAt(LocalDateTime.now());
+        p.setStatus(PerformanceStatus.CREATED);
+        p.setDuration(Duration.ofMinutes(30));
+        p.setFestival(festivalRepository.findByName("Athens Jazz Festival").orElseThrow());
+        p.setMainArtist(artist());
+        p.setSetlist(new HashSet<>(List.of("So What", "Blue in Green")));
+        return p;
+    }
+}
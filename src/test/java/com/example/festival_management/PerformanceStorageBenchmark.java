@@ -0,0 +1,133 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark: read/write amplification tou Performance me ta sets se JSON sthles
+// (prin: 1 + 5 selects gia fortwma, delete-all + reinsert ana set se kathe update).
+// Trexei me:  mvn test -Dsurefire.excludedGroups= -Dgroups=benchmark
+// Ta statistics einai global: ta @Scheduled polls (outbox, revocations) mpainoun sto perithwrio wste na mh metrane.
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "outbox.poll-interval-ms=600000",
+        "jwt.revocation.refresh-interval-ms=600000"})
+class PerformanceStorageBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceStorageBenchmark.class);
+    private static final int ROUNDS = 1_000;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void measureReadAndWriteAmplification() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(status -> performanceRepository.save(newPerformance()).getId());
+
+        // baseline: fortwma xwris na agiksoume ta sets (festival/users fortwnontai eager)
+        stats.clear();
+        tx.executeWithoutResult(status -> performanceRepository.findById(id).orElseThrow());
+        long baseStatements = stats.getPrepareStatementCount();
+
+        stats.clear();
+        tx.executeWithoutResult(status -> touchAll(performanceRepository.findById(id).orElseThrow()));
+        long readStatements = stats.getPrepareStatementCount();
+
+        stats.clear();
+        tx.executeWithoutResult(status ->
+                performanceRepository.findById(id).orElseThrow().getSetlist().add("Round Midnight"));
+        long writeStatements = stats.getPrepareStatementCount();
+        long entityUpdates = stats.getEntityUpdateCount();
+        long collectionWrites = stats.getCollectionRecreateCount() + stats.getCollectionUpdateCount();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            tx.executeWithoutResult(status -> touchAll(performanceRepository.findById(id).orElseThrow()));
+        }
+        double readsPerSecond = ROUNDS / ((System.nanoTime() - started) / 1_000_000_000.0);
+
+        started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            String song = "Song " + i;
+            tx.executeWithoutResult(status -> {
+                Performance p = performanceRepository.findById(id).orElseThrow();
+                p.getSetlist().remove("Song " + (Integer.parseInt(song.substring(5)) - 1));
+                p.getSetlist().add(song);
+            });
+        }
+        double writesPerSecond = ROUNDS / ((System.nanoTime() - started) / 1_000_000_000.0);
+
+        log.info("load: {} statements, {}/s | in-place set update: {} statements, {}/s",
+                readStatements, Math.round(readsPerSecond), writeStatements, Math.round(writesPerSecond));
+
+        assertThat(readStatements).isEqualTo(baseStatements);      // ta sets den kostizoun extra select
+        assertThat(writeStatements).isEqualTo(baseStatements + 1); // ena update sto idio row
+        assertThat(entityUpdates).isEqualTo(1);
+        assertThat(collectionWrites).isZero();
+        Set<String> setlist = tx.execute(status -> performanceRepository.findById(id).orElseThrow().getSetlist());
+        assertThat(setlist).contains("Round Midnight", "Song " + (ROUNDS - 1));
+    }
+
+    private static void touchAll(Performance p) {
+        p.getTechnicalRequirements().size();
+        p.getMerchandiseItems().size();
+        p.getSetlist().size();
+        p.getPreferredRehearsalTimes().size();
+        p.getPreferredPerformanceSlots().size();
+    }
+
+    private Performance newPerformance() {
+        LocalDateTime base = LocalDateTime.of(2025, 6, 4, 18, 0);
+        Performance p = new Performance();
+        p.setName("storage-benchmark-" + System.nanoTime());
+        p.setDescription("Storage benchmark");
+        p.setGenre("Jazz");
+        p.setCreatedAt(LocalDateTime.now());
+        p.setStatus(PerformanceStatus.CREATED);
+        p.setDuration(Duration.ofMinutes(45));
+        p.setFestival(festivalRepository.findByName("Athens Jazz Festival").orElseThrow());
+        p.setMainArtist(userRepository.findByUsername("artist1").orElseThrow());
+        p.setTechnicalRequirements(new HashSet<>(List.of("2x Vocal Microphones", "DI Box", "Drum riser")));
+        p.setMerchandiseItems(new HashSet<>(List.of("T-Shirts", "Vinyl")));
+        p.setSetlist(new HashSet<>(List.of("Blue in Green", "So What")));
+        p.setPreferredRehearsalTimes(new HashSet<>(List.of(base, base.plusHours(1))));
+        p.setPreferredPerformanceSlots(new HashSet<>(List.of(base.plusHours(4))));
+        return p;
+    }
+}
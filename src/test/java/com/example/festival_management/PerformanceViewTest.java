@@ -0,0 +1,80 @@
+package com.example.festival_management;
+
+import com.example.festival_management.dto.PerformanceView;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.PerformanceService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PerformanceViewTest {
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testEachRoleGetsItsProjectionWithoutLoadingTheEntity() {
+        Long id = performanceRepository.save(newPerformance()).getId();
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // anonymous: ena query, kanena entity
+        stats.clear();
+        PerformanceView visitor = performanceService.getPerformanceById(id, null);
+        assertThat(visitor).isInstanceOf(PerformanceView.Visitor.class);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+
+        // rolos + provolh: dyo queries
+        stats.clear();
+        PerformanceView artist = performanceService.getPerformanceById(id, "artist1");
+        assertThat(artist).isInstanceOf(PerformanceView.Artist.class);
+        assertThat(((PerformanceView.Artist) artist).setlist()).containsExactly("Autumn Leaves");
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(stats.getEntityLoadCount()).isZero();
+
+        assertThat(performanceService.getPerformanceById(id, "staff1")).isInstanceOf(PerformanceView.Staff.class);
+        assertThat(performanceService.getPerformanceById(id, "admin")).isInstanceOf(PerformanceView.Organizer.class);
+        assertThat(performanceService.getPerformanceById(id, "user1")).isInstanceOf(PerformanceView.Visitor.class);
+    }
+
+    private Performance newPerformance() {
+        Performance p = new Performance();
+        p.setName("view-test");
+        p.setGenre("Jazz");
+        p.setCreatedAt(LocalDateTime.now());
+        p.setStatus(PerformanceStatus.CREATED);
+        p.setDuration(Duration.ofMinutes(30));
+        p.setFestival(festivalRepository.findByName("Athens Jazz Festival").orElseThrow());
+        p.setMainArtist(userRepository.findByUsername("artist1").orElseThrow());
+        p.setSetlist(new HashSet<>(List.of("Autumn Leaves")));
+        p.setTechnicalRequirements(new HashSet<>(List.of("2x DI box")));
+        return p;
+    }
+}
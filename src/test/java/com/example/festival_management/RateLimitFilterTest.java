@@ -0,0 +1,51 @@
+package com.example.festival_management;
+
+import com.example.festival_management.security.RateLimitFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Panw apo max-buckets oi neoi clients metriountai ana diktyo (/24, /64): to spraying enos diktyou
+// den kleinei thn porta stous clients allwn diktywn
+class RateLimitFilterTest {
+
+    // max-buckets 2, search: 2 requests burst, praktika xwris refill mesa sto test
+    private final RateLimitFilter filter = new RateLimitFilter(true, 2, 60_000, 10, 20, 2, 1, 20, 120);
+
+    @AfterEach
+    void tearDown() {
+        filter.shutdown();
+    }
+
+    @Test
+    void testOverflowedClientsAreLimitedPerNetwork() throws Exception {
+        assertThat(get("10.0.0.1")).isEqualTo(200);
+        assertThat(get("10.0.0.2")).isEqualTo(200); // o pinakas gemise
+
+        // spraying apo to 10.0.0.0/24: ena koino bucket gia to diktyo
+        assertThat(get("10.0.0.3")).isEqualTo(200);
+        assertThat(get("10.0.0.4")).isEqualTo(200);
+        assertThat(get("10.0.0.5")).isEqualTo(429);
+
+        // kainourgios client apo allo diktyo: diko tou bucket
+        assertThat(get("192.168.1.5")).isEqualTo(200);
+
+        assertThat(get("2001:db8::1")).isEqualTo(200);
+        assertThat(get("2001:db8::2")).isEqualTo(200);
+        assertThat(get("2001:db8:0:0:ffff::3")).isEqualTo(429); // idio /64
+        assertThat(get("2001:db8:0:1::1")).isEqualTo(200);
+    }
+
+    private int get(String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/performances");
+        request.setServletPath("/api/performances");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
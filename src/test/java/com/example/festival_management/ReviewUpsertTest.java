@@ -0,0 +1,172 @@
+package com.example.festival_management;
+
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.Performance;
+import com.example.festival_management.entity.Review;
+import com.example.festival_management.entity.User;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.entity.enums.RoleType;
+import com.example.festival_management.repository.FestivalRepository;
+import com.example.festival_management.repository.PerformanceRepository;
+import com.example.festival_management.repository.ReviewRepository;
+import com.example.festival_management.repository.RoleAssignmentRepository;
+import com.example.festival_management.repository.UserRepository;
+import com.example.festival_management.service.PerformanceService;
+import com.example.festival_management.service.impl.AuditService;
+import com.example.festival_management.service.impl.DomainEventPublisher;
+import com.example.festival_management.service.impl.FestivalCommandProcessor;
+import com.example.festival_management.service.impl.GenreDictionary;
+import com.example.festival_management.service.impl.PerformanceBulkTransitions;
+import com.example.festival_management.service.impl.PerformanceFacetCounter;
+import com.example.festival_management.service.impl.PerformanceServiceImpl;
+import com.example.festival_management.service.impl.ReadCoalescer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ReviewUpsertTest {
+
+    private static final int ROUNDS = 20;
+    private static final int REVIEWERS = 4;
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    @Autowired
+    private PerformanceRepository performanceRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FestivalRepository festivalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testConcurrentFirstReviewsAllSucceedWithOneRow() throws Exception {
+        User staff = userRepository.findByUsername("staff1").orElseThrow();
+        ExecutorService reviewers = Executors.newFixedThreadPool(REVIEWERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Performance performance = performanceRepository.save(newPerformance("review-race-" + round));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> running = new ArrayList<>();
+                for (int r = 0; r < REVIEWERS; r++) {
+                    int score = r + 1;
+                    running.add(reviewers.submit(() -> {
+                        start.await();
+                        return performanceService.reviewPerformance(performance.getId(), staff, score, "race");
+                    }));
+                }
+                start.countDown();
+                for (Future<?> f : running) f.get(10, TimeUnit.SECONDS); // kanena exception
+
+                assertThat(reviewRepository.findByPerformance(performance)).get()
+                        .satisfies(review -> assertThat(review.getScore()).isBetween(1, REVIEWERS));
+            }
+        } finally {
+            reviewers.shutdown();
+        }
+    }
+
+    // Mono to MERGE pou skontaftei sto unique performance_id ksanadokimazetai, mia fora, se neo transaction
+    @Test
+    void testOnlyTheReviewUniqueViolationIsRetriedOnce() {
+        DataIntegrityViolationException uniqueViolation = realUniqueViolation();
+
+        ReviewRepository reviews = mock(ReviewRepository.class);
+        PerformanceRepository performances = mock(PerformanceRepository.class);
+        RoleAssignmentRepository roles = mock(RoleAssignmentRepository.class);
+        PerformanceServiceImpl service = new PerformanceServiceImpl(performances, mock(FestivalRepository.class),
+                roles, reviews, mock(PerformanceFacetCounter.class), mock(FestivalCommandProcessor.class),
+                mock(DomainEventPublisher.class), mock(PerformanceBulkTransitions.class), mock(AuditService.class),
+                mock(GenreDictionary.class), mock(ReadCoalescer.class), transactionManager);
+
+        Festival festival = new Festival();
+        festival.setId(1L);
+        Performance performance = new Performance();
+        performance.setId(10L);
+        performance.setFestival(festival);
+        User staff = new User();
+        staff.setId(3L);
+        staff.setUsername("staff1");
+        when(performances.findById(10L)).thenReturn(Optional.of(performance));
+        when(roles.existsByUserAndFestivalAndRole(staff, festival, RoleType.STAFF)).thenReturn(true);
+        when(reviews.upsert(anyLong(), anyLong(), anyInt(), anyString()))
+                .thenThrow(uniqueViolation)
+                .thenReturn(1);
+
+        assertThat(service.reviewPerformance(10L, staff, 7, "ok")).isSameAs(performance);
+        verify(reviews, times(2)).upsert(eq(10L), eq(3L), eq(7), eq("ok"));
+
+        // deuterh apotyxia: den ksanadokimazei allo
+        when(reviews.upsert(anyLong(), anyLong(), anyInt(), any())).thenThrow(uniqueViolation);
+        assertThatThrownBy(() -> service.reviewPerformance(10L, staff, 8, "no"))
+                .isSameAs(uniqueViolation);
+        verify(reviews, times(2)).upsert(eq(10L), eq(3L), eq(8), eq("no"));
+
+        // allo integrity error (p.x. FK tou reviewer): kamia ksanadokimh
+        doThrow(new DataIntegrityViolationException("Referential integrity constraint violation"))
+                .when(reviews).upsert(anyLong(), anyLong(), anyInt(), any());
+        assertThatThrownBy(() -> service.reviewPerformance(10L, staff, 9, "fk"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(reviews, times(1)).upsert(eq(10L), eq(3L), eq(9), eq("fk"));
+    }
+
+    // To pragmatiko exception tou H2 gia deutero review sto idio performance
+    private DataIntegrityViolationException realUniqueViolation() {
+        User staff = userRepository.findByUsername("staff1").orElseThrow();
+        Performance performance = performanceRepository.save(newPerformance("review-unique"));
+        reviewRepository.save(new Review(5, "first", staff, performance));
+        try {
+            reviewRepository.saveAndFlush(new Review(6, "second", staff, performance));
+        } catch (DataIntegrityViolationException ex) {
+            return ex;
+        }
+        throw new AssertionError("expected a unique violation on performance_id");
+    }
+
+    private Performance newPerformance(String name) {
+        Performance p = new Performance();
+        p.setName(name);
+        p.setGenre("Jazz");
+        p.setCreatedAt(LocalDateTime.now());
+        p.setStatus(PerformanceStatus.SUBMITTED);
+        p.setDuration(Duration.ofMinutes(30));
+        p.setFestival(festivalRepository.findByName("Athens Jazz Festival").orElseThrow());
+        p.setMainArtist(userRepository.findByUsername("artist1").orElseThrow());
+        return p;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.festival_management;
+
+import com.example.festival_management.dto.PerformanceView;
+import com.example.festival_management.entity.Festival;
+import com.example.festival_management.entity.enums.FestivalState;
+import com.example.festival_management.entity.enums.PerformanceStatus;
+import com.example.festival_management.service.FestivalService;
+import com.example.festival_management.service.PerformanceService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// To EXPLAIN trexei sto SQL pou vgazoun ta specifications (StatementInspector), me ta literals inline
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.festival_management.SearchQueryPlanTest$CapturedSql",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+class SearchQueryPlanTest {
+
+    public static class CapturedSql implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private FestivalService festivalService;
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testSearchAppliesOnlyTheGivenFilters() {
+        Page<Festival> june = festivalService.searchFestivals(null, null, null, "2025-06-04..2025-06-16",
+                null, PageRequest.of(0, 10), null);
+        assertThat(june.getContent()).extracting(Festival::getName)
+                .contains("Athens Jazz Festival", "Release Athens")
+                .doesNotContain("Rockwave", "Summer Nostos");
+
+        Page<Festival> scheduling = festivalService.searchFestivals("jazz", null, null, null,
+                FestivalState.SCHEDULING, PageRequest.of(0, 10), null);
+        assertThat(scheduling.getContent()).extracting(Festival::getName).containsExactly("Athens Jazz Festival");
+
+        Page<PerformanceView.Visitor> jazz = performanceService.searchPerformances("midnight", "Jazz", "artist1", null,
+                PerformanceStatus.APPROVED, PageRequest.of(0, 10), null);
+        assertThat(jazz.getContent()).extracting(PerformanceView.Visitor::name).containsExactly("Midnight Jazz Set");
+        // alla tests tou idiou context prosthetoun performances: mono to genre elegxetai edw
+        assertThat(performanceService.searchPerformances(null, " JAZZ ", null, null, null, PageRequest.of(0, 10), null))
+                .extracting(PerformanceView.Visitor::name).contains("Midnight Jazz Set");
+        assertThat(performanceService.searchPerformances(null, " JAZZ ", null, null, null, PageRequest.of(0, 10), null))
+                .extracting(PerformanceView.Visitor::genre).containsOnly("Jazz");
+        assertThat(performanceService.searchPerformances(null, "Polka", null, null, null, PageRequest.of(0, 10), null))
+                .isEmpty();
+        assertThat(performanceService.searchPerformances(null, null, "nobody", null, null, PageRequest.of(0, 10), null))
+                .isEmpty();
+    }
+
+    // Ta queries pou vgazoun ta specifications prepei na pane se index, oxi se table scan
+    @Test
+    void testSearchPredicatesUseIndexes() {
+        assertIndex("PERFORMANCES", "IDX_PERFORMANCES_FESTIVAL_STATUS", () -> performanceService
+                .searchPerformances(null, null, null, 1L, PerformanceStatus.APPROVED, PageRequest.of(0, 10), null));
+        assertIndex("PERFORMANCES", "IDX_PERFORMANCES_GENRE_ID", () -> performanceService
+                .searchPerformances(null, "Jazz", null, null, null, PageRequest.of(0, 10), null));
+        assertIndex("PERFORMANCES", "IDX_PERFORMANCES_MAIN_ARTIST", () -> performanceService
+                .searchPerformances(null, null, "artist1", null, null, PageRequest.of(0, 10), null));
+        assertIndex("FESTIVALS", "IDX_FESTIVALS_STATE_START", () -> festivalService
+                .searchFestivals(null, null, null, "..2025-06-30", FestivalState.SCHEDULING, PageRequest.of(0, 10), null));
+        assertIndex("FESTIVALS", "IDX_FESTIVALS_DATES", () -> festivalService
+                .searchFestivals(null, null, null, "2025-06-01..2025-06-30", null, PageRequest.of(0, 10), null));
+    }
+
+    // Trexei to search, pairnei to select ths selidas (oxi to count) kai elegxei to index tou table
+    private void assertIndex(String table, String index, Runnable search) {
+        CapturedSql.statements.clear();
+        search.run();
+        List<String> selects = new ArrayList<>();
+        for (String sql : CapturedSql.statements) {
+            String lower = sql.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("select") && !lower.startsWith("select count")
+                    && lower.contains(" from " + table.toLowerCase(Locale.ROOT) + " ")) {
+                selects.add(sql);
+            }
+        }
+        assertThat(selects).as(CapturedSql.statements.toString()).isNotEmpty();
+        String sql = selects.get(selects.size() - 1);
+
+        // mono to limit/offset menei parametros
+        int params = sql.length() - sql.replace("?", "").length();
+        Object[] args = new Object[params];
+        Arrays.fill(args, 10);
+        String plan = jdbc.queryForObject("EXPLAIN " + sql, String.class, args);
+
+        // to prwto token tou comment meta to table: "PUBLIC.IDX_...:" h "PUBLIC.TABLE.tableScan"
+        Matcher scan = Pattern.compile("\"PUBLIC\"\\.\"" + table + "\" \"?\\w+\"?\\s*/\\*\\s*(\\S+)").matcher(plan);
+        assertThat(scan.find()).as(plan).isTrue();
+        assertThat(scan.group(1)).as(plan).containsIgnoringCase(index).doesNotContainIgnoringCase("tableScan");
+    }
+}
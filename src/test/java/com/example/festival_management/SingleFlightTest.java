@@ -0,0 +1,130 @@
+package com.example.festival_management;
+
+import com.example.festival_management.util.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>(60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> flights.get("page:0", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "rows";
+            })));
+            await(started);
+            for (int i = 0; i < 15; i++) {
+                results.add(pool.submit(() -> flights.get("page:0", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // oi 15 prepei na kollhsoun sto future tou leader prin ton afhsoume
+            while (flights.stats().shared() < 15) Thread.onSpinWait();
+            release.countDown();
+
+            for (Future<String> r : results) assertThat(r.get(5, TimeUnit.SECONDS)).isEqualTo("rows");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(calls).hasValue(1);
+
+        // micro-cache: to epomeno request den ksanatrexei to loader
+        assertThat(flights.get("page:0", () -> "again")).isEqualTo("rows");
+        assertThat(flights.get("page:1", () -> "second page")).isEqualTo("second page");
+        assertThat(flights.stats()).isEqualTo(new SingleFlight.Stats(2, 15, 1));
+    }
+
+    @Test
+    void testFailuresAndExpiredEntriesAreNotReused() {
+        SingleFlight<String, String> flights = new SingleFlight<>(0, 100);
+        assertThatThrownBy(() -> flights.get("k", () -> { throw new IllegalStateException("db down"); }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(flights.get("k", () -> "ok")).isEqualTo("ok");
+        assertThat(flights.get("k", () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    void testAsyncCallersShareOneLoadAndCancelOnlyTheirCopy() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>(60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> load = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.getAsync("festival:1", () -> {
+            calls.incrementAndGet();
+            return load;
+        });
+        CompletableFuture<String> second = flights.getAsync("festival:1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        // o prwtos client efyge (timeout): to koino load synexizei gia ton deutero
+        first.cancel(false);
+        assertThat(load).isNotCancelled();
+        load.complete("festival");
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("festival");
+        assertThat(flights.getAsync("festival:1", () -> CompletableFuture.completedFuture("again"))
+                .get(5, TimeUnit.SECONDS)).isEqualTo("festival");
+        assertThat(calls).hasValue(1);
+        assertThat(flights.stats()).isEqualTo(new SingleFlight.Stats(1, 1, 1));
+
+        // apotyxia: den krataietai, to epomeno getAsync ksanadokimazei
+        CompletableFuture<String> failed = flights.getAsync("festival:2",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("db down")));
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(flights.getAsync("festival:2", () -> CompletableFuture.completedFuture("ok"))
+                .get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Meta to write: to cached apotelesma fevgei kai to load pou htan hdh se ekseliksh den to ksanagrafei
+    @Test
+    void testInvalidateDropsCachedAndInFlightValues() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>(60_000, 100);
+        assertThat(flights.get("performances:ALL", () -> "v1")).isEqualTo("v1");
+        flights.invalidateIf(key -> key.startsWith("performances:"));
+        assertThat(flights.get("performances:ALL", () -> "v2")).isEqualTo("v2");
+
+        CompletableFuture<String> stale = new CompletableFuture<>();
+        CompletableFuture<String> before = flights.getAsync("festival:1", () -> stale);
+        flights.invalidate("festival:1");
+        // neos caller meta to invalidate: diko tou load, oxi to palio
+        CompletableFuture<String> after = flights.getAsync("festival:1", () -> CompletableFuture.completedFuture("new"));
+        stale.complete("old");
+
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(after.get(5, TimeUnit.SECONDS)).isEqualTo("new");
+        // to palio load teleiwse teleutaio alla den antikatesthse to neo sto micro-cache
+        assertThat(flights.get("festival:1", () -> "reloaded")).isEqualTo("new");
+    }
+}
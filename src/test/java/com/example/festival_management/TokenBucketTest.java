@@ -0,0 +1,34 @@
+package com.example.festival_management;
+
+import com.example.festival_management.util.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testBurstUpToCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void testRefillsOverTimeAndBecomesIdle() {
+        TokenBucket bucket = new TokenBucket(2, 2.0, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+        assertThat(bucket.tryConsume(0)).isPositive();
+
+        assertThat(bucket.tryConsume(SECOND / 2)).isZero();
+        assertThat(bucket.isIdle(SECOND / 2)).isFalse();
+        assertThat(bucket.isIdle(2 * SECOND)).isTrue();
+        assertThat(bucket.available(2 * SECOND)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.festival_management;
+
+import com.example.festival_management.repository.RevokedTokenRepository;
+import com.example.festival_management.security.JwtUtil;
+import com.example.festival_management.service.impl.RefreshTokenService;
+import com.example.festival_management.service.impl.RefreshTokenService.TokenPair;
+import com.example.festival_management.service.impl.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TokenRevocationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokens;
+
+    @Autowired
+    private TokenRevocationService revocations;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void testRefreshRotatesAndReuseRevokesTheWholeFamily() {
+        TokenPair first = refreshTokens.issue("artist1");
+        TokenPair second = refreshTokens.refresh(first.refreshToken()).orElseThrow();
+        assertThat(second.refreshToken()).isNotEqualTo(first.refreshToken());
+        assertThat(second.accessToken()).isNotEqualTo(first.accessToken());
+        assertThat(revocations.isRevoked(claims(second).getId())).isFalse();
+
+        // to palio refresh token ksanaxrhsimopoihthike: h family kai ta access tokens ths akyrwnontai
+        assertThat(refreshTokens.refresh(first.refreshToken())).isEmpty();
+        assertThat(refreshTokens.refresh(second.refreshToken())).isEmpty();
+        assertThat(revocations.isRevoked(claims(first).getId())).isTrue();
+        assertThat(revocations.isRevoked(claims(second).getId())).isTrue();
+
+        // alles families tou idiou user den epireazontai
+        TokenPair other = refreshTokens.issue("artist1");
+        assertThat(refreshTokens.refresh(other.refreshToken())).isPresent();
+    }
+
+    @Test
+    void testLogoutRevokesRefreshFamilyAndAccessToken() {
+        TokenPair pair = refreshTokens.issue("artist1");
+        Claims access = claims(pair);
+
+        refreshTokens.logout(pair.refreshToken(), access.getId(), access.getExpiration().toInstant());
+
+        assertThat(revocations.isRevoked(access.getId())).isTrue();
+        assertThat(refreshTokens.refresh(pair.refreshToken())).isEmpty();
+        assertThat(refreshTokens.refresh("unknown-token")).isEmpty();
+    }
+
+    @Test
+    void testRevocationOnAnotherNodeIsPickedUpByRefresh() {
+        // deuteros "komvos" me diko tou filter pano sthn idia vash (fpp 1e-9: to filter apanta "oxi" prin to refresh)
+        TokenRevocationService otherNode = new TokenRevocationService(revokedTokenRepository, 1000, 1e-9);
+        otherNode.load();
+        TokenPair pair = refreshTokens.issue("artist1");
+        Claims access = claims(pair);
+        assertThat(otherNode.isRevoked(access.getId())).isFalse();
+
+        refreshTokens.logout(pair.refreshToken(), access.getId(), access.getExpiration().toInstant());
+        assertThat(otherNode.isRevoked(access.getId())).isFalse(); // to filter tou den to kserei akoma
+
+        otherNode.refresh();
+        assertThat(otherNode.isRevoked(access.getId())).isTrue();
+    }
+
+    private Claims claims(TokenPair pair) {
+        return jwtUtil.claims(pair.accessToken()).orElseThrow();
+    }
+}